@@ -0,0 +1,136 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generated source code corpora (PHP, JavaScript, CSS) of realistic structure, in small / medium / multi-MB size.
+ * Generation is deterministic, so results of different runs are comparable.
+ */
+public class Corpus {
+
+    public enum Size {
+        SMALL(2 * 1024),
+        MEDIUM(64 * 1024),
+        LARGE(4 * 1024 * 1024);
+
+        final int amountChars;
+
+        Size(int amountChars) {
+            this.amountChars = amountChars;
+        }
+    }
+
+    private static final String[] WORDS = {
+            "item", "user", "order", "price", "amount", "label", "title", "color", "width", "height",
+            "offset", "index", "count", "value", "result", "config", "handler", "request", "response", "options"
+    };
+
+    private static final String[] CSS_ATTRIBUTES = {
+            "color: #fff;", "font-size: 10px;", "margin: 0 auto;", "-webkit-box-sizing: border-box;", "display: block;",
+            "padding: 2em 1em;", "background: url(img.png) no-repeat;", "z-index: 10;", "border: 1px solid #ccc;", "width: 50%;"
+    };
+
+    /**
+     * @param  size
+     * @return String   PHP class methods w/ variables, arrays and quoted strings
+     */
+    public static String php(Size size) {
+        StringBuilder php = new StringBuilder("<?php\n\nclass Generated\n{\n");
+        for (int i = 0; php.length() < size.amountChars; i++) {
+            String word = getWord(i);
+            php.append("    /**\n     * @param string $").append(word).append(i).append("\n     * @return array\n     */\n")
+               .append("    public function get").append(Character.toUpperCase(word.charAt(0))).append(word.substring(1)).append(i)
+               .append("($").append(word).append(i).append(")\n    {\n")
+               .append("        $").append(getWord(i + 1)).append(" = array('").append(word).append("', \"").append(getWord(i + 2)).append("\", ").append(i).append(");\n")
+               .append("        $items = ['").append(getWord(i + 3)).append("' => $").append(word).append(i).append(", 'count' => ").append(i % 97).append("];\n\n")
+               .append("        return $this->").append(getWord(i + 4)).append(" && $items ? $items : [];\n    }\n\n");
+        }
+
+        return php.append("}\n").toString();
+    }
+
+    /**
+     * @param  size
+     * @return String   JavaScript functions w/ declarations, quoted strings and jQuery calls
+     */
+    public static String js(Size size) {
+        StringBuilder js = new StringBuilder();
+        for (int i = 0; js.length() < size.amountChars; i++) {
+            String word = getWord(i);
+            js.append("/**\n * @param {string} ").append(word).append("\n * @returns {boolean}\n */\n")
+              .append("function is").append(Character.toUpperCase(word.charAt(0))).append(word.substring(1)).append(i).append("(").append(word).append(") {\n")
+              .append("    const ").append(getWord(i + 1)).append(" = '").append(getWord(i + 2)).append("';\n")
+              .append("    let ").append(getWord(i + 3)).append("Id = ").append(i * 13).append(";\n")
+              .append("    $('#").append(word).append(i).append("').click(function() { return ").append(word).append(" !== `").append(getWord(i + 4)).append("`; });\n\n")
+              .append("    return ").append(word).append(" === true || ").append(getWord(i + 1)).append(".length > 0;\n}\n\n");
+        }
+
+        return js.toString();
+    }
+
+    /**
+     * @param  size
+     * @return String   Stylesheet of selectors w/ unsorted attribute-style lines
+     */
+    public static String css(Size size) {
+        StringBuilder css = new StringBuilder();
+        for (int i = 0; css.length() < size.amountChars; i++) {
+            css.append(".").append(getWord(i)).append("-").append(i).append(", #").append(getWord(i + 1)).append(" {\n");
+            for (int j = 0; j < 5; j++) {
+                css.append("    ").append(CSS_ATTRIBUTES[(i * 7 + j * 3) % CSS_ATTRIBUTES.length]).append("\n");
+            }
+            css.append("}\n\n");
+        }
+
+        return css.toString();
+    }
+
+    /**
+     * @param  text
+     * @return List<String>     Lines of given text
+     */
+    public static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            lines.add(line + "\n");
+        }
+
+        return lines;
+    }
+
+    /**
+     * @param  amount
+     * @return String   Comma-separated list of unique, alphanumeric items, e.g. "item12, user3, ..."
+     */
+    public static String separatedList(int amount) {
+        StringBuilder list = new StringBuilder();
+        for (int i = 0; i < amount; i++) {
+            if (i > 0) {
+                list.append(", ");
+            }
+            list.append(getWord(i * 7)).append((i * 31) % 1000).append("-").append(i);
+        }
+
+        return list.toString();
+    }
+
+    private static String getWord(int index) {
+        return WORDS[index % WORDS.length];
+    }
+}
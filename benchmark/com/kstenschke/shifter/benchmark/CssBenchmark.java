@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import com.kstenschke.shifter.models.StringTextBuffer;
+import com.kstenschke.shifter.models.comparators.CssAttributesStyleLineComparator;
+import com.kstenschke.shifter.models.shiftable_types.Css;
+import com.kstenschke.shifter.models.shiftable_types.CssUnit;
+import com.kstenschke.shifter.models.shiftable_types.CssUnitsIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting of attribute-style lines inside all selectors of a stylesheet, sorting of declarations (parsed per comparison
+ * versus once), detection of most prominent unit
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CssBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Corpus.Size size;
+
+    private String stylesheet;
+    private StringTextBuffer textBuffer;
+    private List<String> declarations;
+
+    @Setup
+    public void setUp() {
+        stylesheet = Corpus.css(size);
+        textBuffer = new StringTextBuffer(stylesheet, "generated.css", 0);
+
+        declarations = new ArrayList<>();
+        for (String line : Corpus.lines(stylesheet)) {
+            if (line.contains(":") && !line.contains("{")) {
+                declarations.add(line);
+            }
+        }
+    }
+
+    @Benchmark
+    public String sortAttributesInsideSelectors() {
+        return Css.getShifted(stylesheet);
+    }
+
+    @Benchmark
+    public List<String> sortDeclarationsParsingPerComparison() {
+        List<String> sorted = new ArrayList<>(declarations);
+        sorted.sort(new CssAttributesStyleLineComparator());
+
+        return sorted;
+    }
+
+    @Benchmark
+    public List<String> sortDeclarationsParsedOnce() {
+        List<String> sorted = new ArrayList<>(declarations);
+        CssAttributesStyleLineComparator.sort(sorted);
+
+        return sorted;
+    }
+
+    @Benchmark
+    public String determineMostProminentUnit() {
+        return CssUnit.determineMostProminentUnit(stylesheet);
+    }
+
+    @Benchmark
+    public String mostProminentUnitFromIndex() {
+        // Edit inside the 1st line, as typing does: index is updated for that line only
+        textBuffer.replaceString(1, 2, stylesheet.substring(1, 2));
+
+        return textBuffer.getTextIndex(CssUnitsIndex.class, CssUnitsIndex::new).getMostProminentUnit();
+    }
+}
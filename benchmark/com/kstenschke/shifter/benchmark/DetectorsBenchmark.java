@@ -0,0 +1,69 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import com.kstenschke.shifter.models.shiftable_types.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word type detectors run per shift (see ShiftableTypesManager), w/ their per-call allocation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DetectorsBenchmark {
+
+    private static final String[] WORDS = {
+            "$foo", "array(1, 2)", "public", "fooBar", "foo-bar", "123", "10px", "1.5em", "fff", "a0a0a0",
+            "item12", "a == b", "foo bar", "XIV", "&&", "unknown"
+    };
+
+    private static final String[] LINES = {
+            "     * @param string $foo", "    return $foo;", " * @returns {boolean}", "const item = 'value';"
+    };
+
+    private final Tupel tupel = new Tupel(null);
+    private final XmlAttributes xmlAttributes = new XmlAttributes(null);
+
+    @Benchmark
+    public void detectWordTypes(Blackhole blackhole) {
+        for (String word : WORDS) {
+            blackhole.consume(new PhpVariableOrArray().isPhpVariableOrArray(word));
+            blackhole.consume(new AccessType().isAccessType(word));
+            blackhole.consume(RgbColor.isRgbColorString(word, "#"));
+            blackhole.consume(CssUnit.isCssUnitValue(word));
+            blackhole.consume(NumericValue.isNumericValue(word));
+            blackhole.consume(NumericPostfixed.hasNumericPostfix(word));
+            blackhole.consume(tupel.isWordsTupel(word));
+            blackhole.consume(CamelCaseString.isCamelCase(word));
+            blackhole.consume(xmlAttributes.isXmlAttributes(word));
+        }
+    }
+
+    @Benchmark
+    public void detectDocCommentLines(Blackhole blackhole) {
+        for (String line : LINES) {
+            blackhole.consume(DocCommentType.isDocCommentTypeLineContext(line));
+            blackhole.consume(DocCommentTag.isDocCommentLine(line));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import com.kstenschke.shifter.models.shiftable_types.DictionaryIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dictionary parsing and term lookups (global and file extension specific), as done by DictionaryTerm
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    private static final String[] TERMS = {"true", "private", "margin-left", "const", "GET", "unknown", "Monday", "asc"};
+
+    private String dictionary;
+    private DictionaryIndex dictionaryIndex;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream stream = DictionaryBenchmark.class.getResourceAsStream("/com/kstenschke/shifter/resources/ui/dictionary.txt")) {
+            dictionary = new Scanner(stream, StandardCharsets.UTF_8.name()).useDelimiter("\\A").next();
+        }
+        dictionaryIndex = DictionaryIndex.compile(dictionary);
+    }
+
+    @Benchmark
+    public DictionaryIndex compile() {
+        return DictionaryIndex.compile(dictionary);
+    }
+
+    @Benchmark
+    public void lookupGlobal(Blackhole blackhole) {
+        for (String term : TERMS) {
+            blackhole.consume(dictionaryIndex.getGlobalTermsList(term));
+        }
+    }
+
+    @Benchmark
+    public void lookupExtensionSpecific(Blackhole blackhole) {
+        for (String term : TERMS) {
+            if (dictionaryIndex.containsExtensionTerm(term, "js")) {
+                blackhole.consume(dictionaryIndex.getExtensionTermsList(term, "js"));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import com.kstenschke.shifter.models.StringTextBuffer;
+import com.kstenschke.shifter.models.shiftable_types.QuotedStringsIndex;
+import com.kstenschke.shifter.utils.UtilsPhp;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-document scans done per shift of a PHP variable (PhpVariableOrArray) and of a quoted string (QuotedString),
+ * versus lookup from the incrementally updated index
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentScanBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Corpus.Size size;
+
+    private String php;
+    private String js;
+    private StringTextBuffer jsTextBuffer;
+
+    @Setup
+    public void setUp() {
+        php = Corpus.php(size);
+        js  = Corpus.js(size);
+
+        jsTextBuffer = new StringTextBuffer(js, "generated.js", 0);
+    }
+
+    @Benchmark
+    public List<String> extractPhpVariables() {
+        return UtilsPhp.extractPhpVariables(php);
+    }
+
+    @Benchmark
+    public List<String> extractQuotedStrings() {
+        return UtilsTextual.extractQuotedStrings(js, "'");
+    }
+
+    @Benchmark
+    public String quotedStringFromIndex() {
+        // Edit inside the 1st line, as typing does: index is updated for that line only
+        jsTextBuffer.replaceString(1, 2, js.substring(1, 2));
+
+        return jsTextBuffer.getTextIndex(QuotedStringsIndex.class, QuotedStringsIndex::new).getShifted("item", '\'', true);
+    }
+}
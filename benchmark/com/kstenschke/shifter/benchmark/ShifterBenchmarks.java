@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all shifter benchmarks (or those matching the regex given as first argument) w/ the GC profiler,
+ * reporting throughput and normalized allocation rate (gc.alloc.rate.norm) per benchmark into shifter-benchmarks.json
+ */
+public class ShifterBenchmarks {
+
+    // All benchmarks of the plugin's packages, incl. those placed beside package-private engine classes (e.g. WordTypeBenchmark)
+    private static final String REGEX_ALL_BENCHMARKS = "com\\.kstenschke\\.shifter\\..*Benchmark";
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : REGEX_ALL_BENCHMARKS)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("shifter-benchmarks.json")
+                .build();
+
+        new Runner(options).run();
+    }
+}
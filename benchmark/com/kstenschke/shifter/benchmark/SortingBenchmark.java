@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.benchmark;
+
+import com.kstenschke.shifter.models.comparators.AlphanumComparator;
+import com.kstenschke.shifter.models.shiftable_types.SeparatedList;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Natural sorting: comparator, lines sorting and separated list sorting
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortingBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Corpus.Size size;
+
+    private final AlphanumComparator comparator = new AlphanumComparator();
+
+    private List<String> lines;
+    private String separatedList;
+
+    @Setup
+    public void setUp() {
+        lines         = Corpus.lines(Corpus.php(size));
+        separatedList = Corpus.separatedList(lines.size() / 10 + 3);
+    }
+
+    @Benchmark
+    public void compareAlphanum(Blackhole blackhole) {
+        for (int i = 1; i < lines.size(); i++) {
+            blackhole.consume(comparator.compare(lines.get(i - 1), lines.get(i)));
+        }
+    }
+
+    @Benchmark
+    public List<String> sortComparingAlphanum() {
+        List<String> sorted = new ArrayList<>(lines);
+        sorted.sort(comparator);
+
+        return sorted;
+    }
+
+    @Benchmark
+    public List<String> sortLinesNatural() {
+        List<String> sorted = new ArrayList<>(lines);
+        UtilsTextual.sortLinesNatural(sorted, false);
+
+        return sorted;
+    }
+
+    @Benchmark
+    public String sortSeparatedList() {
+        return SeparatedList.getShifted(separatedList, ",(\\s)*", ", ", true);
+    }
+}
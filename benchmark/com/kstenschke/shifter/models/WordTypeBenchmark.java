@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.benchmark.Corpus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word type detection of all words of a PHP and a JavaScript file, run on a plain text buffer w/o IDE
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordTypeBenchmark {
+
+    private ActionContainer actionContainerPhp;
+    private ActionContainer actionContainerJs;
+    private List<String> wordsPhp;
+    private List<String> wordsJs;
+
+    @Setup
+    public void setUp() {
+        String php = Corpus.php(Corpus.Size.SMALL);
+        String js  = Corpus.js(Corpus.Size.SMALL);
+
+        actionContainerPhp = new ActionContainer(new StringTextBuffer(php, "Generated.php", php.indexOf("public")), true, false);
+        actionContainerJs  = new ActionContainer(new StringTextBuffer(js, "generated.js", js.indexOf("const")), true, false);
+        wordsPhp = getWords(php);
+        wordsJs  = getWords(js);
+    }
+
+    @Benchmark
+    public void getWordTypePhp(Blackhole blackhole) {
+        ShiftableTypesManager shiftableTypesManager = new ShiftableTypesManager();
+        for (String word : wordsPhp) {
+            blackhole.consume(shiftableTypesManager.getWordType(word, "", "", false, actionContainerPhp));
+        }
+    }
+
+    @Benchmark
+    public void getWordTypeJs(Blackhole blackhole) {
+        ShiftableTypesManager shiftableTypesManager = new ShiftableTypesManager();
+        for (String word : wordsJs) {
+            blackhole.consume(shiftableTypesManager.getWordType(word, "", "", false, actionContainerJs));
+        }
+    }
+
+    private static List<String> getWords(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.split("[\\s(),;'\"`\\[\\]{}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+
+        return words;
+    }
+}
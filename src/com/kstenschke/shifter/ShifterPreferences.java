@@ -16,6 +16,7 @@
 package com.kstenschke.shifter;
 
 import com.intellij.ide.util.PropertiesComponent;
+import com.kstenschke.shifter.models.shiftable_types.DictionaryIndex;
 import org.jetbrains.annotations.NonNls;
 
 /**
@@ -84,7 +85,13 @@ public class ShifterPreferences {
      * @param dictionary    Contents to be stored in dictionary preference
      */
     public static void saveDictionary(String dictionary) {
+        if (dictionary.equals(getDictionary())) {
+            return;
+        }
+
         PropertiesComponent.getInstance().setValue(PROPERTY_DICTIONARY, dictionary);
+        // Parsed dictionary is rebuilt from the changed contents on next use
+        DictionaryIndex.reset();
     }
 
     public static void saveShiftMoreSize(String size) {
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the shifter preferences, read once from the properties component and w/ parsed values.
+ * Shifting reads the current snapshot's fields, applying the plugin configuration replaces the snapshot at once.
+ */
+public class ShifterSettings {
+
+    private static volatile ShifterSettings current;
+
+    public final boolean isActivePreserveCase;
+    public final boolean isActiveConvertSingleQuotes;
+    public final boolean isActiveConvertDoubleQuotes;
+    public final boolean isActiveConvertPhpArrayLongToShort;
+    public final boolean isActiveConvertPhpArrayShortToLong;
+
+    public final int shiftMoreSize;
+    public final int shiftingModeOfTimestamps;
+
+    // Lower-cased file extensions of timestamps in seconds / milliseconds
+    private final Set<String> fileEndingsSeconds;
+    private final Set<String> fileEndingsMilliseconds;
+
+    private ShifterSettings() {
+        isActivePreserveCase               = ShifterPreferences.getIsActivePreserveCase();
+        isActiveConvertSingleQuotes        = ShifterPreferences.getIsActiveConvertSingleQuotes();
+        isActiveConvertDoubleQuotes        = ShifterPreferences.getIsActiveConvertDoubleQuotes();
+        isActiveConvertPhpArrayLongToShort = ShifterPreferences.getIsActiveConvertPhpArrayLongToShort();
+        isActiveConvertPhpArrayShortToLong = ShifterPreferences.getIsActiveConvertPhpArrayShortToLong();
+
+        shiftMoreSize            = ShifterPreferences.getShiftMoreSize();
+        shiftingModeOfTimestamps = ShifterPreferences.getShiftingModeOfTimestamps();
+
+        fileEndingsSeconds      = parseFileEndings(ShifterPreferences.getSecondsFileEndings());
+        fileEndingsMilliseconds = parseFileEndings(ShifterPreferences.getMillisecondsFileEndings());
+    }
+
+    /**
+     * @return ShifterSettings  Current settings, read from the preferences on first use
+     */
+    @NotNull
+    public static ShifterSettings get() {
+        ShifterSettings settings = current;
+        if (null == settings) {
+            settings = new ShifterSettings();
+            current  = settings;
+        }
+        return settings;
+    }
+
+    /**
+     * Replace current snapshot by one of the (modified) preferences
+     */
+    public static void reload() {
+        current = new ShifterSettings();
+    }
+
+    /**
+     * @param  fileExtension    Lower-cased extension of edited file
+     * @return boolean          Are timestamps in files w/ given extension configured to be in seconds?
+     */
+    public boolean isSecondsFileEnding(String fileExtension) {
+        return fileEndingsSeconds.contains(fileExtension);
+    }
+
+    /**
+     * @param  fileExtension    Lower-cased extension of edited file
+     * @return boolean          Are timestamps in files w/ given extension configured to be in milliseconds?
+     */
+    public boolean isMillisecondsFileEnding(String fileExtension) {
+        return fileEndingsMilliseconds.contains(fileExtension);
+    }
+
+    /**
+     * @param  endings      Comma-separated file extensions, e.g. "java,js,py"
+     * @return Set<String>  Lower-cased extensions
+     */
+    @NotNull
+    private static Set<String> parseFileEndings(String endings) {
+        Set<String> fileEndings = new HashSet<>();
+        Collections.addAll(fileEndings, endings.toLowerCase().split(",", -1));
+
+        return fileEndings;
+    }
+}
@@ -16,11 +16,14 @@
 package com.kstenschke.shifter.actions;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.kstenschke.shifter.metrics.ShiftMetrics;
+import com.kstenschke.shifter.metrics.ShiftTiming;
 import com.kstenschke.shifter.models.*;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Adapter to bundle setup and delegation of different kinds of shift actions
+ * Adapter to bundle setup and delegation of different kinds of shift actions.
+ * Each action is timed, its timing is recorded into the shift metrics.
  */
 class ActionAdapter {
 
@@ -30,7 +33,13 @@ class ActionAdapter {
      * Constructor
      */
     ActionAdapter(final AnActionEvent event, boolean isShiftUp, boolean isShiftMore) {
+        ShiftTiming timing = new ShiftTiming();
+        long startNanos    = System.nanoTime();
+
         actionContainer = new ActionContainer(event, isShiftUp, isShiftMore);
+
+        timing.addPhaseNanos(ShiftTiming.Phase.CONTAINER, System.nanoTime() - startNanos);
+        actionContainer.timing = timing;
     }
 
     /**
@@ -39,30 +48,38 @@ class ActionAdapter {
      * @param moreCount Current "more" count, starting w/ 1. If non-more shift: null
      */
     void delegate(final @Nullable Integer moreCount) {
-        if (null == actionContainer.editor) {
-            return;
-        }
-        if (actionContainer.selectionModel.hasSelection()) {
-            // Shift (regular or block-) selection
-            shiftSelection(moreCount);
-            return;
+        try {
+            ShiftableDocument.shiftInDocument(actionContainer, moreCount);
+        } finally {
+            recordTiming();
         }
+    }
 
-        // Try shift word at caret, fallback: try shifting care lLine
-        if (!ShiftableWord.shiftWordAtCaretInDocument(actionContainer, moreCount)) {
-            // Word at caret wasn't identified/shifted, try shifting the whole caret line
-            ShiftableLine.shiftLineInDocument(actionContainer, moreCount);
+    /**
+     * Shift "more": find shiftable string and replace it by its value shifted by the given amount of steps, in one undoable step
+     *
+     * @param moreSize  Amount of consecutive shifts
+     */
+    void delegateMore(final int moreSize) {
+        try {
+            ShiftableDocument.shiftMoreInDocument(actionContainer, moreSize);
+        } finally {
+            recordTiming();
         }
     }
 
-    private void shiftSelection(@Nullable Integer moreCount) {
-        if (actionContainer.selectionModel.getBlockSelectionStarts().length > 1) {
-            // Shift block selection: do word-shifting if all items are identical
-            ShiftableBlockSelection.shiftBlockSelectionInDocument(this.actionContainer, moreCount);
+    private void recordTiming() {
+        if (null == actionContainer.textBuffer) {
             return;
         }
-
-        // Shift regular selection: sort CSV or multi-lLine selection: sort lines alphabetically, etc.
-        ShiftableSelection.shiftSelectionInDocument(actionContainer, moreCount);
+        // W/o selection: length of the shifted word or line, as given during the shift
+        int inputLength = actionContainer.hasSelection()
+                ? actionContainer.offsetSelectionEnd - actionContainer.offsetSelectionStart
+                : actionContainer.timing.getInputLength();
+        actionContainer.timing.finish(
+                inputLength,
+                actionContainer.editorText.length(),
+                actionContainer.getFileExtension());
+        ShiftMetrics.getInstance().record(actionContainer.timing);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.kstenschke.shifter.metrics.ShiftMetrics;
+
+import java.awt.datatransfer.StringSelection;
+
+class CopyShiftMetricsAction extends AnAction {
+
+    /**
+     * Copy latency histograms and latest slow shifts as JSON to the clipboard
+     *
+     * @param event ActionSystem event
+     */
+    public void actionPerformed(final AnActionEvent event) {
+        CopyPasteManager.getInstance().setContents(new StringSelection(ShiftMetrics.getInstance().toJson()));
+    }
+}
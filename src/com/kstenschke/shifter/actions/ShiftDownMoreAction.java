@@ -18,7 +18,7 @@ package com.kstenschke.shifter.actions;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 
 class ShiftDownMoreAction extends AnAction {
 
@@ -37,17 +37,6 @@ class ShiftDownMoreAction extends AnAction {
      * @param event ActionSystem event
      */
     public void actionPerformed(final AnActionEvent event) {
-        ActionAdapter actionAdapter = new ActionAdapter(event, false, true);
-        int moreSize = ShifterPreferences.getShiftMoreSize();
-
-        if (actionAdapter.actionContainer.selectionModel.getBlockSelectionStarts().length > 1) {
-            // Shift of block selection: is not iterated, but run w/ higher value
-            actionAdapter.delegate(moreSize);
-            return;
-        }
-
-        for (int i = 1; i <= moreSize; i++) {
-            actionAdapter.delegate(i);
-        }
+        new ActionAdapter(event, false, true).delegateMore(ShifterSettings.get().shiftMoreSize);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.ui.popup.PopupChooserBuilder;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.components.JBList;
+import com.kstenschke.shifter.batch.BatchTransformation;
+import com.kstenschke.shifter.models.ShiftableScope;
+
+/**
+ * Shift in Scope Action: apply a chosen transformation to all files under the selected files / directories
+ */
+class ShiftInScopeAction extends AnAction {
+
+    /**
+     * Disable when no project available
+     *
+     * @param event Action system event
+     */
+    public void update(AnActionEvent event) {
+        event.getPresentation().setEnabled(event.getProject() != null);
+    }
+
+    /**
+     * Show popup to choose the transformation, apply it to the files selected in the project view, or the whole project
+     *
+     * @param event ActionSystem event
+     */
+    public void actionPerformed(final AnActionEvent event) {
+        final Project project = event.getProject();
+        if (null == project) {
+            return;
+        }
+        VirtualFile[] selectedFiles = event.getData(PlatformDataKeys.VIRTUAL_FILE_ARRAY);
+        final VirtualFile[] roots   = null == selectedFiles || 0 == selectedFiles.length
+                ? ProjectRootManager.getInstance(project).getContentRoots()
+                : selectedFiles;
+
+        final BatchTransformation[] transformations = BatchTransformation.values();
+        String[] options = new String[transformations.length];
+        for (int i = 0; i < transformations.length; i++) {
+            options[i] = transformations[i].getText();
+        }
+
+        final JBList modes = new JBList(options);
+        PopupChooserBuilder popup = new PopupChooserBuilder(modes);
+        popup.setTitle(ShiftableScope.ACTION_TEXT).setItemChoosenCallback(() -> {
+            int index = modes.getSelectedIndex();
+            if (index >= 0) {
+                ShiftableScope.shiftInScope(project, roots, transformations[index]);
+            }
+        }).setMovable(true).createPopup().showCenteredInCurrentWindow(project);
+    }
+}
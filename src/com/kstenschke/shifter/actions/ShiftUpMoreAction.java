@@ -16,7 +16,7 @@
 package com.kstenschke.shifter.actions;
 
 import com.intellij.openapi.actionSystem.*;
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 
 class ShiftUpMoreAction extends AnAction {
 
@@ -35,17 +35,6 @@ class ShiftUpMoreAction extends AnAction {
      * @param event ActionSystem event
      */
     public void actionPerformed(final AnActionEvent event) {
-        ActionAdapter actionAdapter = new ActionAdapter(event, true, true);
-        int moreSize = ShifterPreferences.getShiftMoreSize();
-
-        if (actionAdapter.actionContainer.selectionModel.getBlockSelectionStarts().length > 1) {
-            // Shift of block selection: is not iterated, but run w/ higher value
-            actionAdapter.delegate(moreSize);
-            return;
-        }
-
-        for (int i = 1; i <= moreSize; i++) {
-            actionAdapter.delegate(i);
-        }
+        new ActionAdapter(event, true, true).delegateMore(ShifterSettings.get().shiftMoreSize);
     }
 }
\ No newline at end of file
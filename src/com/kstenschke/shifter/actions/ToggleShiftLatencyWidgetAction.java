@@ -0,0 +1,64 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.actions;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.StatusBar;
+import com.intellij.openapi.wm.WindowManager;
+import com.kstenschke.shifter.metrics.ShiftLatencyWidget;
+import org.jetbrains.annotations.Nullable;
+
+class ToggleShiftLatencyWidgetAction extends ToggleAction {
+
+    /**
+     * @param  event    Action system event
+     * @return boolean  Is the shift latency widget shown in the status bar of the event's project?
+     */
+    public boolean isSelected(AnActionEvent event) {
+        StatusBar statusBar = getStatusBar(event);
+
+        return null != statusBar && null != statusBar.getWidget(ShiftLatencyWidget.ID);
+    }
+
+    /**
+     * Add/remove shift latency widget to/from the status bar
+     *
+     * @param event Action system event
+     * @param state Show widget?
+     */
+    public void setSelected(AnActionEvent event, boolean state) {
+        StatusBar statusBar = getStatusBar(event);
+        if (null == statusBar) {
+            return;
+        }
+        if (state) {
+            if (null == statusBar.getWidget(ShiftLatencyWidget.ID)) {
+                statusBar.addWidget(new ShiftLatencyWidget());
+            }
+        } else {
+            statusBar.removeWidget(ShiftLatencyWidget.ID);
+        }
+    }
+
+    @Nullable
+    private static StatusBar getStatusBar(AnActionEvent event) {
+        Project project = event.getProject();
+
+        return null == project ? null : WindowManager.getInstance().getStatusBar(project);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Outcome of batch shifting a single file: status, applied transformations, size and duration
+ */
+public class BatchFileResult {
+
+    public enum Status {
+        UNCHANGED,
+        CHANGED,
+        SKIPPED,
+        FAILED
+    }
+
+    private final Path path;
+    private final Status status;
+    private final List<BatchTransformation> transformations;
+    private final long amountBytes;
+    private final long nanos;
+    @Nullable
+    private final String message;
+
+    BatchFileResult(@NotNull Path path, @NotNull Status status, @NotNull List<BatchTransformation> transformations,
+                    long amountBytes, long nanos, @Nullable String message) {
+        this.path            = path;
+        this.status          = status;
+        this.transformations = transformations;
+        this.amountBytes     = amountBytes;
+        this.nanos           = nanos;
+        this.message         = message;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return List<BatchTransformation>    Transformations that changed the file
+     */
+    public List<BatchTransformation> getTransformations() {
+        return transformations;
+    }
+
+    public long getAmountBytes() {
+        return amountBytes;
+    }
+
+    /**
+     * @return long     Duration of reading, transforming and writing the file
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return String   Reason of skipping or failure
+     */
+    @Nullable
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return String   Report line, e.g. "CHANGED      1.25 ms     4.1 KB  src/style.css  [css-sort]"
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(String.format("%-9s %8s ms %9s  %s",
+                status, BatchReport.formatMillis(nanos), BatchReport.formatBytes(amountBytes), path));
+        if (!transformations.isEmpty()) {
+            line.append("  [");
+            for (int i = 0; i < transformations.size(); i++) {
+                line.append(i > 0 ? ", " : "").append(transformations.get(i).getId());
+            }
+            line.append("]");
+        }
+        if (null != message) {
+            line.append("  ").append(message);
+        }
+
+        return line.toString();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Totals of a batch shifter run: amount of files per status, processed bytes, throughput and slowest files.
+ * Results are added concurrently by the worker threads.
+ */
+public class BatchReport {
+
+    static final int AMOUNT_SLOWEST_FILES = 5;
+
+    private final int amountThreads;
+    private final Map<BatchFileResult.Status, Integer> amountsByStatus = new EnumMap<>(BatchFileResult.Status.class);
+
+    // Sorted by duration, descending
+    private final List<BatchFileResult> slowestResults = new ArrayList<>();
+
+    private long amountBytes = 0;
+    private long nanosProcessing = 0;
+    private long nanosWall = 0;
+
+    BatchReport(int amountThreads) {
+        this.amountThreads = amountThreads;
+    }
+
+    synchronized void add(@NotNull BatchFileResult result) {
+        amountsByStatus.merge(result.getStatus(), 1, Integer::sum);
+        if (BatchFileResult.Status.SKIPPED == result.getStatus()) {
+            return;
+        }
+        amountBytes     += result.getAmountBytes();
+        nanosProcessing += result.getNanos();
+
+        slowestResults.add(result);
+        slowestResults.sort(Comparator.comparingLong(BatchFileResult::getNanos).reversed());
+        if (slowestResults.size() > AMOUNT_SLOWEST_FILES) {
+            slowestResults.remove(AMOUNT_SLOWEST_FILES);
+        }
+    }
+
+    synchronized void setNanosWall(long nanosWall) {
+        this.nanosWall = nanosWall;
+    }
+
+    public synchronized int getAmountFiles(BatchFileResult.Status status) {
+        return amountsByStatus.getOrDefault(status, 0);
+    }
+
+    /**
+     * @return int  Amount of read (not skipped) files
+     */
+    public synchronized int getAmountProcessedFiles() {
+        return getAmountFiles(BatchFileResult.Status.UNCHANGED)
+             + getAmountFiles(BatchFileResult.Status.CHANGED)
+             + getAmountFiles(BatchFileResult.Status.FAILED);
+    }
+
+    public synchronized long getAmountBytes() {
+        return amountBytes;
+    }
+
+    public synchronized List<BatchFileResult> getSlowestResults() {
+        return new ArrayList<>(slowestResults);
+    }
+
+    /**
+     * @return double   Processed files per second of wall time
+     */
+    public synchronized double getFilesPerSecond() {
+        return 0 == nanosWall ? 0 : getAmountProcessedFiles() * 1e9 / nanosWall;
+    }
+
+    /**
+     * @return double   Processed megabytes per second of wall time
+     */
+    public synchronized double getMegabytesPerSecond() {
+        return 0 == nanosWall ? 0 : amountBytes / (1024.0 * 1024.0) * 1e9 / nanosWall;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder report = new StringBuilder()
+                .append(String.format(Locale.ROOT, "Files:      %d processed, %d changed, %d unchanged, %d skipped, %d failed%n",
+                        getAmountProcessedFiles(),
+                        getAmountFiles(BatchFileResult.Status.CHANGED),
+                        getAmountFiles(BatchFileResult.Status.UNCHANGED),
+                        getAmountFiles(BatchFileResult.Status.SKIPPED),
+                        getAmountFiles(BatchFileResult.Status.FAILED)))
+                .append(String.format(Locale.ROOT, "Time:       %s ms wall, %s ms in files, %d threads%n",
+                        formatMillis(nanosWall), formatMillis(nanosProcessing), amountThreads))
+                .append(String.format(Locale.ROOT, "Throughput: %.1f files/s, %.2f MB/s (%s)%n",
+                        getFilesPerSecond(), getMegabytesPerSecond(), formatBytes(amountBytes)));
+
+        if (!slowestResults.isEmpty()) {
+            report.append("Slowest:").append(String.format("%n"));
+            for (BatchFileResult result : slowestResults) {
+                report.append("  ").append(formatMillis(result.getNanos())).append(" ms  ").append(result.getPath()).append(String.format("%n"));
+            }
+        }
+
+        return report.toString();
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+
+    static String formatBytes(long amountBytes) {
+        return amountBytes < 1024
+            ? amountBytes + " B"
+            : String.format(Locale.ROOT, amountBytes < 1024 * 1024 ? "%.1f KB" : "%.1f MB",
+                amountBytes / (amountBytes < 1024 * 1024 ? 1024.0 : 1024.0 * 1024.0));
+    }
+}
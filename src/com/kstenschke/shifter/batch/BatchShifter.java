@@ -0,0 +1,357 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless batch shifter: applies the whole-file transformations (see BatchTransformation) to all matching files
+ * of the given directory trees, w/o running the IDE. Files are processed in parallel on a fixed amount of threads,
+ * fed through a bounded queue (when it is full, the walking thread processes the file itself), changed files are
+ * replaced atomically. Prints a line w/ status and duration per file and a summary w/ throughput.
+ *
+ * Usage: java com.kstenschke.shifter.batch.BatchShifter [options] <directory|file>...
+ */
+public class BatchShifter {
+
+    private static final String USAGE =
+            "Usage: BatchShifter [options] <directory|file>...\n" +
+            "  --check            Do not write, exit w/ 1 if any file would be changed\n" +
+            "  --only=<ids>       Comma-separated transformations to apply, default: all but php-single-quotes\n" +
+            "  --threads=<n>      Amount of worker threads, default: amount of processors\n" +
+            "  --exclude=<name>   Name of directories to skip, repeatable, default: .*, node_modules, vendor\n" +
+            "  --max-size=<kb>    Skip larger files, default: " + (BatchShifter.DEFAULT_MAX_FILE_SIZE / 1024) + "\n" +
+            "  --quiet            Report only changed, skipped and failed files\n";
+
+    static final int EXIT_CODE_OK        = 0;
+    static final int EXIT_CODE_CHANGES   = 1;
+    static final int EXIT_CODE_FAILURE   = 2;
+
+    public static final long DEFAULT_MAX_FILE_SIZE = 4 * 1024 * 1024;
+
+    private static final String[] DEFAULT_EXCLUDED_DIRECTORIES = {"node_modules", "vendor"};
+
+    // Amount of queued files per worker thread
+    private static final int QUEUE_CAPACITY_PER_THREAD = 4;
+
+    private final Set<BatchTransformation> transformations;
+    private final boolean isWriting;
+    private final int amountThreads;
+    private final Set<String> excludedDirectories;
+    private final long maxFileSize;
+    private final PrintStream out;
+    private final boolean isQuiet;
+
+    /**
+     * @param  transformations      Transformations to apply, in their declaration order
+     * @param  isWriting            Replace changed files? Otherwise only report them
+     * @param  amountThreads
+     * @param  excludedDirectories  Names of directories not to descend into, directories starting w/ "." are always skipped
+     * @param  maxFileSize          Larger files are skipped
+     * @param  out                  Stream to print per-file results to
+     * @param  isQuiet              Print only results of changed, skipped and failed files?
+     */
+    public BatchShifter(@NotNull Set<BatchTransformation> transformations, boolean isWriting, int amountThreads,
+                        @NotNull Set<String> excludedDirectories, long maxFileSize, @NotNull PrintStream out, boolean isQuiet) {
+        this.transformations     = EnumSet.copyOf(transformations);
+        this.isWriting           = isWriting;
+        this.amountThreads       = Math.max(1, amountThreads);
+        this.excludedDirectories = new HashSet<>(excludedDirectories);
+        this.maxFileSize         = maxFileSize;
+        this.out                 = out;
+        this.isQuiet             = isQuiet;
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * @param  args
+     * @param  out
+     * @param  err
+     * @return int      Exit code
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Set<BatchTransformation> transformations = BatchTransformation.getDefaults();
+        Set<String> excludedDirectories          = new HashSet<>(Arrays.asList(DEFAULT_EXCLUDED_DIRECTORIES));
+        List<Path> paths = new ArrayList<>();
+        boolean isWriting     = true;
+        boolean isQuiet       = false;
+        int amountThreads     = Runtime.getRuntime().availableProcessors();
+        long maxFileSize      = DEFAULT_MAX_FILE_SIZE;
+        boolean isExcludeSet  = false;
+
+        try {
+            for (String arg : args) {
+                if ("--check".equals(arg)) {
+                    isWriting = false;
+                } else if ("--quiet".equals(arg)) {
+                    isQuiet = true;
+                } else if (arg.startsWith("--only=")) {
+                    transformations = EnumSet.noneOf(BatchTransformation.class);
+                    for (String id : getOptionValue(arg).split(",")) {
+                        BatchTransformation transformation = BatchTransformation.getById(id.trim());
+                        if (null == transformation) {
+                            throw new IllegalArgumentException("Unknown transformation: " + id);
+                        }
+                        transformations.add(transformation);
+                    }
+                } else if (arg.startsWith("--threads=")) {
+                    amountThreads = Integer.parseInt(getOptionValue(arg));
+                } else if (arg.startsWith("--exclude=")) {
+                    if (!isExcludeSet) {
+                        excludedDirectories.clear();
+                        isExcludeSet = true;
+                    }
+                    excludedDirectories.add(getOptionValue(arg));
+                } else if (arg.startsWith("--max-size=")) {
+                    maxFileSize = Long.parseLong(getOptionValue(arg)) * 1024;
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+                } else {
+                    paths.add(Paths.get(arg));
+                }
+            }
+            if (paths.isEmpty() || transformations.isEmpty()) {
+                throw new IllegalArgumentException("No directory or transformation given");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.print(USAGE);
+            err.println("  Transformations: " + getTransformationIds());
+            return EXIT_CODE_FAILURE;
+        }
+
+        BatchShifter batchShifter = new BatchShifter(transformations, isWriting, amountThreads, excludedDirectories, maxFileSize, out, isQuiet);
+        BatchReport report;
+        try {
+            report = batchShifter.shift(paths);
+        } catch (IOException e) {
+            err.println("Failed to walk directory: " + e.getMessage());
+            return EXIT_CODE_FAILURE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_CODE_FAILURE;
+        }
+        out.println();
+        out.print(report);
+
+        if (report.getAmountFiles(BatchFileResult.Status.FAILED) > 0) {
+            return EXIT_CODE_FAILURE;
+        }
+        return !isWriting && report.getAmountFiles(BatchFileResult.Status.CHANGED) > 0
+            ? EXIT_CODE_CHANGES
+            : EXIT_CODE_OK;
+    }
+
+    private static String getOptionValue(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private static String getTransformationIds() {
+        StringJoiner ids = new StringJoiner(", ");
+        for (BatchTransformation transformation : BatchTransformation.values()) {
+            ids.add(transformation.getId());
+        }
+        return ids.toString();
+    }
+
+    /**
+     * Walk the given directory trees (or single files) and shift all files that any of the transformations applies to
+     *
+     * @param  paths
+     * @return BatchReport
+     * @throws IOException              When a directory cannot be walked
+     * @throws InterruptedException
+     */
+    @NotNull
+    public BatchReport shift(@NotNull List<Path> paths) throws IOException, InterruptedException {
+        BatchReport report = new BatchReport(amountThreads);
+        long nanosStart    = System.nanoTime();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                amountThreads, amountThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(amountThreads * QUEUE_CAPACITY_PER_THREAD),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            for (Path path : paths) {
+                Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                        return directory.equals(path) || !isExcludedDirectory(directory)
+                            ? FileVisitResult.CONTINUE
+                            : FileVisitResult.SKIP_SUBTREE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        if (attributes.isRegularFile() && isApplicableTo(file)) {
+                            executor.execute(() -> addResult(report, shiftFile(file)));
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        addResult(report, new BatchFileResult(file, BatchFileResult.Status.FAILED, Collections.emptyList(), 0, 0, e.toString()));
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        report.setNanosWall(System.nanoTime() - nanosStart);
+
+        return report;
+    }
+
+    private void addResult(BatchReport report, BatchFileResult result) {
+        report.add(result);
+        if (!isQuiet || BatchFileResult.Status.UNCHANGED != result.getStatus()) {
+            out.println(result);
+        }
+    }
+
+    private boolean isExcludedDirectory(Path directory) {
+        Path name = directory.getFileName();
+
+        return null != name && (name.toString().startsWith(".") || excludedDirectories.contains(name.toString()));
+    }
+
+    private boolean isApplicableTo(Path file) {
+        String filename = file.getFileName().toString();
+        for (BatchTransformation transformation : transformations) {
+            if (transformation.isApplicableTo(filename)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read, transform and - if changed and writing - atomically replace the given file
+     *
+     * @param  file
+     * @return BatchFileResult
+     */
+    @NotNull
+    BatchFileResult shiftFile(@NotNull Path file) {
+        long nanosStart = System.nanoTime();
+        String filename = file.getFileName().toString();
+        List<BatchTransformation> applied = new ArrayList<>();
+        long amountBytes = 0;
+        try {
+            FileTime lastModified = Files.getLastModifiedTime(file);
+            amountBytes = Files.size(file);
+            if (amountBytes > maxFileSize) {
+                return new BatchFileResult(file, BatchFileResult.Status.SKIPPED, applied, amountBytes, System.nanoTime() - nanosStart,
+                        "larger than " + BatchReport.formatBytes(maxFileSize));
+            }
+
+            byte[] bytes = Files.readAllBytes(file);
+            amountBytes  = bytes.length;
+            String contents;
+            try {
+                contents = decode(bytes);
+            } catch (CharacterCodingException e) {
+                return new BatchFileResult(file, BatchFileResult.Status.SKIPPED, applied, amountBytes, System.nanoTime() - nanosStart,
+                        "not UTF-8 encoded");
+            }
+
+            String shifted = contents;
+            for (BatchTransformation transformation : transformations) {
+                if (transformation.isApplicableTo(filename)) {
+                    String transformed = transformation.apply(shifted, filename);
+                    if (!transformed.equals(shifted)) {
+                        applied.add(transformation);
+                        shifted = transformed;
+                    }
+                }
+            }
+            if (applied.isEmpty()) {
+                return new BatchFileResult(file, BatchFileResult.Status.UNCHANGED, applied, amountBytes, System.nanoTime() - nanosStart, null);
+            }
+
+            if (isWriting) {
+                if (!lastModified.equals(Files.getLastModifiedTime(file))) {
+                    return new BatchFileResult(file, BatchFileResult.Status.FAILED, applied, amountBytes, System.nanoTime() - nanosStart,
+                            "modified while being shifted");
+                }
+                writeAtomically(file, shifted.getBytes(StandardCharsets.UTF_8));
+            }
+            return new BatchFileResult(file, BatchFileResult.Status.CHANGED, applied, amountBytes, System.nanoTime() - nanosStart, null);
+        } catch (IOException | RuntimeException e) {
+            return new BatchFileResult(file, BatchFileResult.Status.FAILED, applied, amountBytes, System.nanoTime() - nanosStart, e.toString());
+        }
+    }
+
+    /**
+     * @param  bytes
+     * @return String
+     * @throws CharacterCodingException     When the bytes are no valid UTF-8, the file must not be rewritten then
+     */
+    private static String decode(byte[] bytes) throws CharacterCodingException {
+        return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(bytes))
+                .toString();
+    }
+
+    /**
+     * Write into a temporary file next to the given one, then move it over the original:
+     * readers (and an interrupted run) never see a partially written file
+     *
+     * @param  file
+     * @param  bytes
+     * @throws IOException
+     */
+    static void writeAtomically(@NotNull Path file, byte[] bytes) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, "." + file.getFileName(), ".shifter.tmp");
+        try {
+            Files.write(temporary, bytes);
+            if (null != Files.getFileAttributeView(file, PosixFileAttributeView.class)) {
+                Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(file));
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
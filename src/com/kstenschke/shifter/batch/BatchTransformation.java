@@ -0,0 +1,316 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.batch;
+
+import com.kstenschke.shifter.models.shiftable_types.Css;
+import com.kstenschke.shifter.models.shiftable_types.JsDoc;
+import com.kstenschke.shifter.models.shiftable_types.PhpArraySyntax;
+import com.kstenschke.shifter.models.shiftable_types.PhpDocComment;
+import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsPhp;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Whole-file transformations of the batch shifter and of "Shift in Scope". Each one is idempotent, so running it
+ * over an already transformed file changes nothing.
+ */
+public enum BatchTransformation {
+
+    /** Convert all PHP "array(...)" definitions to short syntax "[...]" */
+    PHP_SHORT_ARRAYS("php-short-arrays", "Convert PHP arrays to short syntax", true) {
+        @Override
+        public boolean isApplicableTo(String filename) {
+            return UtilsFile.isPhpFile(filename);
+        }
+
+        @Override
+        public String apply(String contents, String filename) {
+            return replacePhpCode(contents, code -> PhpArraySyntax.toShortSyntax(code, true));
+        }
+    },
+
+    /** Insert data types, guessed by variable name, into PHPDoc @param lines w/o type */
+    PHP_DOC_PARAMS("php-doc-params", "Complete PHPDoc @param data types", true) {
+        @Override
+        public boolean isApplicableTo(String filename) {
+            return UtilsFile.isPhpFile(filename);
+        }
+
+        @Override
+        public String apply(String contents, String filename) {
+            return replacePhpCode(contents, code -> replaceDocBlocks(code, true, docBlock ->
+                    PhpDocComment.isPhpDocComment(docBlock) ? PhpDocComment.getShifted(docBlock, false) : docBlock));
+        }
+    },
+
+    /** Correct "@param", "@returns" and "@type" lines of JsDoc blocks (not in TypeScript: its doc comments carry no types) */
+    JS_DOC("js-doc", "Correct JsDoc blocks", true) {
+        @Override
+        public boolean isApplicableTo(String filename) {
+            return UtilsFile.isJavaScriptFile(filename, false);
+        }
+
+        @Override
+        public String apply(String contents, String filename) {
+            return replaceDocBlocks(contents, false, docBlock ->
+                    JsDoc.isJsDocBlock(docBlock) ? JsDoc.getCorrectedDocBlock(docBlock, false) : docBlock);
+        }
+    },
+
+    /** Remove consecutive empty lines from doc comment blocks */
+    DOC_COMMENTS("doc-comments", "Remove double empty lines from doc comments", true) {
+        @Override
+        public boolean isApplicableTo(String filename) {
+            return UtilsFile.isPhpFile(filename) || UtilsFile.isJavaScriptFile(filename, true) || isStylesheet(filename);
+        }
+
+        @Override
+        public String apply(String contents, String filename) {
+            return UtilsFile.isPhpFile(filename)
+                ? replacePhpCode(contents, code -> replaceDocBlocks(code, true, JsDoc::reduceDoubleEmptyCommentLines))
+                : replaceDocBlocks(contents, false, JsDoc::reduceDoubleEmptyCommentLines);
+        }
+    },
+
+    /** Sort the declarations of all (nested) rules of stylesheets */
+    CSS_SORT("css-sort", "Sort CSS declarations", true) {
+        @Override
+        public boolean isApplicableTo(String filename) {
+            return isStylesheet(filename);
+        }
+
+        @Override
+        public String apply(String contents, String filename) {
+            // W/o any rule, Css.getShifted() would sort the lines of the whole file
+            return contents.contains("{") ? Css.getShifted(contents) : contents;
+        }
+    },
+
+    /** Convert double-quoted PHP strings w/o interpolation or escape sequences to single-quoted ones */
+    PHP_SINGLE_QUOTES("php-single-quotes", "Normalize PHP strings to single quotes", false) {
+        @Override
+        public boolean isApplicableTo(String filename) {
+            return UtilsFile.isPhpFile(filename);
+        }
+
+        @Override
+        public String apply(String contents, String filename) {
+            return replacePhpCode(contents, UtilsPhp::toSingleQuotedStrings);
+        }
+    };
+
+    private static final String PHP_OPENING_TAG = "<?";
+
+    private final String id;
+    private final String text;
+    private final boolean isDefault;
+
+    /**
+     * @param id            Identifier, as given in the "--only" option of the batch shifter
+     * @param text          Description, shown in the IDE
+     * @param isDefault     Applied by the batch shifter when no transformations are given? (Style changes are opt-in)
+     */
+    BatchTransformation(String id, String text, boolean isDefault) {
+        this.id        = id;
+        this.text      = text;
+        this.isDefault = isDefault;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isDefault() {
+        return isDefault;
+    }
+
+    /**
+     * @param  filename
+     * @return boolean      Does the transformation apply to files of the given name (by extension)?
+     */
+    public abstract boolean isApplicableTo(String filename);
+
+    /**
+     * @param  contents     Contents of a file the transformation is applicable to
+     * @param  filename
+     * @return String       Transformed contents, equal to the given ones if nothing changed
+     */
+    public abstract String apply(String contents, String filename);
+
+    /**
+     * @return Set<BatchTransformation>     Transformations applied by default
+     */
+    @NotNull
+    public static Set<BatchTransformation> getDefaults() {
+        Set<BatchTransformation> transformations = EnumSet.noneOf(BatchTransformation.class);
+        for (BatchTransformation transformation : values()) {
+            if (transformation.isDefault) {
+                transformations.add(transformation);
+            }
+        }
+        return transformations;
+    }
+
+    /**
+     * @param  id
+     * @return BatchTransformation  Transformation w/ the given identifier, null if there is none
+     */
+    @Nullable
+    public static BatchTransformation getById(String id) {
+        for (BatchTransformation transformation : values()) {
+            if (transformation.id.equals(id)) {
+                return transformation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stylesheets w/ curly brackets syntax (SASS and Stylus use indentation)
+     */
+    private static boolean isStylesheet(String filename) {
+        String extension = UtilsFile.extractFileExtension(filename, true);
+
+        return UtilsFile.isCssFile(filename) && ("css".equals(extension) || "scss".equals(extension) || "less".equals(extension));
+    }
+
+    /**
+     * @param  code
+     * @param  isPhpCode    PHP code (w/o inline HTML), or JavaScript / CSS?
+     * @param  replacer     Called w/ each "/** ... *&#47;" block outside of strings and comments, returns its replacement
+     * @return String
+     */
+    @NotNull
+    static String replaceDocBlocks(String code, boolean isPhpCode, UnaryOperator<String> replacer) {
+        int length = code.length();
+        StringBuilder replaced = null;
+        int offsetCopied = 0;
+
+        int offset = 0;
+        while (offset < length) {
+            if (!code.startsWith("/**", offset) || code.startsWith("/**/", offset)) {
+                int offsetCode = isPhpCode ? UtilsPhp.skipStringOrComment(code, offset) : skipStringOrComment(code, offset);
+                offset = offsetCode > offset ? offsetCode : offset + 1;
+                continue;
+            }
+            int offsetEnd = code.indexOf("*/", offset + 3);
+            if (-1 == offsetEnd) {
+                break;
+            }
+            offsetEnd += 2;
+
+            String docBlock         = code.substring(offset, offsetEnd);
+            String docBlockReplaced = replacer.apply(docBlock);
+            if (!docBlockReplaced.equals(docBlock)) {
+                if (null == replaced) {
+                    replaced = new StringBuilder(length + 64);
+                }
+                replaced.append(code, offsetCopied, offset).append(docBlockReplaced);
+                offsetCopied = offsetEnd;
+            }
+            offset = offsetEnd;
+        }
+
+        return null == replaced ? code : replaced.append(code, offsetCopied, length).toString();
+    }
+
+    /**
+     * @param  code     JavaScript or CSS
+     * @param  offset
+     * @return int      Offset after the string literal or comment starting at the given offset, the offset itself if there is none.
+     *                  Quoted strings end at the line end at the latest (limits the damage of e.g. a quote in a regular expression).
+     */
+    private static int skipStringOrComment(String code, int offset) {
+        int length = code.length();
+        char c     = code.charAt(offset);
+        char next  = offset + 1 < length ? code.charAt(offset + 1) : 0;
+
+        if ('\'' == c || '"' == c || '`' == c) {
+            for (int i = offset + 1; i < length; i++) {
+                char current = code.charAt(i);
+                if ('\\' == current) {
+                    i++;
+                } else if (c == current || ('\n' == current && '`' != c)) {
+                    return i + 1;
+                }
+            }
+            return length;
+        }
+        if ('/' == c && '/' == next) {
+            int offsetLineEnd = code.indexOf('\n', offset);
+            return -1 == offsetLineEnd ? length : offsetLineEnd;
+        }
+        if ('/' == c && '*' == next) {
+            int offsetEnd = code.indexOf("*/", offset + 2);
+            return -1 == offsetEnd ? length : offsetEnd + 2;
+        }
+
+        return offset;
+    }
+
+    /**
+     * @param  contents     PHP or PHTML file contents
+     * @param  replacer     Called w/ the code of each "<?php ... ?>" section, returns its replacement
+     * @return String       Given contents w/ the PHP sections replaced, inline HTML kept as is
+     */
+    @NotNull
+    static String replacePhpCode(String contents, UnaryOperator<String> replacer) {
+        StringBuilder replaced = new StringBuilder(contents.length());
+        int offset = 0;
+        while (offset < contents.length()) {
+            int offsetOpening = contents.indexOf(PHP_OPENING_TAG, offset);
+            if (-1 == offsetOpening) {
+                break;
+            }
+            int offsetCode    = offsetOpening + PHP_OPENING_TAG.length();
+            int offsetClosing = getOffsetOfPhpClosingTag(contents, offsetCode);
+            replaced.append(contents, offset, offsetCode)
+                    .append(replacer.apply(contents.substring(offsetCode, offsetClosing)));
+            offset = offsetClosing;
+        }
+
+        return replaced.append(contents, offset, contents.length()).toString();
+    }
+
+    /**
+     * @param  contents
+     * @param  offset   Offset inside PHP code
+     * @return int      Offset of the "?>" ending the PHP code (not inside a string, block comment or heredoc / nowdoc),
+     *                  or the end of the contents
+     */
+    private static int getOffsetOfPhpClosingTag(String contents, int offset) {
+        int length = contents.length();
+        while (offset < length) {
+            if (contents.startsWith("?>", offset)) {
+                return offset;
+            }
+            int offsetCode = UtilsPhp.skipStringOrComment(contents, offset);
+            offset = offsetCode > offset ? offsetCode : offset + 1;
+        }
+
+        // Closing tag is optional at the end of the file
+        return length;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Rolling latency histogram: keeps the durations of the latest recorded samples in a ring,
+ * older samples are dropped so the distribution follows the current behavior.
+ */
+public class LatencyHistogram {
+
+    // Upper bounds (inclusive) of the histogram buckets, durations above the last bound are counted into an overflow bucket
+    static final long[] BUCKET_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000};
+
+    private final long[] samplesNanos;
+
+    // Index of next sample to be written into the ring
+    private int indexNext;
+    private int amountSamples;
+    private long amountRecorded;
+
+    /**
+     * Constructor
+     *
+     * @param windowSize    Amount of latest samples to be kept
+     */
+    LatencyHistogram(int windowSize) {
+        samplesNanos = new long[windowSize];
+    }
+
+    synchronized void record(long nanos) {
+        samplesNanos[indexNext] = nanos;
+        indexNext = (indexNext + 1) % samplesNanos.length;
+        if (amountSamples < samplesNanos.length) {
+            amountSamples++;
+        }
+        amountRecorded++;
+    }
+
+    /**
+     * @return Snapshot Sorted copy of the current window
+     */
+    @NotNull
+    synchronized Snapshot getSnapshot() {
+        long[] sorted = Arrays.copyOf(samplesNanos, amountSamples);
+        Arrays.sort(sorted);
+
+        return new Snapshot(sorted, amountRecorded);
+    }
+
+    static class Snapshot {
+
+        private final long[] sortedNanos;
+
+        // Amount of samples recorded since start, including those dropped from the window
+        final long amountRecorded;
+
+        private Snapshot(long[] sortedNanos, long amountRecorded) {
+            this.sortedNanos    = sortedNanos;
+            this.amountRecorded = amountRecorded;
+        }
+
+        int getAmountSamples() {
+            return sortedNanos.length;
+        }
+
+        /**
+         * @param  percentile   0..100
+         * @return long         Nearest-rank percentile of the windowed durations, 0 if empty
+         */
+        long getPercentileNanos(double percentile) {
+            if (0 == sortedNanos.length) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedNanos.length);
+
+            return sortedNanos[Math.min(sortedNanos.length, Math.max(1, rank)) - 1];
+        }
+
+        long getMaxNanos() {
+            return 0 == sortedNanos.length ? 0 : sortedNanos[sortedNanos.length - 1];
+        }
+
+        /**
+         * @return int[]    Amount of windowed durations per bucket of BUCKET_BOUNDS_MILLIS, plus overflow bucket
+         */
+        int[] getBucketCounts() {
+            int[] counts = new int[BUCKET_BOUNDS_MILLIS.length + 1];
+            int bucket = 0;
+            for (long nanos : sortedNanos) {
+                while (bucket < BUCKET_BOUNDS_MILLIS.length && nanos > BUCKET_BOUNDS_MILLIS[bucket] * 1_000_000L) {
+                    bucket++;
+                }
+                counts[bucket]++;
+            }
+            return counts;
+        }
+    }
+}
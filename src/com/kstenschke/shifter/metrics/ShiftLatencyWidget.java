@@ -0,0 +1,117 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.metrics;
+
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.wm.StatusBar;
+import com.intellij.openapi.wm.StatusBarWidget;
+import com.intellij.util.Consumer;
+import com.kstenschke.shifter.metrics.ShiftTiming.Phase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.MouseEvent;
+import java.util.Locale;
+
+/**
+ * Status bar widget showing the latency of the latest shift, w/ its phases in the tooltip.
+ * Clicking it copies the metrics of all shifts as JSON.
+ */
+public class ShiftLatencyWidget implements StatusBarWidget, StatusBarWidget.TextPresentation {
+
+    public static final String ID = "ShifterLatency";
+
+    private final Runnable listener = this::update;
+
+    @Nullable
+    private StatusBar statusBar;
+
+    @NotNull
+    @Override
+    public String ID() {
+        return ID;
+    }
+
+    @Nullable
+    @Override
+    public WidgetPresentation getPresentation(@NotNull PlatformType type) {
+        return this;
+    }
+
+    @Override
+    public void install(@NotNull StatusBar statusBar) {
+        this.statusBar = statusBar;
+        ShiftMetrics.getInstance().addListener(listener);
+    }
+
+    @Override
+    public void dispose() {
+        ShiftMetrics.getInstance().removeListener(listener);
+        statusBar = null;
+    }
+
+    private void update() {
+        StatusBar statusBar = this.statusBar;
+        if (null != statusBar) {
+            statusBar.updateWidget(ID);
+        }
+    }
+
+    @NotNull
+    @Override
+    public String getText() {
+        ShiftTiming latest = ShiftMetrics.getInstance().getLatest();
+
+        return null == latest
+                ? "Shift: -"
+                : "Shift: " + ShiftMetrics.formatMillis(latest.getTotalNanos()) + " ms";
+    }
+
+    @NotNull
+    @Override
+    public String getMaxPossibleText() {
+        return "Shift: 0000.000 ms";
+    }
+
+    @Override
+    public float getAlignment() {
+        return Component.CENTER_ALIGNMENT;
+    }
+
+    @Nullable
+    @Override
+    public String getTooltipText() {
+        ShiftTiming latest = ShiftMetrics.getInstance().getLatest();
+        if (null == latest) {
+            return "Latency of latest shift";
+        }
+        StringBuilder tooltip = new StringBuilder("Latest shift: ").append(latest.getTypeName());
+        for (Phase phase : Phase.values()) {
+            tooltip.append(", ").append(phase.name().toLowerCase(Locale.ROOT)).append(": ")
+                   .append(ShiftMetrics.formatMillis(latest.getPhaseNanos(phase))).append(" ms");
+        }
+
+        return tooltip.append(". Click to copy shift latency metrics as JSON").toString();
+    }
+
+    @Nullable
+    @Override
+    public Consumer<MouseEvent> getClickConsumer() {
+        return mouseEvent -> CopyPasteManager.getInstance().setContents(new StringSelection(ShiftMetrics.getInstance().toJson()));
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.metrics;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.kstenschke.shifter.metrics.ShiftTiming.Phase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Application-wide latency metrics of shift actions: rolling histograms per detected shiftable type (total and per phase),
+ * the latest slow shifts, and their export as JSON. Shifts slower than the threshold are logged w/ the phase that was slow.
+ */
+public class ShiftMetrics {
+
+    private static final Logger LOG = Logger.getInstance(ShiftMetrics.class);
+
+    public static final long SLOW_SHIFT_THRESHOLD_MILLIS = 300;
+
+    // Amount of latest samples per histogram
+    static final int WINDOW_SIZE = 200;
+
+    private static final int MAX_AMOUNT_SLOW_SHIFTS = 20;
+
+    private static final ShiftMetrics INSTANCE = new ShiftMetrics();
+
+    // Histograms by name of shiftable type, sorted for a stable export
+    private final Map<String, TypeHistograms> histogramsByType = new TreeMap<>();
+
+    // JSON entries of latest slow shifts, oldest first
+    private final Deque<String> slowShifts = new ArrayDeque<>();
+
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile ShiftTiming latest;
+
+    private static class TypeHistograms {
+        final LatencyHistogram total = new LatencyHistogram(WINDOW_SIZE);
+        final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+
+        TypeHistograms() {
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new LatencyHistogram(WINDOW_SIZE));
+            }
+        }
+    }
+
+    ShiftMetrics() {
+    }
+
+    @NotNull
+    public static ShiftMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param timing    Finished timing of a shift action
+     */
+    public void record(@NotNull ShiftTiming timing) {
+        if (!timing.isFinished()) {
+            return;
+        }
+        TypeHistograms histograms;
+        synchronized (histogramsByType) {
+            histograms = histogramsByType.computeIfAbsent(timing.getTypeName(), typeName -> new TypeHistograms());
+        }
+        histograms.total.record(timing.getTotalNanos());
+        for (Phase phase : Phase.values()) {
+            histograms.phases.get(phase).record(timing.getPhaseNanos(phase));
+        }
+
+        if (timing.getTotalNanos() > SLOW_SHIFT_THRESHOLD_MILLIS * 1_000_000L) {
+            LOG.warn(getSlowShiftLogEntry(timing));
+            synchronized (slowShifts) {
+                if (slowShifts.size() == MAX_AMOUNT_SLOW_SHIFTS) {
+                    slowShifts.removeFirst();
+                }
+                slowShifts.addLast(getTimingJson(timing));
+            }
+        }
+
+        latest = timing;
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * @return ShiftTiming  Timing of latest recorded shift, null if none yet
+     */
+    @Nullable
+    public ShiftTiming getLatest() {
+        return latest;
+    }
+
+    /**
+     * @param listener  Runnable to be invoked after each recorded shift
+     */
+    public void addListener(@NotNull Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    @NotNull
+    static String getSlowShiftLogEntry(@NotNull ShiftTiming timing) {
+        Phase slowestPhase = timing.getSlowestPhase();
+
+        return "Slow shift of " + timing.getTypeName()
+                + " took " + formatMillis(timing.getTotalNanos()) + " ms"
+                + ", slowest phase: " + slowestPhase + " (" + formatMillis(timing.getPhaseNanos(slowestPhase)) + " ms)"
+                + ", input length: " + timing.getInputLength()
+                + ", document length: " + timing.getDocumentLength()
+                + ", file type: " + (timing.getFileExtension().isEmpty() ? "-" : timing.getFileExtension());
+    }
+
+    /**
+     * @return String   Histograms per type and latest slow shifts, as JSON
+     */
+    @NotNull
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"windowSize\": ").append(WINDOW_SIZE).append(",\n");
+        json.append("  \"slowShiftThresholdMillis\": ").append(SLOW_SHIFT_THRESHOLD_MILLIS).append(",\n");
+        json.append("  \"bucketBoundsMillis\": [");
+        for (int i = 0; i < LatencyHistogram.BUCKET_BOUNDS_MILLIS.length; i++) {
+            json.append(i > 0 ? ", " : "").append(LatencyHistogram.BUCKET_BOUNDS_MILLIS[i]);
+        }
+        json.append("],\n  \"types\": {");
+
+        Map<String, TypeHistograms> histogramsByTypeCopy;
+        synchronized (histogramsByType) {
+            histogramsByTypeCopy = new TreeMap<>(histogramsByType);
+        }
+        boolean isFirst = true;
+        for (Map.Entry<String, TypeHistograms> entry : histogramsByTypeCopy.entrySet()) {
+            json.append(isFirst ? "\n" : ",\n").append("    \"").append(entry.getKey()).append("\": {\n");
+            json.append("      \"total\": ");
+            appendHistogramJson(json, entry.getValue().total);
+            json.append(",\n      \"phases\": {");
+            for (Phase phase : Phase.values()) {
+                json.append(0 == phase.ordinal() ? "\n" : ",\n").append("        \"").append(phase).append("\": ");
+                appendHistogramJson(json, entry.getValue().phases.get(phase));
+            }
+            json.append("\n      }\n    }");
+            isFirst = false;
+        }
+        json.append(isFirst ? "},\n" : "\n  },\n");
+
+        json.append("  \"slowShifts\": [");
+        synchronized (slowShifts) {
+            isFirst = true;
+            for (String slowShift : slowShifts) {
+                json.append(isFirst ? "\n    " : ",\n    ").append(slowShift);
+                isFirst = false;
+            }
+            json.append(isFirst ? "]\n" : "\n  ]\n");
+        }
+
+        return json.append("}\n").toString();
+    }
+
+    private static void appendHistogramJson(StringBuilder json, LatencyHistogram histogram) {
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+
+        json.append("{\"count\": ").append(snapshot.amountRecorded)
+            .append(", \"p50Millis\": ").append(formatMillis(snapshot.getPercentileNanos(50)))
+            .append(", \"p90Millis\": ").append(formatMillis(snapshot.getPercentileNanos(90)))
+            .append(", \"p99Millis\": ").append(formatMillis(snapshot.getPercentileNanos(99)))
+            .append(", \"maxMillis\": ").append(formatMillis(snapshot.getMaxNanos()))
+            .append(", \"buckets\": [");
+        int[] bucketCounts = snapshot.getBucketCounts();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            json.append(i > 0 ? ", " : "").append(bucketCounts[i]);
+        }
+        json.append("]}");
+    }
+
+    @NotNull
+    private static String getTimingJson(@NotNull ShiftTiming timing) {
+        StringBuilder json = new StringBuilder("{\"type\": \"").append(timing.getTypeName()).append("\"")
+                .append(", \"totalMillis\": ").append(formatMillis(timing.getTotalNanos()));
+        for (Phase phase : Phase.values()) {
+            json.append(", \"").append(phase.name().toLowerCase(Locale.ROOT)).append("Millis\": ")
+                .append(formatMillis(timing.getPhaseNanos(phase)));
+        }
+
+        return json.append(", \"slowestPhase\": \"").append(timing.getSlowestPhase()).append("\"")
+                   .append(", \"inputLength\": ").append(timing.getInputLength())
+                   .append(", \"documentLength\": ").append(timing.getDocumentLength())
+                   .append(", \"fileType\": \"").append(escapeJson(timing.getFileExtension())).append("\"}")
+                   .toString();
+    }
+
+    @NotNull
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000d);
+    }
+
+    @NotNull
+    private static String escapeJson(String str) {
+        StringBuilder escaped = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if ('"' == c || '\\' == c) {
+                escaped.append('\\').append(c);
+            } else if (c < ' ') {
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
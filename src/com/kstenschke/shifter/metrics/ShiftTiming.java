@@ -0,0 +1,156 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Durations of the phases of one shift action, from construction of its action container until its write.
+ * Phases are measured on the thread performing the action, the transformation is the remainder of the total duration.
+ */
+public class ShiftTiming {
+
+    public enum Phase {
+        CONTAINER,
+        DETECTION,
+        TRANSFORMATION,
+        WRITE
+    }
+
+    public static final String TYPE_UNKNOWN = "UNKNOWN";
+
+    private final long startNanos;
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    // Total duration, -1 until finished
+    private long totalNanos = -1;
+
+    private String typeName = TYPE_UNKNOWN;
+
+    private int inputLength;
+    private int documentLength;
+    private String fileExtension = "";
+
+    /**
+     * Constructor, starts timing
+     */
+    public ShiftTiming() {
+        this(System.nanoTime());
+    }
+
+    ShiftTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * @param phase
+     * @param nanos Duration to be added to the given phase. Ignored after the timing was finished (e.g. writes from popups)
+     */
+    public void addPhaseNanos(@NotNull Phase phase, long nanos) {
+        if (!isFinished()) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * @param typeName  Name of detected shiftable type, the first detected known type wins
+     */
+    public void setDetectedType(@NotNull String typeName) {
+        if (TYPE_UNKNOWN.equals(this.typeName) && !isFinished()) {
+            this.typeName = typeName;
+        }
+    }
+
+    /**
+     * @param inputLength   Length of the shifted word or line, when there is no selection. The latest given length wins
+     */
+    public void setInputLength(int inputLength) {
+        if (!isFinished()) {
+            this.inputLength = inputLength;
+        }
+    }
+
+    /**
+     * Stop timing: total duration is taken now, time not spent in other phases is accounted to the transformation
+     *
+     * @param inputLength       Length of selection, or of the shifted word or line
+     * @param documentLength    Length of shifted text
+     * @param fileExtension     Lower-cased extension of edited file
+     */
+    public void finish(int inputLength, int documentLength, @NotNull String fileExtension) {
+        finish(System.nanoTime() - startNanos, inputLength, documentLength, fileExtension);
+    }
+
+    void finish(long totalNanos, int inputLength, int documentLength, @NotNull String fileExtension) {
+        if (isFinished()) {
+            return;
+        }
+        long measuredNanos = 0;
+        for (Phase phase : Phase.values()) {
+            measuredNanos += phaseNanos[phase.ordinal()];
+        }
+        phaseNanos[Phase.TRANSFORMATION.ordinal()] += Math.max(0, totalNanos - measuredNanos);
+
+        this.totalNanos     = totalNanos;
+        this.inputLength    = inputLength;
+        this.documentLength = documentLength;
+        this.fileExtension  = fileExtension;
+    }
+
+    public boolean isFinished() {
+        return totalNanos >= 0;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getPhaseNanos(@NotNull Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return Phase    Phase that took longest
+     */
+    @NotNull
+    public Phase getSlowestPhase() {
+        Phase slowest = Phase.CONTAINER;
+        for (Phase phase : Phase.values()) {
+            if (phaseNanos[phase.ordinal()] > phaseNanos[slowest.ordinal()]) {
+                slowest = phase;
+            }
+        }
+        return slowest;
+    }
+
+    @NotNull
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public int getInputLength() {
+        return inputLength;
+    }
+
+    public int getDocumentLength() {
+        return documentLength;
+    }
+
+    @NotNull
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
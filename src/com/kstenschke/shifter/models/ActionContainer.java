@@ -2,15 +2,12 @@ package com.kstenschke.shifter.models;
 
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
-import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.command.CommandProcessor;
-import com.intellij.openapi.command.UndoConfirmationPolicy;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.SelectionModel;
 import com.intellij.openapi.project.Project;
+import com.kstenschke.shifter.metrics.ShiftTiming;
 import com.kstenschke.shifter.resources.StaticTexts;
-import com.kstenschke.shifter.utils.UtilsEnvironment;
 import com.kstenschke.shifter.utils.UtilsFile;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.NotNull;
@@ -19,17 +16,21 @@ import javax.annotation.Nullable;
 
 /**
  * Container for event and deducible IDE environment attributes (project, editor, etc.)
+ * All text related attributes are read from a TextBuffer, so shifting also works w/o IDE: editor, project, document
+ * and selectionModel are null then.
  */
 public class ActionContainer {
     public final boolean isShiftUp;
     private final boolean isShiftMore;
 
+    public final TextBuffer textBuffer;
+
     public Project project;
     public final Editor editor;
     public Document document;
 
+    // View upon the text, w/o copying it
     public CharSequence editorText;
-    String documentText;
 
     public SelectionModel selectionModel;
     public int caretOffset;
@@ -39,59 +40,133 @@ public class ActionContainer {
     int lineNumberSelStart;
     int lineNumberSelEnd;
 
-    public String selectedText;
+    // Text attributes below are extracted lazily, by their getters
+    private String selectedText;
     String whiteSpaceLHSinSelection;
     String whiteSpaceRHSinSelection;
 
     private int offsetCaretLineStart;
-    String caretLine;
+    private int offsetCaretLineEnd;
+    private String caretLine;
+
+    private String filename;
+    private String fileExtension;
 
-    public String filename;
-    String fileExtension;
+    // Timing of the shift action for metrics, null if not instrumented (e.g. w/o IDE)
+    public ShiftTiming timing;
 
     /**
      * Constructor
      */
     public ActionContainer(final AnActionEvent event, boolean isShiftUp, boolean isShiftMore) {
-        this.isShiftUp = isShiftUp;
+        this(event.getData(PlatformDataKeys.EDITOR), isShiftUp, isShiftMore);
+    }
+
+    /**
+     * Constructor for shifting w/o IDE
+     *
+     * @param textBuffer    Text w/ caret and selection to be shifted
+     * @param isShiftUp
+     * @param isShiftMore
+     */
+    public ActionContainer(@NotNull TextBuffer textBuffer, boolean isShiftUp, boolean isShiftMore) {
+        this(textBuffer, null, isShiftUp, isShiftMore);
+    }
+
+    private ActionContainer(@Nullable Editor editor, boolean isShiftUp, boolean isShiftMore) {
+        this(null == editor ? null : new EditorTextBuffer(editor), editor, isShiftUp, isShiftMore);
+    }
+
+    private ActionContainer(@Nullable TextBuffer textBuffer, @Nullable Editor editor, boolean isShiftUp, boolean isShiftMore) {
+        this.isShiftUp   = isShiftUp;
         this.isShiftMore = isShiftMore;
+        this.textBuffer  = textBuffer;
+        this.editor      = editor;
 
-        editor = event.getData(PlatformDataKeys.EDITOR);
-        if (null == editor) {
+        if (null == textBuffer) {
             return;
         }
+        if (null != editor) {
+            project        = editor.getProject();
+            document       = editor.getDocument();
+            selectionModel = editor.getSelectionModel();
+        }
 
-        project      = editor.getProject();
-        document     = editor.getDocument();
-        editorText   = document.getCharsSequence();
-        documentText = document.getText();
+        editorText = textBuffer.getCharsSequence();
 
-        selectionModel       = editor.getSelectionModel();
-        offsetSelectionStart = selectionModel.getSelectionStart();
-        offsetSelectionEnd   = selectionModel.getSelectionEnd();
-        if (documentText.charAt(offsetSelectionEnd -1) == '\n') {
+        offsetSelectionStart = textBuffer.getSelectionStart();
+        offsetSelectionEnd   = textBuffer.getSelectionEnd();
+        if (offsetSelectionEnd > 0 && editorText.charAt(offsetSelectionEnd -1) == '\n') {
             // Prevent including line following a selection being included e.g. in line sorting
             offsetSelectionEnd--;
-            selectionModel.setSelection(offsetSelectionStart, offsetSelectionEnd);
+            textBuffer.setSelection(offsetSelectionStart, offsetSelectionEnd);
+        }
+        lineNumberSelStart = textBuffer.getLineNumber(offsetSelectionStart);
+        lineNumberSelEnd   = textBuffer.getLineNumber(offsetSelectionEnd);
+
+        caretOffset          = textBuffer.getCaretOffset();
+        int caretLineNumber  = textBuffer.getLineNumber(caretOffset);
+        offsetCaretLineStart = textBuffer.getLineStartOffset(caretLineNumber);
+        offsetCaretLineEnd   = textBuffer.getLineEndOffset(caretLineNumber);
+    }
+
+    /**
+     * @return String   Selected text (trimmed after trimSelectedText())
+     */
+    public String getSelectedText() {
+        if (null == selectedText) {
+            selectedText = UtilsTextual.getSubString(editorText, offsetSelectionStart, offsetSelectionEnd);
+        }
+        return selectedText;
+    }
+
+    /**
+     * @return String   Line containing the caret, w/o line separator
+     */
+    String getCaretLine() {
+        if (null == caretLine) {
+            caretLine = editorText.subSequence(offsetCaretLineStart, offsetCaretLineEnd).toString();
         }
-        lineNumberSelStart = document.getLineNumber(offsetSelectionStart);
-        lineNumberSelEnd   = document.getLineNumber(offsetSelectionEnd);
-        selectedText       = UtilsTextual.getSubString(editorText, offsetSelectionStart, offsetSelectionEnd);
+        return caretLine;
+    }
 
-        caretOffset          = editor.getCaretModel().getOffset();
-        int caretLineNumber = document.getLineNumber(caretOffset);
-        offsetCaretLineStart = document.getLineStartOffset(caretLineNumber);
-        int offsetCaretLineEnd = document.getLineEndOffset(caretLineNumber);
-        caretLine            = editorText.subSequence(offsetCaretLineStart, offsetCaretLineEnd).toString();
+    public String getFilename() {
+        if (null == filename) {
+            filename = textBuffer.getFilename();
+        }
+        return filename;
+    }
 
-        filename      = UtilsEnvironment.getDocumentFilename(document);
-        fileExtension = UtilsFile.extractFileExtension(filename, true);
+    /**
+     * @return String   Lower-cased extension of edited file
+     */
+    public String getFileExtension() {
+        if (null == fileExtension) {
+            fileExtension = UtilsFile.extractFileExtension(getFilename(), true);
+        }
+        return fileExtension;
+    }
+
+    /**
+     * @param  textBuffer
+     * @return ActionContainer  Container of the same action, upon the given text buffer (w/o IDE)
+     */
+    ActionContainer withTextBuffer(@NotNull TextBuffer textBuffer) {
+        return new ActionContainer(textBuffer, isShiftUp, isShiftMore);
+    }
+
+    /**
+     * @return boolean  Is there a selection (in the editor, or in the text buffer w/o IDE)?
+     */
+    public boolean hasSelection() {
+        return textBuffer.hasSelection();
     }
 
     /**
      * Trim selection and store whitespace from both sides to properties
      */
     void trimSelectedText() {
+        String selectedText        = getSelectedText();
         String selectedTextTrimmed = selectedText.trim();
 
         int index = selectedText.indexOf(selectedTextTrimmed);
@@ -102,7 +177,7 @@ public class ActionContainer {
             whiteSpaceLHSinSelection = selectedText.substring(0, index);
             whiteSpaceRHSinSelection = selectedText.substring(index + selectedTextTrimmed.length());
         }
-        selectedText = selectedTextTrimmed;
+        this.selectedText = selectedTextTrimmed;
     }
 
     @NotNull
@@ -112,18 +187,18 @@ public class ActionContainer {
     @NotNull
     public Runnable getRunnableReplaceSelection(final String shifted, final boolean reformat) {
         return () -> {
-            document.replaceString(offsetSelectionStart, offsetSelectionEnd, shifted);
+            textBuffer.replaceChangedLines(offsetSelectionStart, offsetSelectionEnd, shifted);
             if (reformat) {
-                UtilsEnvironment.reformatSubString(editor, project, offsetSelectionStart, offsetSelectionStart + shifted.length());
+                textBuffer.reformat(offsetSelectionStart, offsetSelectionStart + shifted.length());
             }
         };
     }
 
     @NotNull
     Runnable getRunnableReplaceCaretLine(final CharSequence shiftedLine) {
-        return () -> document.replaceString(
+        return () -> textBuffer.replaceString(
                 offsetCaretLineStart,
-                offsetCaretLineStart + caretLine.length(),
+                offsetCaretLineEnd,
                 shiftedLine);
     }
 
@@ -132,14 +207,28 @@ public class ActionContainer {
     }
 
     public void writeUndoable(final Runnable runnable, @Nullable String actionText) {
+        writeUndoable(runnable, actionText, null);
+    }
+
+    /**
+     * @param runnable      Modification of the text
+     * @param actionText    Name of the command, null: default of the action
+     * @param undoGroupId   ID of undo group to merge into, null: undone separately
+     */
+    void writeUndoable(final Runnable runnable, @Nullable String actionText, @Nullable Object undoGroupId) {
         if (null == actionText) {
             actionText = getDefaultActionText();
         }
-        CommandProcessor.getInstance().executeCommand(
-                project,
-                () -> ApplicationManager.getApplication().runWriteAction(runnable),
-                actionText,
-                UndoConfirmationPolicy.DO_NOT_REQUEST_CONFIRMATION);
+        if (null == timing) {
+            textBuffer.writeUndoable(runnable, actionText, undoGroupId);
+            return;
+        }
+        final ShiftTiming writeTiming = timing;
+        textBuffer.writeUndoable(() -> {
+            long startNanos = System.nanoTime();
+            runnable.run();
+            writeTiming.addPhaseNanos(ShiftTiming.Phase.WRITE, System.nanoTime() - startNanos);
+        }, actionText, undoGroupId);
     }
 
     private String getDefaultActionText() {
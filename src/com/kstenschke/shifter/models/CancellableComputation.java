@@ -0,0 +1,32 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Computation of a result from a snapshot of the text, which can be run in the background
+ */
+@FunctionalInterface
+public interface CancellableComputation<T> {
+
+    /**
+     * @param  text             Snapshot of the text, not modified during the computation
+     * @param  checkCanceled    To be run repeatedly: aborts the computation (by exception) if it has been canceled
+     * @return T                Result, null = nothing to apply
+     */
+    T compute(@NotNull CharSequence text, @NotNull Runnable checkCanceled);
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Text buffer of one of multiple carets: reads from the (unmodified) text of the document's buffer,
+ * modifications are not applied but recorded as one replacement, to be applied together w/ those of the other carets.
+ */
+class CaretTextBuffer implements TextBuffer {
+
+    private final TextBuffer textBuffer;
+    private final CharSequence text;
+    private final int caretOffset;
+
+    private int selectionStart;
+    private int selectionEnd;
+
+    @Nullable
+    private TextReplacement replacement;
+
+    /**
+     * Constructor
+     *
+     * @param textBuffer    Buffer of the document, is read only
+     * @param caretOffset   Offset of this caret, there is no selection
+     */
+    CaretTextBuffer(@NotNull TextBuffer textBuffer, int caretOffset) {
+        this.textBuffer  = textBuffer;
+        this.caretOffset = caretOffset;
+        text             = textBuffer.getCharsSequence();
+        selectionStart   = caretOffset;
+        selectionEnd     = caretOffset;
+    }
+
+    /**
+     * @return TextReplacement  Modification done at this caret, null if none
+     */
+    @Nullable
+    TextReplacement getReplacement() {
+        return replacement;
+    }
+
+    @NotNull
+    @Override
+    public CharSequence getCharsSequence() {
+        return text;
+    }
+
+    @NotNull
+    @Override
+    public String getFilename() {
+        return textBuffer.getFilename();
+    }
+
+    @Override
+    public int getLineNumber(int offset) {
+        return textBuffer.getLineNumber(offset);
+    }
+
+    @Override
+    public int getLineStartOffset(int lineNumber) {
+        return textBuffer.getLineStartOffset(lineNumber);
+    }
+
+    @Override
+    public int getLineEndOffset(int lineNumber) {
+        return textBuffer.getLineEndOffset(lineNumber);
+    }
+
+    @Override
+    public int getLineSeparatorLength(int lineNumber) {
+        return textBuffer.getLineSeparatorLength(lineNumber);
+    }
+
+    /**
+     * Record replacement. Offsets are those of the text incl. replacements recorded before:
+     * subsequent replacements are merged into one replacement of the original text.
+     */
+    @Override
+    public void replaceString(int startOffset, int endOffset, @NotNull CharSequence replacementText) {
+        if (null == replacement) {
+            replacement = new TextReplacement(startOffset, endOffset, replacementText.toString());
+            return;
+        }
+
+        // Merge: range covering both, in the text after the recorded replacement, starts at the same offset in the original text
+        int delta       = replacement.text.length() - (replacement.endOffset - replacement.startOffset);
+        int mergedStart = Math.min(startOffset, replacement.startOffset);
+        int mergedEnd   = Math.max(endOffset, replacement.startOffset + replacement.text.length());
+
+        StringBuilder merged = new StringBuilder()
+                .append(text, mergedStart, replacement.startOffset)
+                .append(replacement.text)
+                .append(text, replacement.endOffset, mergedEnd - delta);
+        merged.replace(startOffset - mergedStart, endOffset - mergedStart, replacementText.toString());
+
+        replacement = new TextReplacement(mergedStart, mergedEnd - delta, merged.toString());
+    }
+
+    @Override
+    public void replaceStrings(@NotNull List<TextReplacement> replacements) {
+        for (int i = replacements.size() - 1; i >= 0; i--) {
+            TextReplacement replacement = replacements.get(i);
+            replaceString(replacement.startOffset, replacement.endOffset, replacement.text);
+        }
+    }
+
+    @Override
+    public void replaceChangedLines(int startOffset, int endOffset, @NotNull String text) {
+        replaceString(startOffset, endOffset, text);
+    }
+
+    @Override
+    public int getCaretOffset() {
+        return caretOffset;
+    }
+
+    @NotNull
+    @Override
+    public int[] getCaretOffsets() {
+        return new int[]{caretOffset};
+    }
+
+    @Override
+    public int getSelectionStart() {
+        return selectionStart;
+    }
+
+    @Override
+    public int getSelectionEnd() {
+        return selectionEnd;
+    }
+
+    @Override
+    public boolean hasSelection() {
+        return selectionStart != selectionEnd;
+    }
+
+    @Override
+    public void setSelection(int startOffset, int endOffset) {
+        selectionStart = Math.min(startOffset, endOffset);
+        selectionEnd   = Math.max(startOffset, endOffset);
+    }
+
+    @Override
+    public void reformat(int startOffset, int endOffset) {
+        // Replacements of multiple carets are not reformatted
+    }
+
+    @NotNull
+    @Override
+    public <T extends TextIndex> T getTextIndex(@NotNull Class<T> type, @NotNull Function<CharSequence, T> factory) {
+        return textBuffer.getTextIndex(type, factory);
+    }
+
+    @Override
+    public void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText) {
+        // Recorded only, written together w/ the replacements of all carets
+        runnable.run();
+    }
+
+    @Override
+    public void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText, @Nullable Object undoGroupId) {
+        runnable.run();
+    }
+
+    @Override
+    public <T> void computeInBackground(@NotNull String title, @NotNull CancellableComputation<T> computation, @NotNull Consumer<T> apply) {
+        T result = computation.compute(text, () -> {});
+        if (null != result) {
+            apply.accept(result);
+        }
+    }
+}
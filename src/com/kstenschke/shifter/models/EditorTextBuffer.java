@@ -0,0 +1,273 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.command.UndoConfirmationPolicy;
+import com.intellij.openapi.editor.Caret;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.editor.ex.DocumentEx;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import com.kstenschke.shifter.utils.UtilsEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Text buffer adapter of an IntelliJ editor and its document
+ */
+class EditorTextBuffer implements TextBuffer {
+
+    // Text indexes of a document are stored w/ it, and kept up-to-date by a document listener
+    private static final Key<TextIndexes> KEY_TEXT_INDEXES = Key.create("PluginShifter.TextIndexes");
+
+    private static final int MIN_REPLACEMENTS_BULK_UPDATE = 100;
+
+    private final Editor editor;
+    private final Document document;
+
+    /**
+     * Constructor
+     */
+    EditorTextBuffer(@NotNull Editor editor) {
+        this.editor = editor;
+        document    = editor.getDocument();
+    }
+
+    @NotNull
+    @Override
+    public CharSequence getCharsSequence() {
+        return document.getCharsSequence();
+    }
+
+    @NotNull
+    @Override
+    public String getFilename() {
+        return UtilsEnvironment.getDocumentFilename(document);
+    }
+
+    @Override
+    public int getLineNumber(int offset) {
+        return document.getLineNumber(offset);
+    }
+
+    @Override
+    public int getLineStartOffset(int lineNumber) {
+        return document.getLineStartOffset(lineNumber);
+    }
+
+    @Override
+    public int getLineEndOffset(int lineNumber) {
+        return document.getLineEndOffset(lineNumber);
+    }
+
+    @Override
+    public int getLineSeparatorLength(int lineNumber) {
+        return document.getLineSeparatorLength(lineNumber);
+    }
+
+    @Override
+    public void replaceString(int startOffset, int endOffset, @NotNull CharSequence text) {
+        document.replaceString(startOffset, endOffset, text);
+    }
+
+    @Override
+    public void replaceChangedLines(int startOffset, int endOffset, @NotNull String text) {
+        String oldText = document.getCharsSequence().subSequence(startOffset, endOffset).toString();
+
+        replaceStrings(new LinesDiff(oldText, text).getReplacements(startOffset));
+    }
+
+    @Override
+    public void replaceStrings(@NotNull List<TextReplacement> replacements) {
+        replaceStrings(document, replacements);
+    }
+
+    /**
+     * @param document
+     * @param replacements  Ascending, not overlapping
+     */
+    static void replaceStrings(@NotNull Document document, @NotNull List<TextReplacement> replacements) {
+        // Many scattered modifications: suspend incremental updates of editor (highlighting, folding, ...) meanwhile
+        replaceStrings(document, replacements, replacements.size() >= MIN_REPLACEMENTS_BULK_UPDATE);
+    }
+
+    /**
+     * @param document
+     * @param replacements  Ascending, not overlapping
+     * @param isBulkUpdate  Suspend incremental updates of editor (highlighting, folding, ...) during the replacements?
+     */
+    static void replaceStrings(@NotNull Document document, @NotNull List<TextReplacement> replacements, boolean isBulkUpdate) {
+        isBulkUpdate = isBulkUpdate && document instanceof DocumentEx;
+        if (isBulkUpdate) {
+            ((DocumentEx) document).setInBulkUpdate(true);
+        }
+        try {
+            // Replace from last to first, so offsets of preceding replacements remain valid
+            for (int i = replacements.size() - 1; i >= 0; i--) {
+                TextReplacement replacement = replacements.get(i);
+                document.replaceString(replacement.startOffset, replacement.endOffset, replacement.text);
+            }
+        } finally {
+            if (isBulkUpdate) {
+                ((DocumentEx) document).setInBulkUpdate(false);
+            }
+        }
+    }
+
+    @Override
+    public int getCaretOffset() {
+        return editor.getCaretModel().getOffset();
+    }
+
+    @NotNull
+    @Override
+    public int[] getCaretOffsets() {
+        List<Caret> carets = editor.getCaretModel().getAllCarets();
+        int[] caretOffsets = new int[carets.size()];
+        for (int i = 0; i < caretOffsets.length; i++) {
+            caretOffsets[i] = carets.get(i).getOffset();
+        }
+
+        return caretOffsets;
+    }
+
+    @Override
+    public int getSelectionStart() {
+        return editor.getSelectionModel().getSelectionStart();
+    }
+
+    @Override
+    public int getSelectionEnd() {
+        return editor.getSelectionModel().getSelectionEnd();
+    }
+
+    @Override
+    public boolean hasSelection() {
+        return editor.getSelectionModel().hasSelection();
+    }
+
+    @Override
+    public void setSelection(int startOffset, int endOffset) {
+        editor.getSelectionModel().setSelection(startOffset, endOffset);
+    }
+
+    @Override
+    public void reformat(int startOffset, int endOffset) {
+        UtilsEnvironment.reformatSubString(editor, editor.getProject(), startOffset, endOffset);
+    }
+
+    @NotNull
+    @Override
+    public <T extends TextIndex> T getTextIndex(@NotNull Class<T> type, @NotNull Function<CharSequence, T> factory) {
+        return getTextIndexes().get(type, document.getCharsSequence(), factory);
+    }
+
+    /**
+     * @return TextIndexes  Indexes of the document, kept up-to-date by a document listener while the editor's project is open
+     */
+    @NotNull
+    private TextIndexes getTextIndexes() {
+        final Project project = editor.getProject();
+        if (null == project || project.isDisposed()) {
+            // No parent to unregister the listener from the document: index only for this shift
+            return new TextIndexes();
+        }
+
+        synchronized (KEY_TEXT_INDEXES) {
+            TextIndexes textIndexes = document.getUserData(KEY_TEXT_INDEXES);
+            if (null == textIndexes) {
+                final TextIndexes indexes = new TextIndexes();
+                document.addDocumentListener(new DocumentListener() {
+                    @Override
+                    public void beforeDocumentChange(@NotNull DocumentEvent event) {
+                        indexes.beforeReplace(document.getCharsSequence(), event.getOffset(), event.getOffset() + event.getOldLength());
+                    }
+
+                    @Override
+                    public void documentChanged(@NotNull DocumentEvent event) {
+                        indexes.afterReplace(document.getCharsSequence(), event.getOffset(), event.getOffset() + event.getNewLength());
+                    }
+                }, project);
+                // Listener is removed w/ the project: drop the indexes, that would not be updated anymore, as well
+                Disposer.register(project, () -> {
+                    synchronized (KEY_TEXT_INDEXES) {
+                        if (indexes == document.getUserData(KEY_TEXT_INDEXES)) {
+                            document.putUserData(KEY_TEXT_INDEXES, null);
+                        }
+                    }
+                });
+                document.putUserData(KEY_TEXT_INDEXES, indexes);
+                textIndexes = indexes;
+            }
+
+            return textIndexes;
+        }
+    }
+
+    @Override
+    public void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText) {
+        writeUndoable(runnable, actionText, null);
+    }
+
+    @Override
+    public void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText, @Nullable Object undoGroupId) {
+        CommandProcessor.getInstance().executeCommand(
+                editor.getProject(),
+                () -> ApplicationManager.getApplication().runWriteAction(runnable),
+                actionText,
+                undoGroupId,
+                UndoConfirmationPolicy.DO_NOT_REQUEST_CONFIRMATION,
+                document);
+    }
+
+    @Override
+    public <T> void computeInBackground(@NotNull String title, @NotNull final CancellableComputation<T> computation, @NotNull final Consumer<T> apply) {
+        // Immutable snapshot: computing needs no read lock, so it never blocks modifications of the document
+        final CharSequence snapshot       = document.getImmutableCharSequence();
+        final long modificationStampStart = document.getModificationStamp();
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(editor.getProject(), title, true) {
+            private T result;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                result = computation.compute(snapshot, indicator::checkCanceled);
+            }
+
+            @Override
+            public void onSuccess() {
+                // Result is outdated if the document was modified meanwhile
+                if (null != result && document.getModificationStamp() == modificationStampStart) {
+                    apply.accept(result);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line-based diff of a text and its replacement (Myers' algorithm): ranges of lines that actually differ.
+ * Replacing only those leaves unchanged lines (and their markers, bookmarks, breakpoints, folding) untouched.
+ */
+class LinesDiff {
+
+    // Maximum amount of differing lines the minimal diff is searched for (limits memory)
+    private static final int MAX_EDIT_DISTANCE = 1000;
+
+    // Maximum amount of line comparisons to search the minimal diff (limits time)
+    private static final long MAX_AMOUNT_COMPARISONS = 20000000L;
+
+    /**
+     * Range of old text to be replaced by new text
+     */
+    static class Hunk {
+        final int startOffset;
+        final int endOffset;
+        final String replacement;
+
+        Hunk(int startOffset, int endOffset, String replacement) {
+            this.startOffset = startOffset;
+            this.endOffset   = endOffset;
+            this.replacement = replacement;
+        }
+    }
+
+    private final String oldText;
+    private final String newText;
+
+    private final int[] oldLineStarts;
+    private final int[] newLineStarts;
+    private final String[] oldLines;
+    private final String[] newLines;
+
+    /**
+     * Constructor
+     *
+     * @param oldText
+     * @param newText
+     */
+    LinesDiff(@NotNull String oldText, @NotNull String newText) {
+        this.oldText  = oldText;
+        this.newText  = newText;
+        oldLineStarts = getLineStarts(oldText);
+        newLineStarts = getLineStarts(newText);
+        oldLines      = getLines(oldText, oldLineStarts);
+        newLines      = getLines(newText, newLineStarts);
+    }
+
+    /**
+     * @param  offset                   Offset of the old text in its document
+     * @return List<TextReplacement>    Replacements of the changed ranges within the document, ascending, not overlapping
+     */
+    @NotNull
+    List<TextReplacement> getReplacements(int offset) {
+        List<TextReplacement> replacements = new ArrayList<>();
+        for (Hunk hunk : getHunks()) {
+            replacements.add(new TextReplacement(offset + hunk.startOffset, offset + hunk.endOffset, hunk.replacement));
+        }
+
+        return replacements;
+    }
+
+    /**
+     * @return List<Hunk>   Changed ranges (offsets within old text), in ascending order, not overlapping
+     */
+    @NotNull
+    List<Hunk> getHunks() {
+        List<Hunk> hunks = new ArrayList<>();
+        if (oldText.equals(newText)) {
+            return hunks;
+        }
+
+        // Unchanged leading and trailing lines
+        int amountOld = oldLines.length;
+        int amountNew = newLines.length;
+        int prefix    = 0;
+        while (prefix < amountOld && prefix < amountNew && oldLines[prefix].equals(newLines[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < amountOld - prefix && suffix < amountNew - prefix
+               && oldLines[amountOld - 1 - suffix].equals(newLines[amountNew - 1 - suffix])) {
+            suffix++;
+        }
+
+        int oldStart = prefix;
+        int oldEnd   = amountOld - suffix;
+        int newStart = prefix;
+        int newEnd   = amountNew - suffix;
+
+        boolean[] isDeleted  = new boolean[oldEnd - oldStart];
+        boolean[] isInserted = new boolean[newEnd - newStart];
+        if (!markEdits(oldStart, oldEnd, newStart, newEnd, isDeleted, isInserted)) {
+            // Too different: replace all differing lines at once
+            hunks.add(getHunk(oldStart, oldEnd, newStart, newEnd));
+            return hunks;
+        }
+
+        // Consecutive deleted/inserted lines between matching ones make up a hunk
+        int indexOld = 0;
+        int indexNew = 0;
+        while (indexOld < isDeleted.length || indexNew < isInserted.length) {
+            if (indexOld < isDeleted.length && indexNew < isInserted.length && !isDeleted[indexOld] && !isInserted[indexNew]) {
+                indexOld++;
+                indexNew++;
+                continue;
+            }
+            int hunkStartOld = indexOld;
+            int hunkStartNew = indexNew;
+            while (indexOld < isDeleted.length && isDeleted[indexOld]) {
+                indexOld++;
+            }
+            while (indexNew < isInserted.length && isInserted[indexNew]) {
+                indexNew++;
+            }
+            hunks.add(getHunk(oldStart + hunkStartOld, oldStart + indexOld, newStart + hunkStartNew, newStart + indexNew));
+        }
+
+        return hunks;
+    }
+
+    /**
+     * Find the shortest edit script between the given line ranges (Myers' greedy algorithm)
+     *
+     * @return boolean  Was the edit script found within the limits of distance and comparisons?
+     */
+    private boolean markEdits(int oldStart, int oldEnd, int newStart, int newEnd, boolean[] isDeleted, boolean[] isInserted) {
+        int amountOld = oldEnd - oldStart;
+        int amountNew = newEnd - newStart;
+        int maxDistance = (int) Math.min(
+                Math.min(MAX_EDIT_DISTANCE, amountOld + amountNew),
+                MAX_AMOUNT_COMPARISONS / Math.max(1, amountOld + amountNew));
+
+        // Furthest reaching x (old line index) per diagonal k = x - y, stored for every distance for backtracking
+        int offsetK = maxDistance + 1;
+        int[] furthest = new int[2 * maxDistance + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        int distance = -1;
+        for (int d = 0; d <= maxDistance && -1 == distance; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && furthest[offsetK + k - 1] < furthest[offsetK + k + 1])
+                        ? furthest[offsetK + k + 1]
+                        : furthest[offsetK + k - 1] + 1;
+                int y = x - k;
+                while (x < amountOld && y < amountNew && isEqualLine(oldStart + x, newStart + y)) {
+                    x++;
+                    y++;
+                }
+                furthest[offsetK + k] = x;
+                if (x >= amountOld && y >= amountNew) {
+                    distance = d;
+                    break;
+                }
+            }
+            int[] snapshot = new int[2 * d + 1];
+            System.arraycopy(furthest, offsetK - d, snapshot, 0, snapshot.length);
+            trace.add(snapshot);
+        }
+        if (-1 == distance) {
+            return false;
+        }
+
+        int x = amountOld;
+        int y = amountNew;
+        for (int d = distance; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            int previousK = k == -d || (k != d && previous[k - 1 + d - 1] < previous[k + 1 + d - 1]) ? k + 1 : k - 1;
+            int previousX = previous[previousK + d - 1];
+            int previousY = previousX - previousK;
+            while (x > previousX && y > previousY) {
+                x--;
+                y--;
+            }
+            if (x == previousX) {
+                isInserted[previousY] = true;
+            } else {
+                isDeleted[previousX] = true;
+            }
+            x = previousX;
+            y = previousY;
+        }
+
+        return true;
+    }
+
+    private boolean isEqualLine(int indexOld, int indexNew) {
+        String oldLine = oldLines[indexOld];
+        String newLine = newLines[indexNew];
+
+        return oldLine.hashCode() == newLine.hashCode() && oldLine.equals(newLine);
+    }
+
+    private Hunk getHunk(int oldStartLine, int oldEndLine, int newStartLine, int newEndLine) {
+        return new Hunk(
+                oldLineStarts[oldStartLine],
+                oldLineStarts[oldEndLine],
+                newText.substring(newLineStarts[newStartLine], newLineStarts[newEndLine]));
+    }
+
+    /**
+     * @return int[]    Start offsets of all lines, followed by the length of the text
+     */
+    private static int[] getLineStarts(String text) {
+        int amountLines = 1;
+        int length      = text.length();
+        for (int offset = 0; offset < length - 1; offset++) {
+            if ('\n' == text.charAt(offset)) {
+                amountLines++;
+            }
+        }
+        if (0 == length) {
+            amountLines = 0;
+        }
+
+        int[] lineStarts = new int[amountLines + 1];
+        int indexLine = 1;
+        for (int offset = 0; offset < length - 1; offset++) {
+            if ('\n' == text.charAt(offset)) {
+                lineStarts[indexLine++] = offset + 1;
+            }
+        }
+        lineStarts[amountLines] = length;
+
+        return lineStarts;
+    }
+
+    /**
+     * @return String[] Lines of given text, each including its trailing line separator (if any)
+     */
+    private static String[] getLines(String text, int[] lineStarts) {
+        String[] lines = new String[lineStarts.length - 1];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = text.substring(lineStarts[i], lineStarts[i + 1]);
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Text index of items that never span multiple lines (e.g. PHP variables):
+ * on modification, items of the affected lines are removed before and re-added after the replacement.
+ */
+public abstract class LinesTextIndex implements TextIndex {
+
+    @Override
+    public final void beforeReplace(@NotNull CharSequence text, int startOffset, int endOffset) {
+        indexRange(text, getStartOfLine(text, startOffset), getEndOfLine(text, endOffset), -1);
+    }
+
+    @Override
+    public final void afterReplace(@NotNull CharSequence text, int startOffset, int endOffset) {
+        indexRange(text, getStartOfLine(text, startOffset), getEndOfLine(text, endOffset), 1);
+    }
+
+    /**
+     * Add/remove all items within the given range, which starts and ends at line boundaries
+     *
+     * @param text
+     * @param startOffset
+     * @param endOffset
+     * @param delta         1 = add items, -1 = remove items
+     */
+    protected abstract void indexRange(@NotNull CharSequence text, int startOffset, int endOffset, int delta);
+
+    private static int getStartOfLine(CharSequence text, int offset) {
+        while (offset > 0 && '\n' != text.charAt(offset - 1)) {
+            offset--;
+        }
+
+        return offset;
+    }
+
+    private static int getEndOfLine(CharSequence text, int offset) {
+        int length = text.length();
+        while (offset < length && '\n' != text.charAt(offset)) {
+            offset++;
+        }
+
+        return offset;
+    }
+}
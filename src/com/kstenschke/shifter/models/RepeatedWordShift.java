@@ -0,0 +1,157 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.kstenschke.shifter.models.ShiftableTypes.Type.PHP_VARIABLE_OR_ARRAY;
+
+/**
+ * Latest shift of the word at the caret in a document, to handle auto-repeated shifts of the same word (e.g. while
+ * the shortcut is held down): they are merged into one undo step, and the type of the shifted word isn't detected again.
+ * Any modification of the text other than the shift itself ends the repetition.
+ */
+class RepeatedWordShift implements TextIndex {
+
+    // Max. pause between two shifts of the same word to be merged
+    static final long MAX_PAUSE_MILLIS = 1000;
+
+    // Range of the word after its latest shift, -1 if none
+    private int offsetStart = -1;
+    private int offsetEnd   = -1;
+
+    private int caretOffset;
+    private long timeNanos;
+    private Object undoGroupId;
+
+    // Detection to be reused: types manager holding details of the detected type, null if the type must be detected again
+    private ShiftableTypesManager typesManager;
+    private ShiftableTypes.Type wordType;
+
+    // Is the shift itself modifying the text?
+    private boolean isWriting;
+
+    /**
+     * Constructor, w/o any shift yet
+     *
+     * @param text
+     */
+    RepeatedWordShift(@NotNull CharSequence text) {
+    }
+
+    /**
+     * @param  wordOffset   Offset of word at caret
+     * @param  wordLength
+     * @param  caretOffset
+     * @return boolean      Is the word the one shifted latest, w/ the caret unmoved and the text unmodified since then?
+     */
+    synchronized boolean isRepetitionOf(int wordOffset, int wordLength, int caretOffset) {
+        return -1 != offsetStart
+            && caretOffset == this.caretOffset
+            // Word can lack a leading "-" of a shifted negative value
+            && wordOffset >= offsetStart && wordOffset + wordLength == offsetEnd
+            && System.nanoTime() - timeNanos <= MAX_PAUSE_MILLIS * 1_000_000L;
+    }
+
+    /**
+     * @param  isRepetition
+     * @return Object   ID of undo group of the latest shift for a repetition, otherwise a new one
+     */
+    @NotNull
+    synchronized Object getUndoGroupId(boolean isRepetition) {
+        return isRepetition && null != undoGroupId ? undoGroupId : new Object();
+    }
+
+    /**
+     * @return ShiftableTypesManager    Types manager of the latest shift, holding details of its detected type. Null if
+     *                                  the type must be detected again
+     */
+    @Nullable
+    synchronized ShiftableTypesManager getTypesManager() {
+        return typesManager;
+    }
+
+    @Nullable
+    synchronized ShiftableTypes.Type getWordType() {
+        return wordType;
+    }
+
+    /**
+     * Replace word by its shifted value and store the shift
+     *
+     * @param textBuffer
+     * @param offsetStart   Start offset of word
+     * @param offsetEnd     End offset of word
+     * @param shiftedWord
+     * @param undoGroupId
+     * @param shiftableWord Shifted word w/ its types manager and detected type
+     */
+    synchronized void replace(
+            @NotNull TextBuffer textBuffer,
+            int offsetStart,
+            int offsetEnd,
+            @NotNull String shiftedWord,
+            @NotNull Object undoGroupId,
+            @NotNull ShiftableWord shiftableWord
+    ) {
+        isWriting = true;
+        try {
+            textBuffer.replaceString(offsetStart, offsetEnd, shiftedWord);
+        } finally {
+            isWriting = false;
+        }
+
+        this.offsetStart = offsetStart;
+        this.offsetEnd   = offsetStart + shiftedWord.length();
+        this.caretOffset = textBuffer.getCaretOffset();
+        this.timeNanos   = System.nanoTime();
+        this.undoGroupId = undoGroupId;
+
+        ShiftableTypes.Type shiftedType = shiftableWord.getWordType();
+        if (isTypeKeptOnShift(shiftedType)) {
+            typesManager = shiftableWord.getTypesManager();
+            wordType     = shiftedType;
+        } else {
+            typesManager = null;
+            wordType     = null;
+        }
+    }
+
+    /**
+     * @param  wordType
+     * @return boolean  Can the shifted word be shifted further as the same type, w/o detecting it again?
+     *                  Same as for consecutive "more" shifts, calculated at once.
+     */
+    static boolean isTypeKeptOnShift(ShiftableTypes.Type wordType) {
+        return ShiftableTypesManager.isShiftableInSteps(wordType) && PHP_VARIABLE_OR_ARRAY != wordType;
+    }
+
+    @Override
+    public synchronized void beforeReplace(@NotNull CharSequence text, int startOffset, int endOffset) {
+        if (!isWriting) {
+            offsetStart  = -1;
+            offsetEnd    = -1;
+            undoGroupId  = null;
+            typesManager = null;
+            wordType     = null;
+        }
+    }
+
+    @Override
+    public void afterReplace(@NotNull CharSequence text, int startOffset, int endOffset) {
+    }
+}
@@ -22,9 +22,14 @@ import com.kstenschke.shifter.resources.ui.DialogNumericBlockOptions;
 import com.kstenschke.shifter.utils.UtilsEnvironment;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 // Shiftable block selection
 public class ShiftableBlockSelection {
@@ -44,20 +49,6 @@ public class ShiftableBlockSelection {
         return true;
     }
 
-    private static boolean areBlockItemsIdentical(int[] blockSelectionStarts, int[] blockSelectionEnds, CharSequence editorText) {
-        String firstItem = editorText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString();
-        String currentItem;
-
-        for (int i = 1; i < blockSelectionStarts.length; i++) {
-            currentItem = editorText.subSequence(blockSelectionStarts[i], blockSelectionEnds[i]).toString();
-            if (!currentItem.equals(firstItem)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     /**
      * @param actionContainer
      * @param moreCount Current "more" count, starting w/ 1. If non-more shift: null
@@ -72,31 +63,56 @@ public class ShiftableBlockSelection {
         final int[] blockSelectionStarts = actionContainer.selectionModel.getBlockSelectionStarts();
         final int[]blockSelectionEnds   = actionContainer.selectionModel.getBlockSelectionEnds();
 
-        if (ShiftableBlockSelection.areNumericValues(blockSelectionStarts, blockSelectionEnds, actionContainer.documentText)) {
+        if (ShiftableBlockSelection.areNumericValues(blockSelectionStarts, blockSelectionEnds, actionContainer.editorText)) {
             shiftNumericalBlockSelectionInDocument(
                     actionContainer,
-                    Integer.valueOf(actionContainer.documentText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString()),
+                    Integer.valueOf(actionContainer.editorText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString()),
                     stepSize);
             return;
         }
-        if (ShiftableBlockSelection.areBlockItemsIdentical(blockSelectionStarts, blockSelectionEnds, actionContainer.documentText)) {
+
+        // Shift each row by its own type (e.g. mixed dictionary terms, colors, CSS units), write all rows at once
+        final List<TextReplacement> replacements = getShiftedRows(actionContainer, blockSelectionStarts, blockSelectionEnds, stepSize);
+        if (!replacements.isEmpty()) {
             actionContainer.writeUndoable(
-                    () -> shiftIdenticalBlockItemsInDocument(actionContainer, stepSize, blockSelectionStarts, blockSelectionEnds),
+                    () -> actionContainer.textBuffer.replaceStrings(replacements),
                     ACTION_TEXT_SHIFT_COLUMN_SELECTION
             );
         }
     }
 
-    private static void shiftIdenticalBlockItemsInDocument(ActionContainer actionContainer, @Nullable Integer moreCount, int[] blockSelectionStarts, int[] blockSelectionEnds) {
-        String word        = actionContainer.editorText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString();
-        Integer wordOffset = UtilsTextual.getStartOfWordAtOffset(actionContainer.editorText, blockSelectionStarts[0]);
-        String newWord     = ShiftableWord.getShiftedWordInDocument(actionContainer, word, wordOffset, false, false, moreCount);
+    /**
+     * Detect and shift the item of each row of the block selection, rows are processed in parallel upon the unmodified text
+     *
+     * @param  actionContainer
+     * @param  blockSelectionStarts
+     * @param  blockSelectionEnds
+     * @param  moreCount
+     * @return List<TextReplacement>    Replacements of the shiftable rows, in ascending order
+     */
+    @NotNull
+    static List<TextReplacement> getShiftedRows(final ActionContainer actionContainer, int[] blockSelectionStarts, int[] blockSelectionEnds, @Nullable Integer moreCount) {
+        return IntStream.range(0, blockSelectionStarts.length)
+                .parallel()
+                .mapToObj(row -> getShiftedRow(actionContainer, blockSelectionStarts[row], blockSelectionEnds[row], moreCount))
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(replacement -> replacement.startOffset))
+                .collect(Collectors.toList());
+    }
 
-        if (null != newWord && !newWord.equals(word)) {
-            for (int i = blockSelectionEnds.length - 1; i >= 0; i--) {
-                actionContainer.document.replaceString(blockSelectionStarts[i], blockSelectionEnds[i], newWord);
-            }
+    @Nullable
+    private static TextReplacement getShiftedRow(ActionContainer actionContainer, int offsetStart, int offsetEnd, @Nullable Integer moreCount) {
+        if (offsetStart >= offsetEnd) {
+            return null;
         }
+        String word        = actionContainer.editorText.subSequence(offsetStart, offsetEnd).toString();
+        Integer wordOffset = UtilsTextual.getStartOfWordAtOffset(actionContainer.editorText, offsetStart);
+
+        // Type is detected in the context of the row: caret at its item
+        ActionContainer rowActionContainer = actionContainer.withTextBuffer(new CaretTextBuffer(actionContainer.textBuffer, offsetStart));
+        String newWord = ShiftableWord.getShiftedWordInDocument(rowActionContainer, word, wordOffset, false, false, moreCount);
+
+        return null == newWord || newWord.equals(word) ? null : new TextReplacement(offsetStart, offsetEnd, newWord);
     }
 
     /**
@@ -154,7 +170,7 @@ public class ShiftableBlockSelection {
                 offsetSelectionStart = actionContainer.editor.logicalPositionToOffset(selectionStart);
                 offsetSelectionEnd = actionContainer.editor.logicalPositionToOffset(selectionEnd);
 
-                actionContainer.document.replaceString(offsetSelectionStart, offsetSelectionEnd, currentValue.toString());
+                actionContainer.textBuffer.replaceString(offsetSelectionStart, offsetSelectionEnd, currentValue.toString());
 
                 currentValue++;
             }
@@ -197,7 +213,7 @@ public class ShiftableBlockSelection {
                     value = 0;
                 }
 
-                actionContainer.document.replaceString(offsetSelectionStart, offsetSelectionEnd, String.valueOf(value + addend));
+                actionContainer.textBuffer.replaceString(offsetSelectionStart, offsetSelectionEnd, String.valueOf(value + addend));
             }
         }
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Shifting of the words (or lines) at multiple carets: detected and shifted per caret in parallel upon the unmodified text,
+ * then all replacements are written at once, as one undoable step.
+ */
+class ShiftableCarets {
+
+    /**
+     * @param  actionContainer
+     * @return boolean  Are there multiple carets w/o selection?
+     */
+    static boolean isMultiCaret(final ActionContainer actionContainer) {
+        return !actionContainer.hasSelection() && actionContainer.textBuffer.getCaretOffsets().length > 1;
+    }
+
+    /**
+     * @param actionContainer
+     * @param moreCount         Current "more" count, starting w/ 1. If non-more shift: null
+     * @param amountSteps       Amount of consecutive shifts of words at carets, to be done at once
+     */
+    static void shiftAtCaretsInDocument(final ActionContainer actionContainer, @Nullable final Integer moreCount, final int amountSteps) {
+        final TextBuffer textBuffer = actionContainer.textBuffer;
+
+        // Text isn't modified during detection: it is blocked until all carets are processed
+        List<TextReplacement> replacements = Arrays.stream(textBuffer.getCaretOffsets())
+                .parallel()
+                .mapToObj(caretOffset -> {
+                    CaretTextBuffer caretTextBuffer = new CaretTextBuffer(textBuffer, caretOffset);
+                    ShiftableDocument.shiftInDocument(actionContainer.withTextBuffer(caretTextBuffer), moreCount, amountSteps);
+
+                    return caretTextBuffer.getReplacement();
+                })
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparingInt(replacement -> replacement.startOffset))
+                .collect(Collectors.toList());
+
+        final List<TextReplacement> replacementsApplicable = getNonOverlapping(replacements);
+        if (replacementsApplicable.isEmpty()) {
+            return;
+        }
+
+        actionContainer.writeUndoable(() -> textBuffer.replaceStrings(replacementsApplicable));
+    }
+
+    /**
+     * @param  replacements     Replacements in ascending order of offsets
+     * @return List             Given replacements w/o those overlapping a preceding one (e.g. multiple carets in one line)
+     */
+    @NotNull
+    private static List<TextReplacement> getNonOverlapping(List<TextReplacement> replacements) {
+        List<TextReplacement> nonOverlapping = new ArrayList<>();
+        TextReplacement previous = null;
+        for (TextReplacement replacement : replacements) {
+            if (null == previous || !replacement.isOverlapping(previous)) {
+                nonOverlapping.add(replacement);
+                previous = replacement;
+            }
+        }
+
+        return nonOverlapping;
+    }
+}
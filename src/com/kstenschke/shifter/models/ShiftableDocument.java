@@ -0,0 +1,91 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Entry point of shifting: finds the shiftable string (selection block/lines/regular, word at caret, line at caret)
+ * and replaces it by its shifted value. Works on the text buffer of the given container, w/ or w/o IDE.
+ */
+public class ShiftableDocument {
+
+    /**
+     * @param actionContainer
+     * @param moreCount         Current "more" count, starting w/ 1. If non-more shift: null
+     */
+    public static void shiftInDocument(final ActionContainer actionContainer, @Nullable Integer moreCount) {
+        shiftInDocument(actionContainer, moreCount, 1);
+    }
+
+    /**
+     * Shift "more": the result of the given amount of consecutive shifts is calculated at once,
+     * and written in a single undoable step
+     *
+     * @param actionContainer
+     * @param amountSteps       Amount of consecutive shifts ("more" size)
+     */
+    public static void shiftMoreInDocument(final ActionContainer actionContainer, int amountSteps) {
+        if (null == actionContainer.textBuffer) {
+            return;
+        }
+        if (isBlockSelection(actionContainer)) {
+            // Shift of block selection: is not iterated, but run w/ higher value
+            ShiftableBlockSelection.shiftBlockSelectionInDocument(actionContainer, amountSteps);
+            return;
+        }
+
+        shiftInDocument(actionContainer, 1, amountSteps);
+    }
+
+    /**
+     * @param actionContainer
+     * @param moreCount         Current "more" count, starting w/ 1. If non-more shift: null
+     * @param amountSteps       Amount of consecutive shifts of word at caret, to be done at once
+     */
+    static void shiftInDocument(final ActionContainer actionContainer, @Nullable Integer moreCount, int amountSteps) {
+        if (null == actionContainer.textBuffer) {
+            return;
+        }
+        if (actionContainer.hasSelection()) {
+            if (isBlockSelection(actionContainer)) {
+                // Shift block selection: do word-shifting if all items are identical
+                ShiftableBlockSelection.shiftBlockSelectionInDocument(actionContainer, moreCount);
+                return;
+            }
+            // Shift regular selection: sort CSV or multi-line selection: sort lines alphabetically, etc.
+            ShiftableSelection.shiftSelectionInDocument(actionContainer, moreCount);
+            return;
+        }
+
+        if (ShiftableCarets.isMultiCaret(actionContainer)) {
+            ShiftableCarets.shiftAtCaretsInDocument(actionContainer, moreCount, amountSteps);
+            return;
+        }
+
+        // Try shift word at caret, fallback: try shifting caret line
+        if (!ShiftableWord.shiftWordAtCaretInDocument(actionContainer, moreCount, amountSteps)) {
+            // Word at caret wasn't identified/shifted, try shifting the whole caret line
+            ShiftableLine.shiftLineInDocument(actionContainer, moreCount);
+        }
+    }
+
+    private static boolean isBlockSelection(final ActionContainer actionContainer) {
+        return actionContainer.hasSelection()
+            && null != actionContainer.selectionModel
+            && actionContainer.selectionModel.getBlockSelectionStarts().length > 1;
+    }
+}
@@ -19,6 +19,7 @@ import com.kstenschke.shifter.models.shiftable_types.JsDoc;
 import com.kstenschke.shifter.models.shiftable_types.PhpDocParam;
 import com.kstenschke.shifter.models.shiftable_types.HtmlEncodable;
 import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsRegex;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -50,61 +51,92 @@ public class ShiftableLine {
      * @return String       Next upper/lower word
      */
     private String getShifted(@Nullable final Integer moreCount) {
-        if (UtilsFile.isPhpFile(actionContainer.filename) && PhpDocParam.isPhpDocParamLine(actionContainer.caretLine) && !PhpDocParam.containsDataType(actionContainer.caretLine) && PhpDocParam.containsVariableName(actionContainer.caretLine)) {
+        if (UtilsFile.isPhpFile(actionContainer.getFilename()) && PhpDocParam.isPhpDocParamLine(actionContainer.getCaretLine()) && !PhpDocParam.containsDataType(actionContainer.getCaretLine()) && PhpDocParam.containsVariableName(actionContainer.getCaretLine())) {
             // Caret-line is a PHP doc @param w/o data type: guess and insert one by the variable name
-            String shiftedLine = PhpDocParam.getShifted(actionContainer.caretLine);
-            if (!shiftedLine.equals(actionContainer.caretLine)) {
+            String shiftedLine = PhpDocParam.getShifted(actionContainer.getCaretLine());
+            if (!shiftedLine.equals(actionContainer.getCaretLine())) {
                 return shiftedLine;
             }
         }
 
-        if (   UtilsFile.isJavaScriptFile(actionContainer.filename, true)
-            && (JsDoc.isAtParamLine(actionContainer.caretLine) || JsDoc.isAtTypeLine(actionContainer.caretLine) || JsDoc.isAtReturnsLine(actionContainer.caretLine, true))
+        if (   UtilsFile.isJavaScriptFile(actionContainer.getFilename(), true)
+            && (JsDoc.isAtParamLine(actionContainer.getCaretLine()) || JsDoc.isAtTypeLine(actionContainer.getCaretLine()) || JsDoc.isAtReturnsLine(actionContainer.getCaretLine(), true))
         ) {
-            String shiftedLine = JsDoc.correctAtKeywordLine(actionContainer.caretLine);
-            if (!shiftedLine.equals(actionContainer.caretLine)) {
+            String shiftedLine = JsDoc.correctAtKeywordLine(actionContainer.getCaretLine());
+            if (!shiftedLine.equals(actionContainer.getCaretLine())) {
                 return shiftedLine;
             }
         }
 
-        String[] words = actionContainer.caretLine.trim().split("\\s+");
-
-        // Check all words for shiftable shiftable_types - shiftable if there's not more than one
-        int amountShiftableWordsInSentence = 0;
-        String wordShiftedTest;
-        String wordUnshifted = "";
-        String wordShifted   = "";
-        String prefixChar    = "";
-        String postfixChar   = "";
-
-        for (String word : words) {
-            if (word.length() > 2) {
-                // Check if word is a hex RGB color including the #-prefix
-                if (word.startsWith("#")) {
-                    prefixChar = "#";
-                    word = word.substring(1);
-                }
-
-                wordShiftedTest = new ShiftableWord(actionContainer, word, prefixChar, postfixChar, moreCount).getShifted();
-                if (null != wordShiftedTest && !wordShiftedTest.equals(word)) {
-                    amountShiftableWordsInSentence++;
-                    wordUnshifted = word;
-                    wordShifted = wordShiftedTest;
-                }
-            }
-        }
-
-        if (1 == amountShiftableWordsInSentence) {
-            // Shift detected word in lLine
-            String line = actionContainer.caretLine;
-            return line.replace(wordUnshifted, wordShifted);
+        String lineShifted = getShiftedBySingleShiftableToken(actionContainer.getCaretLine(), moreCount);
+        if (null != lineShifted) {
+            return lineShifted;
         }
 
-        return HtmlEncodable.isHtmlEncodable(actionContainer.caretLine)
+        return HtmlEncodable.isHtmlEncodable(actionContainer.getCaretLine())
             // Encode or decode contained HTML special chars
-            ? HtmlEncodable.getShifted(actionContainer.caretLine)
+            ? HtmlEncodable.getShifted(actionContainer.getCaretLine())
             // No shift-ability detected, return original line
-            : actionContainer.caretLine;
+            : actionContainer.getCaretLine();
+    }
+
+    /**
+     * Tokenize the line in one pass (tokens: runs of non-whitespace, longer than 2 characters) and detect the tokens'
+     * types w/ one shared types manager. Only tokens of a detected type are shifted (to verify they change),
+     * tokenizing stops at the second shiftable token.
+     *
+     * @param  line
+     * @param  moreCount    Current counter while iterating multi-shift
+     * @return String       Line w/ its only shiftable token shifted, or null if it contains none or multiple
+     */
+    @Nullable
+    private String getShiftedBySingleShiftableToken(String line, @Nullable final Integer moreCount) {
+        ShiftableTypesManager shiftableTypesManager = new ShiftableTypesManager();
+
+        String wordShifted  = null;
+        int offsetWordStart = 0;
+        int offsetWordEnd   = 0;
+
+        int length = line.length();
+        int offset = 0;
+        while (offset < length) {
+            while (offset < length && UtilsRegex.isWhitespace(line.charAt(offset))) {
+                offset++;
+            }
+            int offsetTokenStart = offset;
+            while (offset < length && !UtilsRegex.isWhitespace(line.charAt(offset))) {
+                offset++;
+            }
+            if (offset - offsetTokenStart <= 2) {
+                continue;
+            }
+
+            // Check if word is a hex RGB color including the #-prefix
+            boolean hasHashPrefix = '#' == line.charAt(offsetTokenStart);
+            int offsetStart       = hasHashPrefix ? offsetTokenStart + 1 : offsetTokenStart;
+            String word           = line.substring(offsetStart, offset);
+
+            ShiftableWord shiftableWord = new ShiftableWord(
+                    actionContainer, shiftableTypesManager, word, hasHashPrefix ? "#" : "", "", moreCount, 1);
+            if (!shiftableWord.isShiftable()) {
+                continue;
+            }
+            String wordShiftedTest = shiftableWord.getShifted();
+            if (null == wordShiftedTest || wordShiftedTest.equals(word)) {
+                continue;
+            }
+            if (null != wordShifted) {
+                // Multiple shiftable words: shifting the line by a word would be ambiguous
+                return null;
+            }
+            wordShifted     = wordShiftedTest;
+            offsetWordStart = offsetStart;
+            offsetWordEnd   = offset;
+        }
+
+        return null == wordShifted
+                ? null
+                : line.substring(0, offsetWordStart) + wordShifted + line.substring(offsetWordEnd);
     }
 
     /**
@@ -112,6 +144,9 @@ public class ShiftableLine {
      * @param moreCount       Current "more" count, starting w/ 1. If non-more shift: null
      */
     public static void shiftLineInDocument(final ActionContainer actionContainer, @Nullable Integer moreCount) {
+        if (null != actionContainer.timing) {
+            actionContainer.timing.setInputLength(actionContainer.getCaretLine().length());
+        }
         ShiftableLine shiftableShiftableLine = new ShiftableLine(actionContainer);
 
         // Replace line by shifted one
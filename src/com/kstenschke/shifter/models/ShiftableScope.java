@@ -0,0 +1,281 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.command.UndoConfirmationPolicy;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.ReadonlyStatusHandler;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.StatusBar;
+import com.intellij.openapi.wm.WindowManager;
+import com.kstenschke.shifter.batch.BatchShifter;
+import com.kstenschke.shifter.batch.BatchTransformation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shift in scope: apply a whole-file transformation (see BatchTransformation) to all project files under the given
+ * files / directories. Files are transformed in parallel on background threads, w/ progress and cancellation.
+ * The documents are modified afterwards in one global undoable command.
+ */
+public class ShiftableScope {
+
+    public static final String ACTION_TEXT = "Shift in Scope";
+
+    /**
+     * Text of a document, taken at the given modification stamp
+     */
+    private static class DocumentSnapshot {
+        final Document document;
+        final CharSequence text;
+        final long modificationStamp;
+
+        DocumentSnapshot(Document document) {
+            this.document     = document;
+            text              = document.getImmutableCharSequence();
+            modificationStamp = document.getModificationStamp();
+        }
+    }
+
+    /**
+     * Document and the replacements of its transformation, computed at the given modification stamp
+     */
+    static class ShiftedDocument {
+        final VirtualFile file;
+        final Document document;
+        final long modificationStamp;
+        final List<TextReplacement> replacements;
+
+        ShiftedDocument(VirtualFile file, Document document, long modificationStamp, List<TextReplacement> replacements) {
+            this.file              = file;
+            this.document          = document;
+            this.modificationStamp = modificationStamp;
+            this.replacements      = replacements;
+        }
+
+        /**
+         * @return boolean  Was the document modified? Not if it's read-only or has been modified since the computation
+         */
+        boolean write() {
+            if (!file.isValid() || !document.isWritable() || document.getModificationStamp() != modificationStamp) {
+                return false;
+            }
+            EditorTextBuffer.replaceStrings(document, replacements, true);
+            return true;
+        }
+    }
+
+    private final Project project;
+    private final BatchTransformation transformation;
+    private final String actionText;
+
+    private int amountFiles = 0;
+    private int amountWritten = 0;
+
+    private ShiftableScope(@NotNull Project project, @NotNull BatchTransformation transformation) {
+        this.project        = project;
+        this.transformation = transformation;
+        actionText          = ACTION_TEXT + ": " + transformation.getText();
+    }
+
+    /**
+     * @param project
+     * @param roots             Files and directories to shift all (project content) files in
+     * @param transformation
+     */
+    public static void shiftInScope(@NotNull Project project, @NotNull VirtualFile[] roots, @NotNull BatchTransformation transformation) {
+        new ShiftableScope(project, transformation).shift(roots);
+    }
+
+    private void shift(@NotNull final VirtualFile[] roots) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, actionText, true) {
+            private final ConcurrentLinkedQueue<ShiftedDocument> shiftedDocuments = new ConcurrentLinkedQueue<>();
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                indicator.setText("Collecting files...");
+                final List<VirtualFile> files = collectFiles(roots, indicator);
+                amountFiles = files.size();
+
+                indicator.setIndeterminate(false);
+                indicator.setText("Shifting " + amountFiles + " files...");
+                final AtomicInteger amountDone = new AtomicInteger();
+                // Throws ProcessCanceledException when cancelled: nothing is written then
+                JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, file -> {
+                    indicator.setText2(file.getPresentableUrl());
+                    ShiftedDocument shiftedDocument = getShiftedDocument(file, indicator);
+                    if (null != shiftedDocument) {
+                        shiftedDocuments.add(shiftedDocument);
+                    }
+                    indicator.setFraction((double) amountDone.incrementAndGet() / amountFiles);
+                    return true;
+                });
+            }
+
+            @Override
+            public void onSuccess() {
+                List<ShiftedDocument> documents = new ArrayList<>(shiftedDocuments);
+                documents.sort(Comparator.comparing(shiftedDocument -> shiftedDocument.file.getPath()));
+                write(documents);
+            }
+        });
+    }
+
+    /**
+     * Walk the given roots w/ a short read action per directory, so modifications are not blocked meanwhile
+     *
+     * @param  roots
+     * @param  indicator
+     * @return List<VirtualFile>    Project content files under the given roots, which the transformation applies to
+     */
+    @NotNull
+    private List<VirtualFile> collectFiles(@NotNull VirtualFile[] roots, @NotNull final ProgressIndicator indicator) {
+        final Set<VirtualFile> files     = new LinkedHashSet<>();
+        final ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+        final Deque<VirtualFile> queue   = new ArrayDeque<>();
+        for (VirtualFile root : roots) {
+            queue.add(root);
+        }
+
+        while (!queue.isEmpty()) {
+            indicator.checkCanceled();
+            final VirtualFile file = queue.poll();
+            ApplicationManager.getApplication().runReadAction(() -> {
+                if (!file.isValid() || !fileIndex.isInContent(file)) {
+                    return;
+                }
+                if (!file.isDirectory()) {
+                    if (isShiftable(file)) {
+                        files.add(file);
+                    }
+                    return;
+                }
+                for (VirtualFile child : file.getChildren()) {
+                    queue.add(child);
+                }
+            });
+        }
+
+        return new ArrayList<>(files);
+    }
+
+    private boolean isShiftable(@NotNull VirtualFile file) {
+        return transformation.isApplicableTo(file.getName())
+            && !file.getFileType().isBinary()
+            && file.getLength() <= BatchShifter.DEFAULT_MAX_FILE_SIZE;
+    }
+
+    /**
+     * Transform the document of the given file. Only its immutable snapshot is taken under a read action,
+     * transforming and diffing need no lock, so they never block modifications
+     *
+     * @param  file
+     * @param  indicator
+     * @return ShiftedDocument  Null if the transformation changes nothing
+     */
+    @Nullable
+    private ShiftedDocument getShiftedDocument(@NotNull final VirtualFile file, @NotNull ProgressIndicator indicator) {
+        DocumentSnapshot snapshot = ApplicationManager.getApplication().runReadAction((Computable<DocumentSnapshot>) () -> {
+            if (!file.isValid()) {
+                return null;
+            }
+            Document document = FileDocumentManager.getInstance().getDocument(file);
+
+            return null == document ? null : new DocumentSnapshot(document);
+        });
+        if (null == snapshot) {
+            return null;
+        }
+        indicator.checkCanceled();
+
+        String text    = snapshot.text.toString();
+        String shifted = transformation.apply(text, file.getName());
+        if (shifted.equals(text)) {
+            return null;
+        }
+        indicator.checkCanceled();
+
+        return new ShiftedDocument(file, snapshot.document, snapshot.modificationStamp, new LinesDiff(text, shifted).getReplacements(0));
+    }
+
+    /**
+     * Modify the given documents in one command, marked as global: undone at once, from any editor.
+     * The write action shows its progress, each document is modified in bulk mode.
+     *
+     * @param shiftedDocuments
+     */
+    private void write(@NotNull final List<ShiftedDocument> shiftedDocuments) {
+        if (shiftedDocuments.isEmpty()) {
+            showStatus();
+            return;
+        }
+
+        // Let version control make read-only files writable, if configured so
+        List<VirtualFile> files = new ArrayList<>();
+        for (ShiftedDocument shiftedDocument : shiftedDocuments) {
+            files.add(shiftedDocument.file);
+        }
+        ReadonlyStatusHandler.getInstance(project).ensureFilesWritable(files);
+
+        CommandProcessor.getInstance().executeCommand(project, () -> {
+            CommandProcessor.getInstance().markCurrentCommandAsGlobal(project);
+            ApplicationManagerEx.getApplicationEx().runWriteActionWithNonCancellableProgressInDispatchThread(
+                    actionText, project, null, indicator -> {
+                indicator.setIndeterminate(false);
+                for (int i = 0; i < shiftedDocuments.size(); i++) {
+                    ShiftedDocument shiftedDocument = shiftedDocuments.get(i);
+                    indicator.setText2(shiftedDocument.file.getPresentableUrl());
+                    indicator.setFraction((double) i / shiftedDocuments.size());
+                    if (shiftedDocument.write()) {
+                        amountWritten++;
+                    }
+                }
+            });
+        }, actionText, null, UndoConfirmationPolicy.REQUEST_CONFIRMATION);
+
+        showStatus();
+    }
+
+    private void showStatus() {
+        StatusBar statusBar = WindowManager.getInstance().getStatusBar(project);
+        if (null != statusBar) {
+            statusBar.setInfo(actionText + ": " + amountWritten + " of " + amountFiles + " files modified");
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
 
@@ -34,44 +35,48 @@ public class ShiftableSelection {
     private static final String ACTION_TEXT_SWAP_SLASHES     = "Swap Slashes";
     private static final String ACTION_TEXT_SWAP_WORDS_ORDER = "Swap Words Order";
     private static final String ACTION_TEXT_SWAP_QUOTES      = "Swap Quotes";
+    private static final String ACTION_TEXT_SORT_LINES       = "Sorting Lines";
+
+    // Sorting selections of at least this amount of lines is done in the background
+    private static final int MIN_LINES_SORT_IN_BACKGROUND = 20000;
 
     /**
      * @param actionContainer
      * @param moreCount     Current "more" count, starting w/ 1. If non-more shift: null
      */
     public static void shiftSelectionInDocument(final ActionContainer actionContainer, @Nullable Integer moreCount) {
-        if (null == actionContainer.selectedText || actionContainer.selectedText.trim().isEmpty()) {
+        if (null == actionContainer.getSelectedText() || actionContainer.getSelectedText().trim().isEmpty()) {
             return;
         }
 
-        boolean isPhpFile = UtilsFile.isPhpFile(actionContainer.filename);
+        boolean isPhpFile = UtilsFile.isPhpFile(actionContainer.getFilename());
         if (isPhpFile && PhpDocParam.shiftSelectedPhpDocInDocument(actionContainer)) {
             // Detect and shift whole PHPDoc block or single line out of it, that contains @param caretLine(s) w/o data type
             return;
         }
-        if (UtilsFile.isJavaScriptFile(actionContainer.filename, true) &&
-            JsDoc.isJsDocBlock(actionContainer.selectedText) &&
+        if (UtilsFile.isJavaScriptFile(actionContainer.getFilename(), true) &&
+            JsDoc.isJsDocBlock(actionContainer.getSelectedText()) &&
             JsDoc.correctDocBlockInDocument(actionContainer)) {
             return;
         }
 
         // Shift selected comment: Must be before multi-line sort to allow multi-caretLine comment shifting
-        if (Comment.isComment(actionContainer.selectedText)) {
+        if (Comment.isComment(actionContainer.getSelectedText())) {
             shiftSelectedCommentInDocument(actionContainer);
             return;
         }
 
         final XmlAttributes xmlAttributes = new XmlAttributes(actionContainer);
-        if (xmlAttributes.isXmlAttributes(actionContainer.selectedText)) {
+        if (xmlAttributes.isXmlAttributes(actionContainer.getSelectedText())) {
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(
                             xmlAttributes.getShifted(
-                                    actionContainer.selectedText, true)),
+                                    actionContainer.getSelectedText(), true)),
                     XmlAttributes.ACTION_TEXT);
             return;
         }
 
-        boolean isWrappedInParenthesis = Parenthesis.isWrappedInParenthesis(actionContainer.selectedText);
+        boolean isWrappedInParenthesis = Parenthesis.isWrappedInParenthesis(actionContainer.getSelectedText());
 
         ShiftableTypesManager shiftableTypesManager = new ShiftableTypesManager();
         ShiftableTypes.Type wordType = shiftableTypesManager.getWordType(actionContainer);
@@ -80,11 +85,11 @@ public class ShiftableSelection {
 
         if (isWrappedInParenthesis) {
             boolean isShiftablePhpArray = isPhpVariableOrArray &&
-                                          PhpVariableOrArray.isStaticShiftablePhpArray(actionContainer.selectedText);
+                                          shiftableTypesManager.getTypePhpVariableOrArray().isShiftableArray();
             if (!isPhpVariableOrArray || !isShiftablePhpArray) {
                 // Swap surrounding "(" and ")" versus "[" and "]"
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(Parenthesis.getShifted(actionContainer.selectedText)),
+                        actionContainer.getRunnableReplaceSelection(Parenthesis.getShifted(actionContainer.getSelectedText())),
                         Parenthesis.ACTION_TEXT);
                 return;
             }
@@ -94,12 +99,12 @@ public class ShiftableSelection {
         }
 
         boolean isJsVarsDeclarations    = !isPhpVariableOrArray && JS_VARIABLES_DECLARATIONS == wordType;
-        boolean containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.selectedText);
-        boolean isMultiLine             = UtilsTextual.isMultiLine(actionContainer.selectedText);
+        boolean containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.getSelectedText());
+        boolean isMultiLine             = UtilsTextual.isMultiLine(actionContainer.getSelectedText());
 
-        if (UtilsFile.isCssFile(actionContainer.filename) && isMultiLine) {
+        if (UtilsFile.isCssFile(actionContainer.getFilename()) && isMultiLine) {
             // CSS: Sort attributes per selector alphabetically
-            final String shifted = Css.getShifted(actionContainer.selectedText);
+            final String shifted = Css.getShifted(actionContainer.getSelectedText());
             if (null != shifted) {
                 actionContainer.writeUndoable(
                         actionContainer.getRunnableReplaceSelection(shifted, true),
@@ -108,17 +113,17 @@ public class ShiftableSelection {
             }
         }
 
-        int lineNumberSelStart = actionContainer.document.getLineNumber(actionContainer.offsetSelectionStart);
-        int lineNumberSelEnd   = actionContainer.document.getLineNumber(actionContainer.offsetSelectionEnd);
+        int lineNumberSelStart = actionContainer.textBuffer.getLineNumber(actionContainer.offsetSelectionStart);
+        int lineNumberSelEnd   = actionContainer.textBuffer.getLineNumber(actionContainer.offsetSelectionEnd);
 
-        if (actionContainer.document.getLineStartOffset(lineNumberSelEnd) == actionContainer.offsetSelectionEnd) {
+        if (actionContainer.textBuffer.getLineStartOffset(lineNumberSelEnd) == actionContainer.offsetSelectionEnd) {
             lineNumberSelEnd--;
         }
 
-        if (TernaryExpression.isTernaryExpression(actionContainer.selectedText, "")) {
+        if (TernaryExpression.isTernaryExpression(actionContainer.getSelectedText(), "")) {
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(
-                            TernaryExpression.getShifted(actionContainer.selectedText),
+                            TernaryExpression.getShifted(actionContainer.getSelectedText()),
                             true),
                     TernaryExpression.ACTION_TEXT);
             return;
@@ -130,25 +135,25 @@ public class ShiftableSelection {
         }
         if (isJsVarsDeclarations) {
             actionContainer.writeUndoable(
-                    actionContainer.getRunnableReplaceSelection(JsVariablesDeclarations.getShifted(actionContainer.selectedText)),
+                    actionContainer.getRunnableReplaceSelection(JsVariablesDeclarations.getShifted(actionContainer.getSelectedText())),
                     JsVariablesDeclarations.ACTION_TEXT);
             return;
         }
-        if (JqueryObserver.isJQueryObserver(actionContainer.selectedText)) {
+        if (JqueryObserver.isJQueryObserver(actionContainer.getSelectedText())) {
             actionContainer.writeUndoable(
-                    actionContainer.getRunnableReplaceSelection(JqueryObserver.getShifted(actionContainer.selectedText)),
+                    actionContainer.getRunnableReplaceSelection(JqueryObserver.getShifted(actionContainer.getSelectedText())),
                     JqueryObserver.ACTION_TEXT);
             return;
         }
         if (!isPhpVariableOrArray && SIZZLE_SELECTOR == wordType) {
             actionContainer.writeUndoable(
-                    actionContainer.getRunnableReplaceSelection(SizzleSelector.getShifted(actionContainer.selectedText, actionContainer)),
+                    actionContainer.getRunnableReplaceSelection(SizzleSelector.getShifted(actionContainer.getSelectedText(), actionContainer)),
                     SizzleSelector.ACTION_TEXT);
             return;
         }
         if (TRAILING_COMMENT == wordType) {
-            final int offsetStartCaretLine = actionContainer.document.getLineStartOffset(lineNumberSelStart);
-            final int offsetEndCaretLine   = actionContainer.document.getLineEndOffset(lineNumberSelStart);
+            final int offsetStartCaretLine = actionContainer.textBuffer.getLineStartOffset(lineNumberSelStart);
+            final int offsetEndCaretLine   = actionContainer.textBuffer.getLineEndOffset(lineNumberSelStart);
             final String leadWhitespace    = UtilsTextual.getLeadWhitespace(
                 actionContainer.editorText.subSequence(offsetStartCaretLine, offsetEndCaretLine).toString());
             final String caretLine         = actionContainer.editorText.subSequence(offsetStartCaretLine, offsetEndCaretLine).toString();
@@ -163,9 +168,9 @@ public class ShiftableSelection {
             if (isPhpFile && shiftSelectionInPhpDocument(actionContainer)) {
                 return;
             }
-            boolean isJsConcatenationInTypeScript = "ts".equals(actionContainer.fileExtension) &&
-                    JsConcatenation.isJsConcatenation(actionContainer.selectedText);
-            if (SeparatedList.isSeparatedList(actionContainer.selectedText,",")) {
+            boolean isJsConcatenationInTypeScript = "ts".equals(actionContainer.getFileExtension()) &&
+                    JsConcatenation.isJsConcatenation(actionContainer.getSelectedText());
+            if (SeparatedList.isSeparatedList(actionContainer.getSelectedText(),",")) {
                 // Comma-separated list: sort / ask whether to sort or toggle quotes
                 new ShiftableSelectionWithPopup(actionContainer).sortListOrSwapQuotesOrInterpolateTypeScriptInDocument(
                         ",(\\s)*",
@@ -175,9 +180,9 @@ public class ShiftableSelection {
                 return;
             }
             final LogicalConjunction logicalConjunction = new LogicalConjunction();
-            boolean isLogicalConjunction = logicalConjunction.isLogicalConjunction(actionContainer.selectedText);
+            boolean isLogicalConjunction = logicalConjunction.isLogicalConjunction(actionContainer.getSelectedText());
             if ( (!isLogicalConjunction || !logicalConjunction.isOrLogic)
-                 && SeparatedList.isSeparatedList(actionContainer.selectedText,"|")
+                 && SeparatedList.isSeparatedList(actionContainer.getSelectedText(),"|")
             ) {
                 // Pipe-separated list (not confused w/ || of logical conjunctions)
                 new ShiftableSelectionWithPopup(actionContainer).sortListOrSwapQuotesOrInterpolateTypeScriptInDocument(
@@ -195,34 +200,34 @@ public class ShiftableSelection {
                 } else {
                     // @todo add popup: toggle order or convert to interpolation
                     actionContainer.writeUndoable(
-                            actionContainer.getRunnableReplaceSelection(new JsConcatenation().getShifted(actionContainer.selectedText)),
+                            actionContainer.getRunnableReplaceSelection(new JsConcatenation().getShifted(actionContainer.getSelectedText())),
                             JsConcatenation.ACTION_TEXT);
                     return;
                 }
             }
             if (containsShiftableQuotes) {
-                if (!QuotedString.containsEscapedQuotes(actionContainer.selectedText)) {
+                if (!QuotedString.containsEscapedQuotes(actionContainer.getSelectedText())) {
                     actionContainer.writeUndoable(
-                            actionContainer.getRunnableReplaceSelection(UtilsTextual.swapQuotes(actionContainer.selectedText)),
+                            actionContainer.getRunnableReplaceSelection(UtilsTextual.swapQuotes(actionContainer.getSelectedText())),
                             ACTION_TEXT_SWAP_QUOTES);
                     return;
                 }
                 new ShiftableSelectionWithPopup(actionContainer).shiftQuotesInDocument();
                 return;
             }
-            if (CamelCaseString.isCamelCase(actionContainer.selectedText)) {
+            if (CamelCaseString.isCamelCase(actionContainer.getSelectedText())) {
                 new ShiftableSelectionWithPopup(actionContainer).shiftCamelCase(
-                        CamelCaseString.isWordPair(actionContainer.selectedText));
+                        CamelCaseString.isWordPair(actionContainer.getSelectedText()));
                 return;
             }
-            if (SeparatedPath.isSeparatedPath(actionContainer.selectedText) && SeparatedPath.isWordPair(actionContainer.selectedText)) {
+            if (SeparatedPath.isSeparatedPath(actionContainer.getSelectedText()) && SeparatedPath.isWordPair(actionContainer.getSelectedText())) {
                 new ShiftableSelectionWithPopup(actionContainer).shiftSeparatedPathOrSwapWords();
                 return;
             }
 
             final Tupel wordsTupel = new Tupel(actionContainer);
-            if (wordsTupel.isWordsTupel(actionContainer.selectedText)) {
-                final String replacement = wordsTupel.getShifted(actionContainer.selectedText, false);
+            if (wordsTupel.isWordsTupel(actionContainer.getSelectedText())) {
+                final String replacement = wordsTupel.getShifted(actionContainer.getSelectedText(), false);
                 if (!replacement.isEmpty()) {
                     /* If there is a selection, and it is a words tupel and at the same time a dictionary term,
                      * an intention popup is opened to chose whether to 1. Swap words order or 2. Shift dictionaric
@@ -233,36 +238,42 @@ public class ShiftableSelection {
 
                 return;
             }
-            if (UtilsTextual.containsSlashes(actionContainer.selectedText)) {
-                if (QuotedString.containsEscapedQuotes(actionContainer.selectedText)) {
+            if (UtilsTextual.containsSlashes(actionContainer.getSelectedText())) {
+                if (QuotedString.containsEscapedQuotes(actionContainer.getSelectedText())) {
                     new ShiftableSelectionWithPopup(actionContainer).swapSlashesOrUnescapeQuotes();
                     return;
                 }
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(UtilsTextual.swapSlashes(actionContainer.selectedText)),
+                        actionContainer.getRunnableReplaceSelection(UtilsTextual.swapSlashes(actionContainer.getSelectedText())),
                         ACTION_TEXT_SWAP_SLASHES);
                 return;
             }
-            if (LogicalOperator.isLogicalOperator(actionContainer.selectedText)) {
+            if (LogicalOperator.isLogicalOperator(actionContainer.getSelectedText())) {
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(LogicalOperator.getShifted(actionContainer.selectedText)),
+                        actionContainer.getRunnableReplaceSelection(LogicalOperator.getShifted(actionContainer.getSelectedText())),
                         LogicalOperator.ACTION_TEXT);
                 return;
             }
             if (isLogicalConjunction) {
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(logicalConjunction.getShifted(actionContainer.selectedText)),
+                        actionContainer.getRunnableReplaceSelection(logicalConjunction.getShifted(actionContainer.getSelectedText())),
                         LogicalConjunction.ACTION_TEXT);
                 return;
             }
-            if (HtmlEncodable.isHtmlEncodable(actionContainer.selectedText)) {
+            if (HtmlEncodable.isHtmlEncodable(actionContainer.getSelectedText())) {
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(HtmlEncodable.getShifted(actionContainer.selectedText)),
+                        actionContainer.getRunnableReplaceSelection(HtmlEncodable.getShifted(actionContainer.getSelectedText())),
                         HtmlEncodable.ACTION_TEXT);
                 return;
             }
         }
 
+        if (isPhpVariableOrArray && shiftableTypesManager.getTypePhpVariableOrArray().isShiftableLongSyntaxArray()) {
+            // Convert PHP array to short syntax, optionally incl. nested arrays
+            new ShiftableSelectionWithPopup(actionContainer).convertPhpArrayToShortSyntax();
+            return;
+        }
+
         actionContainer.trimSelectedText();
         final String shiftedWord = shiftableTypesManager.getShiftedWord(actionContainer, moreCount);
         if (isPhpVariableOrArray) {
@@ -272,15 +283,15 @@ public class ShiftableSelection {
                     shiftableTypesManager.getActionText());
             return;
         }
-        if (UtilsTextual.isAllUppercase(actionContainer.selectedText)) {
+        if (UtilsTextual.isAllUppercase(actionContainer.getSelectedText())) {
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(
                         actionContainer.whiteSpaceLHSinSelection + shiftedWord.toUpperCase() + actionContainer.whiteSpaceRHSinSelection),
                     ACTION_TEXT_SHIFT_SELECTION);
             return;
         }
-        if (UtilsTextual.isUpperCamelCase(actionContainer.selectedText) ||
-            UtilsTextual.isUcFirstRestLower(actionContainer.selectedText)) {
+        if (UtilsTextual.isUpperCamelCase(actionContainer.getSelectedText()) ||
+            UtilsTextual.isUcFirstRestLower(actionContainer.getSelectedText())) {
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(
                         actionContainer.whiteSpaceLHSinSelection + UtilsTextual.toUcFirstRestLower(shiftedWord) + actionContainer.whiteSpaceRHSinSelection),
@@ -295,7 +306,7 @@ public class ShiftableSelection {
     }
 
     private static boolean shiftSelectionInPhpDocument(final ActionContainer actionContainer) {
-        final PhpConcatenation phpConcatenation = new PhpConcatenation(actionContainer.selectedText);
+        final PhpConcatenation phpConcatenation = new PhpConcatenation(actionContainer.getSelectedText());
         if (phpConcatenation.isPhpConcatenation()) {
             actionContainer.writeUndoable(
                     () -> new ShiftableSelectionWithPopup(actionContainer).shiftPhpConcatenationOrSwapQuotesInDocument(phpConcatenation),
@@ -303,13 +314,13 @@ public class ShiftableSelection {
 
             return true;
         }
-        if (Comment.isHtmlComment(actionContainer.selectedText)) {
+        if (Comment.isHtmlComment(actionContainer.getSelectedText())) {
             actionContainer.writeUndoable(
-                    actionContainer.getRunnableReplaceSelection(Comment.getPhpBlockCommentFromHtmlComment(actionContainer.selectedText)),
+                    actionContainer.getRunnableReplaceSelection(Comment.getPhpBlockCommentFromHtmlComment(actionContainer.getSelectedText())),
                     ACTION_TEXT_SHIFT_SELECTION);
             return true;
         }
-        if (Comment.isPhpBlockComment(actionContainer.selectedText)) {
+        if (Comment.isPhpBlockComment(actionContainer.getSelectedText())) {
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(Comment.getShifted(actionContainer)),
                     ACTION_TEXT_SHIFT_SELECTION);
@@ -319,16 +330,16 @@ public class ShiftableSelection {
     }
 
     private static void shiftSelectedCommentInDocument(ActionContainer actionContainer) {
-        if (UtilsTextual.isMultiLine(actionContainer.selectedText)) {
-            if (actionContainer.filename.endsWith("js") && JsDoc.isJsDocBlock(actionContainer.selectedText)) {
+        if (UtilsTextual.isMultiLine(actionContainer.getSelectedText())) {
+            if (actionContainer.getFilename().endsWith("js") && JsDoc.isJsDocBlock(actionContainer.getSelectedText())) {
                 JsDoc.correctDocBlockInDocument(actionContainer);
                 return;
             }
-            if (Comment.isBlockComment(actionContainer.selectedText)) {
+            if (Comment.isBlockComment(actionContainer.getSelectedText())) {
                 Comment.shiftMultiLineBlockCommentInDocument(actionContainer);
                 return;
             }
-            if (Comment.isMultipleSingleLineComments(actionContainer.selectedText)) {
+            if (Comment.isMultipleSingleLineComments(actionContainer.getSelectedText())) {
                 Comment.shiftMultipleSingleLineCommentsInDocument(actionContainer);
                 return;
             }
@@ -346,22 +357,53 @@ public class ShiftableSelection {
      * @param actionContainer
      * @param reverse
      */
-    static void sortLinesInDocument(final ActionContainer actionContainer, boolean reverse) {
-        List<String> lines = UtilsTextual.extractLines(
-            actionContainer.document, actionContainer.lineNumberSelStart, actionContainer.lineNumberSelEnd);
-        UtilsTextual.sortLinesNatural(lines, reverse);
-        String linesString = UtilsTextual.joinLines(lines).toString().trim();
-
-        if (UtilsTextual.hasDuplicateLines(linesString) && JOptionPane.showConfirmDialog(
-                null,
-                StaticTexts.MESSAGE_REDUCE_DUPLICATE_LINES,
-                StaticTexts.TITLE_REDUCE_DUPLICATE_LINES,
-                JOptionPane.OK_CANCEL_OPTION
-        ) == JOptionPane.OK_OPTION)
-        {
-            linesString = UtilsTextual.reduceDuplicateLines(linesString);
+    static void sortLinesInDocument(final ActionContainer actionContainer, final boolean reverse) {
+        final int offsetStart = actionContainer.textBuffer.getLineStartOffset(actionContainer.lineNumberSelStart);
+        final int offsetEnd   = actionContainer.textBuffer.getLineEndOffset(actionContainer.lineNumberSelEnd);
+
+        CancellableComputation<SortedLines> sortLines = (text, checkCanceled) -> {
+            List<String> lines = UtilsTextual.extractLines(text, offsetStart, offsetEnd);
+            checkCanceled.run();
+            UtilsTextual.sortLinesNatural(lines, reverse);
+            checkCanceled.run();
+            String linesString = UtilsTextual.joinLines(lines).toString().trim();
+            checkCanceled.run();
+
+            return new SortedLines(
+                    linesString,
+                    UtilsTextual.hasDuplicateLines(linesString) ? UtilsTextual.reduceDuplicateLines(linesString) : null);
+        };
+        Consumer<SortedLines> replaceSelection = sortedLines -> {
+            String linesString = sortedLines.linesString;
+            if (null != sortedLines.linesStringReduced && JOptionPane.showConfirmDialog(
+                    null,
+                    StaticTexts.MESSAGE_REDUCE_DUPLICATE_LINES,
+                    StaticTexts.TITLE_REDUCE_DUPLICATE_LINES,
+                    JOptionPane.OK_CANCEL_OPTION
+            ) == JOptionPane.OK_OPTION)
+            {
+                linesString = sortedLines.linesStringReduced;
+            }
+
+            actionContainer.writeUndoable(actionContainer.getRunnableReplaceSelection(linesString, true), ACTION_TEXT_SHIFT_SELECTION);
+        };
+
+        if (actionContainer.lineNumberSelEnd - actionContainer.lineNumberSelStart < MIN_LINES_SORT_IN_BACKGROUND) {
+            replaceSelection.accept(sortLines.compute(actionContainer.editorText, () -> {}));
+            return;
         }
+        // Sort large selection off the UI thread, cancellable
+        actionContainer.textBuffer.computeInBackground(ACTION_TEXT_SORT_LINES, sortLines, replaceSelection);
+    }
 
-        actionContainer.writeUndoable(actionContainer.getRunnableReplaceSelection(linesString, true), ACTION_TEXT_SHIFT_SELECTION);
+    private static class SortedLines {
+        final String linesString;
+        // Sorted lines w/o duplicates, null if there are none
+        final String linesStringReduced;
+
+        SortedLines(String linesString, @Nullable String linesStringReduced) {
+            this.linesString        = linesString;
+            this.linesStringReduced = linesStringReduced;
+        }
     }
-}
\ No newline at end of file
+}
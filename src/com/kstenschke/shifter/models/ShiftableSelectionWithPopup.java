@@ -19,7 +19,7 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.CommandProcessor;
 import com.intellij.openapi.ui.popup.PopupChooserBuilder;
 import com.intellij.ui.components.JBList;
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 import com.kstenschke.shifter.models.shiftable_types.*;
 import com.kstenschke.shifter.resources.StaticTexts;
 import com.kstenschke.shifter.utils.UtilsTextual;
@@ -43,20 +43,20 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
     public ShiftableSelectionWithPopup(ActionContainer actionContainer) {
         this.actionContainer = actionContainer;
 
-        containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.selectedText);
-        containsEscapedQuotes   = QuotedString.containsEscapedQuotes(actionContainer.selectedText);
+        containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.getSelectedText());
+        containsEscapedQuotes   = QuotedString.containsEscapedQuotes(actionContainer.getSelectedText());
     }
 
     private void addQuoteShiftingOptions(List<String> shiftOptions) {
-        boolean containsSingleQuotes = actionContainer.selectedText.contains("'");
-        boolean containsDoubleQuotes = actionContainer.selectedText.contains("\"");
+        boolean containsSingleQuotes = actionContainer.getSelectedText().contains("'");
+        boolean containsDoubleQuotes = actionContainer.getSelectedText().contains("\"");
         if (containsSingleQuotes && containsDoubleQuotes) {
             shiftOptions.add(StaticTexts.SHIFT_QUOTES_SWAP);
         }
-        if (containsDoubleQuotes && ShifterPreferences.getIsActiveConvertDoubleQuotes()) {
+        if (containsDoubleQuotes && ShifterSettings.get().isActiveConvertDoubleQuotes) {
             shiftOptions.add(StaticTexts.SHIFT_QUOTES_DOUBLE_TO_SINGLE);
         }
-        if (containsSingleQuotes && ShifterPreferences.getIsActiveConvertSingleQuotes()) {
+        if (containsSingleQuotes && ShifterSettings.get().isActiveConvertSingleQuotes) {
             shiftOptions.add(StaticTexts.SHIFT_QUOTES_SINGLE_TO_DOUBLE);
         }
         if (containsEscapedQuotes) {
@@ -66,7 +66,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
 
     void shiftPhpConcatenationOrSwapQuotesInDocument(final PhpConcatenation phpConcatenation) {
         if (!containsShiftableQuotes) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, phpConcatenation.getShifted());
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, phpConcatenation.getShifted());
             return;
         }
 
@@ -82,7 +82,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             // Sort
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(
-                            SeparatedList.getShifted(actionContainer.selectedText, delimiterSplitPattern, delimiterGlue, isUp)),
+                            SeparatedList.getShifted(actionContainer.getSelectedText(), delimiterSplitPattern, delimiterGlue, isUp)),
                     ACTION_TEXT_SHIFT_SELECTION);
             return;
         }
@@ -92,7 +92,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             shiftOptions.add(StaticTexts.SHIFT_CONVERT_TO_TYPESCRIPT_STRING_INTERPOLATION);
         }
 
-        String items[] = actionContainer.selectedText.split(delimiterSplitPattern);
+        String items[] = actionContainer.getSelectedText().split(delimiterSplitPattern);
         shiftOptions.add(items.length == 2 ? StaticTexts.SHIFT_LIST_ITEMS_SWAP : StaticTexts.SHIFT_LIST_ITEMS_SORT);
 
         addQuoteShiftingOptions(shiftOptions);
@@ -104,7 +104,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
         String delimiterSplitPattern = "\\|(\\s)*";
         List<String> shiftOptions = new ArrayList<>();
 
-        String items[] = actionContainer.selectedText.split(delimiterSplitPattern);
+        String items[] = actionContainer.getSelectedText().split(delimiterSplitPattern);
         shiftOptions.add(StaticTexts.SHIFT_CONVERT_TO_TYPESCRIPT_STRING_INTERPOLATION);
         if (items.length == 2) {
             shiftOptions.add(StaticTexts.SHIFT_LIST_ITEMS_SWAP);
@@ -118,6 +118,15 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
         List<String> shiftOptions = new ArrayList<>();
         shiftOptions.add(StaticTexts.SHIFT_SWAP_PARENTHESIS);
         shiftOptions.add(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX);
+        shiftOptions.add(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX_NESTED);
+
+        shiftSelectionByPopupInDocument(shiftOptions, false,null, null, null);
+    }
+
+    void convertPhpArrayToShortSyntax() {
+        List<String> shiftOptions = new ArrayList<>();
+        shiftOptions.add(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX);
+        shiftOptions.add(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX_NESTED);
 
         shiftSelectionByPopupInDocument(shiftOptions, false,null, null, null);
     }
@@ -208,72 +217,72 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
     ) {
         if (mode.equals(StaticTexts.SHIFT_CONCATENATION_ITEMS_SWAP_ORDER)) {
             assert null != phpConcatenation;
-            actionContainer.document.replaceString(
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
                     phpConcatenation.getShifted());
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_CONVERT_TO_TYPESCRIPT_STRING_INTERPOLATION)) {
-            actionContainer.document.replaceString(
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
-                    new JsConcatenation().getShifted(actionContainer.selectedText));
+                    new JsConcatenation().getShifted(actionContainer.getSelectedText()));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_UNESCAPE_QUOTES)) {
-            String text = actionContainer.selectedText
+            String text = actionContainer.getSelectedText()
                     .replace("\\\'", "'")
                     .replace("\\\"", "\"");
-            actionContainer.document.replaceString(
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
                     text);
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_CAMEL_WORDS_SWAP_ORDER)) {
-            actionContainer.document.replaceString(
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
-                    CamelCaseString.flipWordPairOrder(actionContainer.selectedText));
+                    CamelCaseString.flipWordPairOrder(actionContainer.getSelectedText()));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_SWAP_TUPEL_WORDS_ORDER)) {
             Tupel tupel = new Tupel(actionContainer);
-            tupel.isWordsTupel(actionContainer.selectedText);
-            actionContainer.document.replaceString(
+            tupel.isWordsTupel(actionContainer.getSelectedText());
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
-                    tupel.getShifted(actionContainer.selectedText, true));
+                    tupel.getShifted(actionContainer.getSelectedText(), true));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_SHIFT_DICTIONARY_TERM)) {
             DictionaryTerm dictionaryTerm = new DictionaryTerm();
-            if (dictionaryTerm.isTermInDictionary(actionContainer.selectedText)) {
-                actionContainer.document.replaceString(
+            if (dictionaryTerm.isTermInDictionary(actionContainer.getSelectedText())) {
+                actionContainer.textBuffer.replaceString(
                         actionContainer.offsetSelectionStart,
                         actionContainer.offsetSelectionEnd,
                         dictionaryTerm.getShifted(
-                                actionContainer.selectedText, actionContainer.isShiftUp));
+                                actionContainer.getSelectedText(), actionContainer.isShiftUp));
                 return;
             }
         }
         if (mode.equals(StaticTexts.SHIFT_LIST_ITEMS_SORT) || mode.equals(StaticTexts.SHIFT_LIST_ITEMS_SWAP)) {
-            actionContainer.document.replaceString(
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
                     SeparatedList.getShifted(
-                            actionContainer.selectedText,
+                            actionContainer.getSelectedText(),
                             delimiterSplitPattern,
                             delimiterGlue,
                             isUp));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_PATH_PAIR_SWAP_ORDER)) {
-            actionContainer.document.replaceString(
+            actionContainer.textBuffer.replaceString(
                     actionContainer.offsetSelectionStart,
                     actionContainer.offsetSelectionEnd,
-                    SeparatedPath.flipWordsOrder(actionContainer.selectedText));
+                    SeparatedPath.flipWordsOrder(actionContainer.getSelectedText()));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_LINES_SORT)) {
@@ -281,40 +290,43 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_QUOTES_SWAP)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapQuotes(actionContainer.selectedText));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapQuotes(actionContainer.getSelectedText()));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_SLASHES_SWAP)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapSlashes(actionContainer.selectedText));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapSlashes(actionContainer.getSelectedText()));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_QUOTES_SINGLE_TO_DOUBLE)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapQuotes(actionContainer.selectedText, true , false));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapQuotes(actionContainer.getSelectedText(), true , false));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_QUOTES_DOUBLE_TO_SINGLE)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapQuotes(actionContainer.selectedText, false, true));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, UtilsTextual.swapQuotes(actionContainer.getSelectedText(), false, true));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_CAMEL_CASE_TO_PATH)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, CamelCaseString.getShifted(actionContainer.selectedText));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, CamelCaseString.getShifted(actionContainer.getSelectedText()));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_CAMEL_CASE_TO_UNDERSCORE_SEPARATED)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, CamelCaseString.getShifted(actionContainer.selectedText, CamelCaseString.ShiftMode.CAMEL_WORDS_TO_UNDERSCORE_SEPARATED));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, CamelCaseString.getShifted(actionContainer.getSelectedText(), CamelCaseString.ShiftMode.CAMEL_WORDS_TO_UNDERSCORE_SEPARATED));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_PATH_TO_CAMEL_CASE)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, SeparatedPath.getShifted(actionContainer.selectedText));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, SeparatedPath.getShifted(actionContainer.getSelectedText()));
         }
-        if (mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX)) {
+        if (mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX) || mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX_NESTED)
+         || mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX) || mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX_NESTED)) {
+            boolean isRecursive = mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX_NESTED)
+                               || mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX_NESTED);
             PhpVariableOrArray phpVariableOrArray = new PhpVariableOrArray();
-            phpVariableOrArray.init(actionContainer.selectedText);
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, phpVariableOrArray.getShiftedArray(actionContainer.selectedText));
+            phpVariableOrArray.init(actionContainer.getSelectedText());
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, phpVariableOrArray.getShiftedArray(actionContainer.getSelectedText(), isRecursive));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_SWAP_PARENTHESIS)) {
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, Parenthesis.getShifted(actionContainer.selectedText));
+            actionContainer.textBuffer.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, Parenthesis.getShifted(actionContainer.getSelectedText()));
         }
     }
 }
\ No newline at end of file
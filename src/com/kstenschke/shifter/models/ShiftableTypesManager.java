@@ -15,6 +15,7 @@
  */
 package com.kstenschke.shifter.models;
 
+import com.kstenschke.shifter.metrics.ShiftTiming;
 import com.kstenschke.shifter.models.shiftable_types.*;
 import com.kstenschke.shifter.utils.UtilsFile;
 import org.jetbrains.annotations.Nullable;
@@ -27,27 +28,33 @@ import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
  */
 class ShiftableTypesManager {
 
+    // Stateless detectors, shared among all shifts
+    private static final AccessType ACCESS_TYPE_DETECTOR          = new AccessType();
+    private static final CssUnit CSS_UNIT_DETECTOR                = new CssUnit();
+    private static final DocCommentTag DOC_COMMENT_TAG_DETECTOR   = new DocCommentTag();
+    private static final DocCommentType DOC_COMMENT_TYPE_DETECTOR = new DocCommentType();
+    private static final MonoCharacter MONO_CHARACTER_DETECTOR    = new MonoCharacter();
+    private static final OperatorSign OPERATOR_SIGN_DETECTOR      = new OperatorSign();
+    private static final RgbColor RGB_COLOR_DETECTOR              = new RgbColor();
+    private static final RomanNumber ROMAN_NUMBER_DETECTOR        = new RomanNumber();
+
     private ShiftableTypes.Type wordType;
 
-    // Word type objects
+    // Stateful word type objects, storing details of the detected type needed for shifting
     private DictionaryTerm typeDictionaryTerm;
-    private AccessType accessType;
-
-    // Generic shiftable_types (calculated when shifted)
-    private CssUnit typePixelValue;
-    private DocCommentTag typeTagInDocComment;
-    private DocCommentType typeDataTypeInDocComment;
     private NumericValue typeNumericValue;
-    private OperatorSign typeOperatorSign;
     private PhpVariableOrArray typePhpVariableOrArray;
-    private RgbColor typeRgbColor;
-    private RomanNumber typeRomanNumber;
-    private MonoCharacter typeMonoCharacterString;
     private Tupel wordsTupel;
     private QuotedString typeQuotedString;
 
+    // Cost profile of the latest detection: amount of detectors run vs. skipped by the word's character profile
+    private int amountDetectorsRun;
+    private int amountDetectorsSkipped;
+
     /**
-     * Detect word type (get the one w/ highest priority to be shifted) of given string
+     * Detect word type (get the one w/ highest priority to be shifted) of given string.
+     * The word's characters are profiled once, detectors that cannot match it are skipped.
+     * Duration and detected type are added to the timing of the action, if any.
      *
      * @param  word                     Word whose type shall be identified
      * @param  prefixChar               Prefix character
@@ -63,144 +70,199 @@ class ShiftableTypesManager {
             boolean isLastLineInDocument,
             ActionContainer actionContainer
     ) {
+        if (null == actionContainer.timing) {
+            return detectWordType(word, prefixChar, postfixChar, isLastLineInDocument, actionContainer);
+        }
+
+        long startNanos = System.nanoTime();
+        ShiftableTypes.Type wordType = detectWordType(word, prefixChar, postfixChar, isLastLineInDocument, actionContainer);
+        actionContainer.timing.addPhaseNanos(ShiftTiming.Phase.DETECTION, System.nanoTime() - startNanos);
+        actionContainer.timing.setDetectedType(wordType.name());
+
+        return wordType;
+    }
+
+    private ShiftableTypes.Type detectWordType(
+            String word,
+            String prefixChar,
+            String postfixChar,
+            boolean isLastLineInDocument,
+            ActionContainer actionContainer
+    ) {
+        amountDetectorsRun     = 0;
+        amountDetectorsSkipped = 0;
+
         // Selected code line w/ trailing //-comment: moves the comment into a new caretLine before the code
-        if (TrailingComment.isTrailingComment(word, postfixChar, isLastLineInDocument)) {
+        if (isCandidate(true) && TrailingComment.isTrailingComment(word, postfixChar, isLastLineInDocument)) {
             return TRAILING_COMMENT;
         }
 
-        if (PhpDocParam.isPhpDocParamLine(actionContainer.caretLine)
-         && !PhpDocParam.containsDataType(actionContainer.caretLine)) {
+        if (isCandidate(true)
+         && PhpDocParam.isPhpDocParamLine(actionContainer.getCaretLine())
+         && !PhpDocParam.containsDataType(actionContainer.getCaretLine())) {
 //            return TYPE_PHP_DOC_PARAM_LINE;
             // PHP doc param line is handled in caretLine-shifting fallback
             return UNKNOWN;
         }
+
+        WordProfile profile = new WordProfile(word);
+
         // PHP variable (must be prefixed w/ "$")
-        typePhpVariableOrArray = new PhpVariableOrArray();
-        if (typePhpVariableOrArray.isPhpVariableOrArray(word)) {
-            return PHP_VARIABLE_OR_ARRAY;
+        if (isCandidate(profile.canBePhpVariableOrArray())) {
+            typePhpVariableOrArray = new PhpVariableOrArray();
+            if (typePhpVariableOrArray.isPhpVariableOrArray(word)) {
+                return PHP_VARIABLE_OR_ARRAY;
+            }
         }
-        if (Parenthesis.isWrappedInParenthesis(word)) {
+        if (isCandidate(profile.canBeWrappedInParenthesis()) && Parenthesis.isWrappedInParenthesis(word)) {
             return PARENTHESIS;
         }
 
-        if (JsVariablesDeclarations.isJsVariables(word)) {
+        if (isCandidate(profile.canBeJsVariablesDeclarations()) && JsVariablesDeclarations.isJsVariables(word)) {
             return JS_VARIABLES_DECLARATIONS;
         }
-        if (SizzleSelector.isSelector(word)) {
+        if (isCandidate(profile.canBeSizzleSelector()) && SizzleSelector.isSelector(word)) {
             return SIZZLE_SELECTOR;
         }
 
-        // DocComment shiftable_types (must be prefixed w/ "@")
-        typeDataTypeInDocComment = new DocCommentType();
-        if (DocCommentType.isDocCommentTypeLineContext(actionContainer.caretLine)) {
-            typeTagInDocComment = new DocCommentTag();
-            if (prefixChar.matches("@")
-                && typeTagInDocComment.isDocCommentTag(prefixChar, actionContainer.caretLine)
+        // DocComment shiftable_types (line must contain a "@"-tag)
+        if (isCandidate(actionContainer.getCaretLine().contains("@"))
+         && DocCommentType.isDocCommentTypeLineContext(actionContainer.getCaretLine())) {
+            if ("@".equals(prefixChar)
+                && DOC_COMMENT_TAG_DETECTOR.isDocCommentTag(prefixChar, actionContainer.getCaretLine())
             ) {
                 return DOC_COMMENT_TAG;
             }
-            if (typeDataTypeInDocComment.isDocCommentType(prefixChar, actionContainer.caretLine)) {
+            if (DOC_COMMENT_TYPE_DETECTOR.isDocCommentType(prefixChar, actionContainer.getCaretLine())) {
                 return DOC_COMMENT_DATA_TYPE;
             }
         }
 
         // Object visibility
-        accessType = new AccessType();
-        if (!"@".equals(prefixChar) && accessType.isAccessType(word)) {
+        if (isCandidate(!"@".equals(prefixChar) && profile.canBeAccessType()) && ACCESS_TYPE_DETECTOR.isAccessType(word)) {
             return ACCESS_TYPE;
         }
 
         // File extension specific term in dictionary
-        typeDictionaryTerm = new DictionaryTerm();
-        String fileExtension    = UtilsFile.extractFileExtension(actionContainer.filename);
+        typeDictionaryTerm   = new DictionaryTerm();
+        String fileExtension = UtilsFile.extractFileExtension(actionContainer.getFilename());
         if (null != fileExtension) {
-            if (typeDictionaryTerm.isTermInDictionary(word, fileExtension)) {
+            if (isCandidate(true) && typeDictionaryTerm.isTermInDictionary(word, fileExtension)) {
                 return DICTIONARY_WORD_EXT_SPECIFIC;
             }
-            if (
-                UtilsFile.isJavaScriptFile(actionContainer.filename, true) &&
-                JqueryObserver.isJQueryObserver(word)
+            if (isCandidate(profile.canBeJqueryObserver())
+                && UtilsFile.isJavaScriptFile(actionContainer.getFilename(), true)
+                && JqueryObserver.isJQueryObserver(word)
             ) {
                     return JQUERY_OBSERVER;
             }
         }
 
         // Ternary Expression - swap IF and ELSE
-        if (TernaryExpression.isTernaryExpression(word, prefixChar)) {
+        if (isCandidate(profile.canBeTernaryExpression(prefixChar)) && TernaryExpression.isTernaryExpression(word, prefixChar)) {
             return TERNARY_EXPRESSION;
         }
 
         // Quoted (must be wrapped in single or double quotes or backticks)
-        typeQuotedString = new QuotedString();
-        if (typeQuotedString.isQuotedString(prefixChar, postfixChar)) {
-            return QUOTED_STRING;
+        if (isCandidate(WordProfile.canBeQuotedString(prefixChar))) {
+            typeQuotedString = new QuotedString();
+            if (typeQuotedString.isQuotedString(prefixChar, postfixChar)) {
+                return QUOTED_STRING;
+            }
         }
         // RGB (must be prefixed w/ "#")
-        if (RgbColor.isRgbColorString(word, prefixChar)) {
-            typeRgbColor = new RgbColor();
+        if (isCandidate(profile.canBeRgbColor(prefixChar)) && RgbColor.isRgbColorString(word, prefixChar)) {
             return RGB_COLOR;
         }
         // Pixel value (must consist of numeric value followed by "px")
-        if (CssUnit.isCssUnitValue(word)) {
-            typePixelValue = new CssUnit();
+        if (isCandidate(profile.canBeCssUnitValue()) && CssUnit.isCssUnitValue(word)) {
             return CSS_UNIT;
         }
-        if (NumericValue.isNumericValue(word)) {
+        if (isCandidate(profile.canBeNumericValue()) && NumericValue.isNumericValue(word)) {
             typeNumericValue = new NumericValue();
             return NUMERIC_VALUE;
         }
         // Operator sign (<, >, +, -)
-        if (OperatorSign.isOperatorSign(word)) {
-            typeOperatorSign = new OperatorSign();
+        if (isCandidate(profile.canBeOperatorSign()) && OperatorSign.isOperatorSign(word)) {
             return OPERATOR_SIGN;
         }
         // Roman Numeral
-        if (RomanNumber.isRomanNumber(word)) {
-            typeRomanNumber = new RomanNumber();
+        if (isCandidate(profile.canBeRomanNumber()) && RomanNumber.isRomanNumber(word)) {
             return ROMAN_NUMERAL;
         }
-        if (LogicalOperator.isLogicalOperator(word)) {
+        if (isCandidate(profile.canBeLogicalOperator()) && LogicalOperator.isLogicalOperator(word)) {
             // Logical operators "&&" and "||" must be detected before MonoCharStrings to avoid confusing
             return LOGICAL_OPERATOR;
         }
         // MonoCharString (= consisting from any amount of the same character)
-        if (MonoCharacter.isMonoCharacterString(word)) {
-            typeMonoCharacterString = new MonoCharacter();
+        if (isCandidate(profile.canBeMonoCharacter()) && MonoCharacter.isMonoCharacterString(word)) {
             return MONO_CHARACTER;
         }
         // Term in dictionary (anywhere, that is w/o limiting to the current file extension)
-        if (typeDictionaryTerm.isTermInDictionary(word)) {
+        if (isCandidate(true) && typeDictionaryTerm.isTermInDictionary(word)) {
             return DICTIONARY_WORD_GLOBAL;
         }
-        if (NumericPostfixed.hasNumericPostfix(word)) {
+        if (isCandidate(profile.canBeNumericPostfixed()) && NumericPostfixed.hasNumericPostfix(word)) {
             return NUMERIC_POSTFIXED;
         }
-        wordsTupel = new Tupel(actionContainer);
-        if (wordsTupel.isWordsTupel(word)) {
-            return WORDS_TUPEL;
+        if (isCandidate(profile.canBeWordsTupel())) {
+            wordsTupel = new Tupel(actionContainer);
+            if (wordsTupel.isWordsTupel(word)) {
+                return WORDS_TUPEL;
+            }
         }
-        if (SeparatedPath.isSeparatedPath(word)) {
+        if (isCandidate(profile.canBeSeparatedPath()) && SeparatedPath.isSeparatedPath(word)) {
             return SEPARATED_PATH;
         }
-        if (CamelCaseString.isCamelCase(word)) {
+        if (isCandidate(profile.canBeCamelCase()) && CamelCaseString.isCamelCase(word)) {
             return CAMEL_CASED;
         }
-        if (HtmlEncodable.isHtmlEncodable(word)) {
+        if (isCandidate(profile.canBeHtmlEncodable()) && HtmlEncodable.isHtmlEncodable(word)) {
             return HTML_ENCODABLE;
         }
 
         return UNKNOWN;
     }
 
+    /**
+     * Count given detector as run or skipped
+     *
+     * @param  isPossibleMatch  Can the detector match, as far as told by the word profile?
+     * @return boolean          The given isPossibleMatch
+     */
+    private boolean isCandidate(boolean isPossibleMatch) {
+        if (isPossibleMatch) {
+            amountDetectorsRun++;
+        } else {
+            amountDetectorsSkipped++;
+        }
+
+        return isPossibleMatch;
+    }
+
+    /**
+     * @return int  Amount of detectors run during the latest type detection
+     */
+    int getAmountDetectorsRun() {
+        return amountDetectorsRun;
+    }
+
+    /**
+     * @return int  Amount of detectors skipped (w/o running them) during the latest type detection
+     */
+    int getAmountDetectorsSkipped() {
+        return amountDetectorsSkipped;
+    }
+
     ShiftableTypes.Type getWordType(ActionContainer actionContainer) {
         int editorTextLength = actionContainer.editorText.length();
-        int offsetPostfixChar = actionContainer.caretOffset + actionContainer.selectedText.length();
+        int offsetPostfixChar = actionContainer.caretOffset + actionContainer.getSelectedText().length();
         String postfixChar = editorTextLength > offsetPostfixChar
                 ? String.valueOf(actionContainer.editorText.charAt(offsetPostfixChar))
                 : "";
         boolean isLastLineInDocument = offsetPostfixChar == editorTextLength;
 
-        return getWordType(actionContainer.selectedText, "", postfixChar, isLastLineInDocument, actionContainer);
+        return getWordType(actionContainer.getSelectedText(), "", postfixChar, isLastLineInDocument, actionContainer);
     }
 
     /**
@@ -223,7 +285,7 @@ class ShiftableTypesManager {
         switch (wordType) {
             // String based word shiftable_types
             case ACCESS_TYPE:
-                return accessType.getShifted(word, actionContainer.isShiftUp);
+                return ACCESS_TYPE_DETECTOR.getShifted(word, actionContainer.isShiftUp);
             case DICTIONARY_WORD_GLOBAL:
             case DICTIONARY_WORD_EXT_SPECIFIC:
                 // The dictionary stored the matching terms-line, we don't need to differ global/ext-specific anymore
@@ -232,12 +294,12 @@ class ShiftableTypesManager {
             case SIZZLE_SELECTOR:
                 return SizzleSelector.getShifted(word, actionContainer);
             case RGB_COLOR:
-                return typeRgbColor.getShifted(word, actionContainer.isShiftUp);
+                return RGB_COLOR_DETECTOR.getShifted(word, actionContainer.isShiftUp);
             case NUMERIC_VALUE:
                 // Numeric values including UNIX and millisecond timestamps
                 return typeNumericValue.getShifted(word, actionContainer);
             case CSS_UNIT:
-                return typePixelValue.getShifted(word, actionContainer.isShiftUp);
+                return CSS_UNIT_DETECTOR.getShifted(word, actionContainer.isShiftUp);
             case JQUERY_OBSERVER:
                 return JqueryObserver.getShifted(word);
             case PHP_VARIABLE_OR_ARRAY:
@@ -249,18 +311,18 @@ class ShiftableTypesManager {
             case PARENTHESIS:
                 return Parenthesis.getShifted(word);
             case OPERATOR_SIGN:
-                return typeOperatorSign.getShifted(word);
+                return OPERATOR_SIGN_DETECTOR.getShifted(word);
             case ROMAN_NUMERAL:
-                return typeRomanNumber.getShifted(word, actionContainer.isShiftUp);
+                return ROMAN_NUMBER_DETECTOR.getShifted(word, actionContainer.isShiftUp);
             case LOGICAL_OPERATOR:
                 return LogicalOperator.getShifted(word);
             case MONO_CHARACTER:
-                return typeMonoCharacterString.getShifted(word, actionContainer.isShiftUp);
+                return MONO_CHARACTER_DETECTOR.getShifted(word, actionContainer.isShiftUp);
             case DOC_COMMENT_TAG:
-                String textAfterCaret   = actionContainer.editorText.toString().substring(actionContainer.caretOffset);
-                return typeTagInDocComment.getShifted(word, actionContainer, textAfterCaret);
+                CharSequence textAfterCaret = actionContainer.editorText.subSequence(actionContainer.caretOffset, actionContainer.editorText.length());
+                return DOC_COMMENT_TAG_DETECTOR.getShifted(word, actionContainer, textAfterCaret);
             case DOC_COMMENT_DATA_TYPE:
-                return typeDataTypeInDocComment.getShifted(word, actionContainer);
+                return DOC_COMMENT_TYPE_DETECTOR.getShifted(word, actionContainer);
             case SEPARATED_PATH:
                 return SeparatedPath.getShifted(word);
             case CAMEL_CASED:
@@ -276,10 +338,110 @@ class ShiftableTypesManager {
         }
     }
 
+    /**
+     * Shift given word by the given amount of steps at once
+     *
+     * @param  actionContainer
+     * @param  word         Word to be shifted
+     * @param  wordType     Shiftable word type, must be shiftable in steps
+     * @param  moreCount    Current "more" count, starting w/ 1. If non-more shift: null
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return              The shifted word
+     */
+    String getShiftedWord(
+            ActionContainer actionContainer,
+            String word,
+            ShiftableTypes.Type wordType,
+            Integer moreCount,
+            int amountSteps
+    ) {
+        if (1 == amountSteps) {
+            return getShiftedWord(actionContainer, word, wordType, moreCount);
+        }
+
+        switch (wordType) {
+            case ACCESS_TYPE:
+                return ACCESS_TYPE_DETECTOR.getShifted(word, actionContainer.isShiftUp, amountSteps);
+            case DICTIONARY_WORD_GLOBAL:
+            case DICTIONARY_WORD_EXT_SPECIFIC:
+                return typeDictionaryTerm.getShifted(word, actionContainer.isShiftUp, amountSteps);
+            case NUMERIC_VALUE:
+                return typeNumericValue.getShifted(word, actionContainer, amountSteps);
+            case CSS_UNIT:
+                return CSS_UNIT_DETECTOR.getShifted(word, actionContainer.isShiftUp, amountSteps);
+            case ROMAN_NUMERAL:
+                return ROMAN_NUMBER_DETECTOR.getShifted(word, actionContainer.isShiftUp, amountSteps);
+            case MONO_CHARACTER:
+                return MONO_CHARACTER_DETECTOR.getShifted(word, actionContainer.isShiftUp, amountSteps);
+            case NUMERIC_POSTFIXED:
+                return NumericPostfixed.getShifted(word, actionContainer.isShiftUp, amountSteps);
+            case PHP_VARIABLE_OR_ARRAY:
+                // Only the first of consecutive "more" shifts changes the variable
+                return typePhpVariableOrArray.getShifted(word, actionContainer, moreCount);
+            default:
+                return word;
+        }
+    }
+
+    /**
+     * @param  wordType
+     * @return boolean  Can the result of consecutive shifts of words of the given type be calculated at once?
+     */
+    static boolean isShiftableInSteps(ShiftableTypes.Type wordType) {
+        switch (wordType) {
+            case ACCESS_TYPE:
+            case DICTIONARY_WORD_GLOBAL:
+            case DICTIONARY_WORD_EXT_SPECIFIC:
+            case NUMERIC_VALUE:
+            case CSS_UNIT:
+            case ROMAN_NUMERAL:
+            case MONO_CHARACTER:
+            case NUMERIC_POSTFIXED:
+            case PHP_VARIABLE_OR_ARRAY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param  word         e.g. result of shifting a word of the given type
+     * @param  wordType     Type detected latest, its details still held by this manager
+     * @return boolean      Does the given word match the type's detector (and held details), so it can be shifted w/o detection?
+     */
+    boolean isOfDetectedType(String word, ShiftableTypes.Type wordType) {
+        switch (wordType) {
+            case ACCESS_TYPE:
+                return ACCESS_TYPE_DETECTOR.isAccessType(word);
+            case DICTIONARY_WORD_GLOBAL:
+            case DICTIONARY_WORD_EXT_SPECIFIC:
+                return typeDictionaryTerm.isInRelevantTermsList(word);
+            case NUMERIC_VALUE:
+                return NumericValue.isNumericValue(word);
+            case CSS_UNIT:
+                return CssUnit.isCssUnitValue(word);
+            case ROMAN_NUMERAL:
+                return RomanNumber.isRomanNumber(word);
+            case MONO_CHARACTER:
+                return MonoCharacter.isMonoCharacterString(word);
+            case NUMERIC_POSTFIXED:
+                return NumericPostfixed.hasNumericPostfix(word);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return PhpVariableOrArray   Details of the latest detected PHP_VARIABLE_OR_ARRAY
+     */
+    PhpVariableOrArray getTypePhpVariableOrArray() {
+        return typePhpVariableOrArray;
+    }
+
     String getShiftedWord(ActionContainer actionContainer, @Nullable Integer moreCount) {
-        wordType = getWordType(actionContainer.selectedText, "", "", false, actionContainer);
+        wordType = getWordType(actionContainer.getSelectedText(), "", "", false, actionContainer);
 
-        return getShiftedWord(actionContainer, actionContainer.selectedText, wordType, moreCount);
+        return getShiftedWord(actionContainer, actionContainer.getSelectedText(), wordType, moreCount);
     }
 
     String getActionText() {
@@ -15,16 +15,15 @@
  */
 package com.kstenschke.shifter.models;
 
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 import com.kstenschke.shifter.models.shiftable_types.CssUnit;
+import com.kstenschke.shifter.models.shiftable_types.CssUnitsIndex;
 import com.kstenschke.shifter.models.shiftable_types.JsDoc;
 import com.kstenschke.shifter.models.shiftable_types.NumericValue;
 import com.kstenschke.shifter.utils.UtilsFile;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Pattern;
-
 import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
 
 /**
@@ -38,6 +37,12 @@ public class ShiftableWord {
     // "more" count, starting w/ 1. If non-more shift: null
     private final Integer moreCount;
 
+    // Amount of consecutive shifts to be done at once
+    private final int amountSteps;
+
+    private final String prefixChar;
+    private final String postfixChar;
+
     private final ShiftableTypes.Type wordType;
     private final boolean isShiftable;
 
@@ -61,14 +66,76 @@ public class ShiftableWord {
             String prefixChar,
             String postfixChar,
             @Nullable Integer moreCount
+    ) {
+        this(actionContainer, word, prefixChar, postfixChar, moreCount, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param word        Shiftable word
+     * @param prefixChar  Char before the word, "#"?
+     * @param postfixChar Char after the word, "#"?
+     * @param moreCount   Current "more" count, starting w/ 1. If non-more shift: null
+     * @param amountSteps Amount of consecutive shifts to be done at once
+     */
+    ShiftableWord(
+            ActionContainer actionContainer,
+            String word,
+            String prefixChar,
+            String postfixChar,
+            @Nullable Integer moreCount,
+            int amountSteps
+    ) {
+        this(actionContainer, new ShiftableTypesManager(), word, prefixChar, postfixChar, moreCount, amountSteps);
+    }
+
+    /**
+     * Constructor, detecting the word's type w/ the given types manager (shared e.g. among the words of a line)
+     *
+     * @param shiftableTypesManager Manager to detect the type, holds the detected type's details until the next detection
+     * @param word                  Shiftable word
+     * @param prefixChar            Char before the word, "#"?
+     * @param postfixChar           Char after the word, "#"?
+     * @param moreCount             Current "more" count, starting w/ 1. If non-more shift: null
+     * @param amountSteps           Amount of consecutive shifts to be done at once
+     */
+    ShiftableWord(
+            ActionContainer actionContainer,
+            ShiftableTypesManager shiftableTypesManager,
+            String word,
+            String prefixChar,
+            String postfixChar,
+            @Nullable Integer moreCount,
+            int amountSteps
+    ) {
+        this(actionContainer,
+             shiftableTypesManager,
+             shiftableTypesManager.getWordType(word, prefixChar, postfixChar, false, actionContainer),
+             word, prefixChar, postfixChar, moreCount, amountSteps);
+    }
+
+    /**
+     * Constructor, w/ the word's type already detected by the given types manager (holding the type's details)
+     */
+    private ShiftableWord(
+            ActionContainer actionContainer,
+            ShiftableTypesManager shiftableTypesManager,
+            ShiftableTypes.Type wordType,
+            String word,
+            String prefixChar,
+            String postfixChar,
+            @Nullable Integer moreCount,
+            int amountSteps
     ) {
         this.actionContainer = actionContainer;
         this.moreCount       = moreCount;
+        this.amountSteps     = amountSteps;
+        this.prefixChar      = prefixChar;
+        this.postfixChar     = postfixChar;
 
-        shiftingShiftableTypesManager = new ShiftableTypesManager();
-
-        // Detect word type
-        wordType = shiftingShiftableTypesManager.getWordType(word, prefixChar, postfixChar, false, actionContainer);
+        shiftingShiftableTypesManager = shiftableTypesManager;
+        this.wordType                 = wordType;
 
         // Comprehend negative values of numeric shiftable_types
         this.word = (
@@ -82,6 +149,21 @@ public class ShiftableWord {
         isShiftable = UNKNOWN != wordType;
     }
 
+    /**
+     * @return boolean  Was a shiftable type detected? (The shifted word can still equal the word, e.g. w/o alternatives)
+     */
+    boolean isShiftable() {
+        return isShiftable;
+    }
+
+    ShiftableTypes.Type getWordType() {
+        return wordType;
+    }
+
+    ShiftableTypesManager getTypesManager() {
+        return shiftingShiftableTypesManager;
+    }
+
     /**
      * Get shifted up/down word
      *
@@ -91,7 +173,9 @@ public class ShiftableWord {
      */
     public String getShifted() {
         if (isShiftable) {
-            String shiftedWord = shiftingShiftableTypesManager.getShiftedWord(actionContainer, word, wordType, moreCount);
+            String shiftedWord = amountSteps > 1
+                    ? getShiftedInSteps()
+                    : shiftingShiftableTypesManager.getShiftedWord(actionContainer, word, wordType, moreCount);
 
             return word.equals(shiftedWord) ? word : maintainCasingOnShiftedWord(shiftedWord);
         }
@@ -99,11 +183,34 @@ public class ShiftableWord {
         return word;
     }
 
+    /**
+     * @return String   Word shifted by the amount of steps, w/o modifying the document in between
+     */
+    private String getShiftedInSteps() {
+        if (ShiftableTypesManager.isShiftableInSteps(wordType)) {
+            // Calculate result of all steps at once: arithmetic (numeric values) or index based (dictionary terms)
+            return shiftingShiftableTypesManager.getShiftedWord(actionContainer, word, wordType, moreCount, amountSteps);
+        }
+
+        // Shift consecutively, detecting the type of the shifted word before each further step
+        String shiftedWord = shiftingShiftableTypesManager.getShiftedWord(actionContainer, word, wordType, moreCount);
+        for (int step = 2; step <= amountSteps; step++) {
+            ShiftableTypes.Type shiftedWordType = shiftingShiftableTypesManager.getWordType(shiftedWord, prefixChar, postfixChar, false, actionContainer);
+            if (UNKNOWN == shiftedWordType) {
+                break;
+            }
+            shiftedWord = shiftingShiftableTypesManager.getShiftedWord(
+                    actionContainer, shiftedWord, shiftedWordType, null == moreCount ? null : moreCount + step - 1);
+        }
+
+        return shiftedWord;
+    }
+
     private String maintainCasingOnShiftedWord(String shiftedWord) {
         if (    PHP_VARIABLE_OR_ARRAY != wordType
              && QUOTED_STRING != wordType
              && CAMEL_CASED != wordType
-             && ShifterPreferences.getIsActivePreserveCase()
+             && ShifterSettings.get().isActivePreserveCase
         ) {
             if (UtilsTextual.isAllUppercase(word)) {
                 return shiftedWord.toUpperCase();
@@ -127,7 +234,7 @@ public class ShiftableWord {
      * @return String   Post-processed word
      */
     private String postProcess(String word, String postfix) {
-        if (!UtilsFile.isCssFile(actionContainer.filename)) {
+        if (!UtilsFile.isCssFile(actionContainer.getFilename())) {
             return word;
         }
 
@@ -136,7 +243,7 @@ public class ShiftableWord {
             case NUMERIC_VALUE:
                 return CssUnit.isCssUnit(postfix)
                         ? word
-                        : word + CssUnit.determineMostProminentUnit(actionContainer.editorText.toString());
+                        : word + actionContainer.textBuffer.getTextIndex(CssUnitsIndex.class, CssUnitsIndex::new).getMostProminentUnit();
             case CSS_UNIT:
                 // Correct "0px" (or other unit) to "0"
                 return word.startsWith("0") ? "0" : word;
@@ -154,10 +261,22 @@ public class ShiftableWord {
      * @return boolean
      */
     public static boolean shiftWordAtCaretInDocument(ActionContainer actionContainer, @Nullable Integer moreCount) {
+        return shiftWordAtCaretInDocument(actionContainer, moreCount, 1);
+    }
+
+    /**
+     * Get word at caret shifted by the given amount of steps at once (and replace if possible)
+     *
+     * @param  actionContainer
+     * @param  moreCount    Current "more" count, starting w/ 1. If non-more shift: null
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return boolean
+     */
+    static boolean shiftWordAtCaretInDocument(ActionContainer actionContainer, @Nullable Integer moreCount, int amountSteps) {
         boolean isOperator = false;
         String word        = UtilsTextual.getOperatorAtOffset(actionContainer.editorText, actionContainer.caretOffset);
         if (null == word) {
-            boolean isCSS = actionContainer.fileExtension.endsWith("css");
+            boolean isCSS = actionContainer.getFileExtension().endsWith("css");
             word = UtilsTextual.getWordAtOffset(actionContainer.editorText, actionContainer.caretOffset, isCSS);
         } else {
             isOperator = true;
@@ -166,24 +285,35 @@ public class ShiftableWord {
         if (null == word || word.isEmpty()) {
             return false;
         }
-        if (actionContainer.fileExtension.endsWith("js") && shiftWordAtCaretInJsDocument(actionContainer, word)) {
+        if (null != actionContainer.timing) {
+            actionContainer.timing.setInputLength(word.length());
+        }
+        if (actionContainer.getFileExtension().endsWith("js") && shiftWordAtCaretInJsDocument(actionContainer, word)) {
             return true;
         }
 
-        boolean isWordShifted = !getShiftedWordInDocument(actionContainer, word, null, true, isOperator, moreCount).equals(word);
+        boolean isWordShifted = isShiftedInDocument(actionContainer, word, isOperator, moreCount, amountSteps);
         if (!isWordShifted) {
             // Shifting failed, try shifting lower-cased string
-            String wordLower = word.toLowerCase();
-            isWordShifted = !getShiftedWordInDocument(actionContainer, wordLower, null, true, false, moreCount).equals(wordLower);
+            isWordShifted = isShiftedInDocument(actionContainer, word.toLowerCase(), false, moreCount, amountSteps);
         }
 
         return isWordShifted;
     }
 
+    private static boolean isShiftedInDocument(ActionContainer actionContainer, String word, boolean isOperator, @Nullable Integer moreCount, int amountSteps) {
+        if (!getShiftedWordInDocument(actionContainer, word, null, true, isOperator, moreCount, amountSteps).equals(word)) {
+            return true;
+        }
+
+        // Consecutive shifts can lead back to the original word (e.g. in dictionary terms ring): is it shiftable at all?
+        return amountSteps > 1 && !getShiftedWordInDocument(actionContainer, word, null, false, isOperator, moreCount).equals(word);
+    }
+
     @Nullable
     private static Boolean shiftWordAtCaretInJsDocument(final ActionContainer actionContainer, final String word) {
-        if (   (JsDoc.isAtParamLine(actionContainer.caretLine) || JsDoc.isAtTypeLine(actionContainer.caretLine))
-            && JsDoc.containsNoCompounds(actionContainer.caretLine) && JsDoc.isWordRightOfAtKeyword(word, actionContainer.caretLine) && JsDoc.isDataType(word)) {
+        if (   (JsDoc.isAtParamLine(actionContainer.getCaretLine()) || JsDoc.isAtTypeLine(actionContainer.getCaretLine()))
+            && JsDoc.containsNoCompounds(actionContainer.getCaretLine()) && JsDoc.isWordRightOfAtKeyword(word, actionContainer.getCaretLine()) && JsDoc.isDataType(word)) {
             // Add missing curly brackets around data type at caret in jsDoc @param line
             actionContainer.writeUndoable(
                     new Runnable() {
@@ -196,7 +326,7 @@ public class ShiftableWord {
 
             return true;
         }
-        if (JsDoc.isInvalidAtReturnsLine(actionContainer.caretLine)) {
+        if (JsDoc.isInvalidAtReturnsLine(actionContainer.getCaretLine())) {
             actionContainer.writeUndoable(
                     new Runnable() {
                         @Override
@@ -230,6 +360,28 @@ public class ShiftableWord {
             Boolean replaceInDocument,
             boolean isOperator,
             @Nullable Integer moreCount
+    ) {
+        return getShiftedWordInDocument(actionContainer, word, wordOffset, replaceInDocument, isOperator, moreCount, 1);
+    }
+
+    /**
+     * @param  actionContainer
+     * @param  word
+     * @param  wordOffset           null = calculate from word at offset
+     * @param  replaceInDocument
+     * @param  isOperator
+     * @param  moreCount            current "more" count, starting w/ 1. If non-more shift: null
+     * @param  amountSteps          Amount of consecutive shifts to be done at once
+     * @return String               resulting shifted or original word if no shift-ability was found
+     */
+    private static String getShiftedWordInDocument(
+            final ActionContainer actionContainer,
+            String word,
+            @Nullable Integer wordOffset,
+            Boolean replaceInDocument,
+            boolean isOperator,
+            @Nullable Integer moreCount,
+            int amountSteps
     ) {
         if (null == wordOffset) {
             // Extract offset of word at caret
@@ -241,8 +393,24 @@ public class ShiftableWord {
         String prefixChar  = UtilsTextual.getCharBeforeOffset(actionContainer.editorText, wordOffset);
         String postfixChar = UtilsTextual.getCharAfterOffset(actionContainer.editorText, wordOffset + word.length() - 1);
 
+        // Auto-repeated shift of the same word: merged into the undo step of the previous shifts, reusing its detected type
+        final RepeatedWordShift repeatedShift = replaceInDocument
+                ? actionContainer.textBuffer.getTextIndex(RepeatedWordShift.class, RepeatedWordShift::new)
+                : null;
+        boolean isRepetition = null != repeatedShift && repeatedShift.isRepetitionOf(wordOffset, word.length(), actionContainer.caretOffset);
+        ShiftableTypesManager repeatedTypesManager = isRepetition ? repeatedShift.getTypesManager() : null;
+        ShiftableTypes.Type repeatedWordType       = isRepetition ? repeatedShift.getWordType() : null;
+
         // Identify word type and shift it accordingly
-        ShiftableWord shiftableShiftableWord = new ShiftableWord(actionContainer, word, prefixChar, postfixChar, moreCount);
+        final ShiftableWord shiftableShiftableWord;
+        if (null == repeatedTypesManager || null == repeatedWordType || !repeatedTypesManager.isOfDetectedType(word, repeatedWordType)) {
+            shiftableShiftableWord = new ShiftableWord(actionContainer, word, prefixChar, postfixChar, moreCount, amountSteps);
+        } else {
+            shiftableShiftableWord = new ShiftableWord(actionContainer, repeatedTypesManager, repeatedWordType, word, prefixChar, postfixChar, moreCount, amountSteps);
+            if (null != actionContainer.timing) {
+                actionContainer.timing.setDetectedType(repeatedWordType.name());
+            }
+        }
 
         if (!isOperator && (NumericValue.isNumericValue(word) || CssUnit.isCssUnitValue(word)) && "-".equals(prefixChar)) {
             word = "-" + word;
@@ -250,7 +418,7 @@ public class ShiftableWord {
         }
 
         String newWord = shiftableShiftableWord.getShifted();
-        if (null == newWord || newWord.length() == 0 || newWord.matches(Pattern.quote(word)) || null == wordOffset) {
+        if (null == newWord || newWord.length() == 0 || newWord.equals(word) || null == wordOffset) {
             return word;
         }
 
@@ -260,19 +428,21 @@ public class ShiftableWord {
         final String newWordFin = newWord;
 
         if (replaceInDocument) {
+            final Object undoGroupId = repeatedShift.getUndoGroupId(isRepetition);
             // Replace word at caret by shifted one (if any)
             actionContainer.writeUndoable(
                     new Runnable() {
                         @Override
                         public void run() {
-                            actionContainer.document.replaceString(wordOffsetFin, wordOffsetEndFin, newWordFin);
-                            if (actionContainer.selectedText.isEmpty() && newWordFin.contains(" ")) {
+                            repeatedShift.replace(actionContainer.textBuffer, wordOffsetFin, wordOffsetEndFin, newWordFin, undoGroupId, shiftableShiftableWord);
+                            if (actionContainer.getSelectedText().isEmpty() && newWordFin.contains(" ")) {
                                 // There's no selection and shifted word newly contains a space: select it
-                                actionContainer.selectionModel.setSelection(wordOffsetFin, wordOffsetFin + newWordFin.length());
+                                actionContainer.textBuffer.setSelection(wordOffsetFin, wordOffsetFin + newWordFin.length());
                             }
                         }
-                    });
-
+                    },
+                    null,
+                    undoGroupId);
         }
         return newWord;
     }
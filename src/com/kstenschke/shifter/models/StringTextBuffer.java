@@ -0,0 +1,276 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Text buffer of a plain string, to run the shifting engine w/o IDE
+ */
+public class StringTextBuffer implements TextBuffer {
+
+    private String text;
+    private final String filename;
+
+    private int caretOffset;
+    private int[] caretOffsets;
+    private int selectionStart;
+    private int selectionEnd;
+
+    // Offsets of the starts of all lines, computed lazily, dropped when the text is modified
+    private int[] lineStartOffsets;
+
+    private final TextIndexes textIndexes = new TextIndexes();
+
+    /**
+     * Constructor
+     *
+     * @param text          Document text
+     * @param filename      Filename, the file extension is relevant to type detection
+     * @param caretOffset   Offset of the caret, there is no selection
+     */
+    public StringTextBuffer(@NotNull String text, @NotNull String filename, int caretOffset) {
+        this(text, filename, caretOffset, caretOffset, caretOffset);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param text              Document text
+     * @param filename          Filename, the file extension is relevant to type detection
+     * @param caretOffset       Offset of the caret
+     * @param selectionStart    Offset of start of selection
+     * @param selectionEnd      Offset of end of selection, equal to selectionStart if there is no selection
+     */
+    public StringTextBuffer(@NotNull String text, @NotNull String filename, int caretOffset, int selectionStart, int selectionEnd) {
+        this.text        = text;
+        this.filename    = filename;
+        this.caretOffset = caretOffset;
+        caretOffsets     = new int[]{caretOffset};
+        setSelection(selectionStart, selectionEnd);
+    }
+
+    /**
+     * Constructor of text w/ multiple carets
+     *
+     * @param text          Document text
+     * @param filename      Filename, the file extension is relevant to type detection
+     * @param caretOffsets  Offsets of all carets, the first one is the primary caret, there is no selection
+     */
+    public StringTextBuffer(@NotNull String text, @NotNull String filename, @NotNull int[] caretOffsets) {
+        this(text, filename, caretOffsets[0]);
+        this.caretOffsets = caretOffsets.clone();
+    }
+
+    @NotNull
+    @Override
+    public CharSequence getCharsSequence() {
+        return text;
+    }
+
+    @NotNull
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public int getLineNumber(int offset) {
+        int index = Arrays.binarySearch(getLineStartOffsets(), offset);
+
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public int getLineStartOffset(int lineNumber) {
+        return getLineStartOffsets()[lineNumber];
+    }
+
+    @Override
+    public int getLineEndOffset(int lineNumber) {
+        int[] lineStarts = getLineStartOffsets();
+
+        return lineNumber + 1 < lineStarts.length ? lineStarts[lineNumber + 1] - 1 : text.length();
+    }
+
+    @Override
+    public int getLineSeparatorLength(int lineNumber) {
+        return lineNumber + 1 < getLineStartOffsets().length ? 1 : 0;
+    }
+
+    @Override
+    public void replaceString(int startOffset, int endOffset, @NotNull CharSequence replacement) {
+        textIndexes.beforeReplace(text, startOffset, endOffset);
+        text = text.substring(0, startOffset) + replacement + text.substring(endOffset);
+        lineStartOffsets = null;
+        textIndexes.afterReplace(text, startOffset, startOffset + replacement.length());
+
+        moveOffsetsAfterReplace(startOffset, endOffset, replacement.length() - (endOffset - startOffset));
+    }
+
+    @Override
+    public void replaceStrings(@NotNull List<TextReplacement> replacements) {
+        if (replacements.isEmpty()) {
+            return;
+        }
+
+        // Build the modified text in one pass, notify indexes of one modification spanning all replaced ranges
+        int startOffset = replacements.get(0).startOffset;
+        int endOffset   = replacements.get(replacements.size() - 1).endOffset;
+        textIndexes.beforeReplace(text, startOffset, endOffset);
+
+        StringBuilder replaced = new StringBuilder(text.length());
+        int offset = 0;
+        for (TextReplacement replacement : replacements) {
+            replaced.append(text, offset, replacement.startOffset).append(replacement.text);
+            offset = replacement.endOffset;
+        }
+        int delta = replaced.length() - endOffset;
+        text = replaced.append(text, offset, text.length()).toString();
+        lineStartOffsets = null;
+        textIndexes.afterReplace(text, startOffset, endOffset + delta);
+
+        for (int i = replacements.size() - 1; i >= 0; i--) {
+            TextReplacement replacement = replacements.get(i);
+            moveOffsetsAfterReplace(replacement.startOffset, replacement.endOffset, replacement.text.length() - (replacement.endOffset - replacement.startOffset));
+        }
+    }
+
+    @Override
+    public void replaceChangedLines(int startOffset, int endOffset, @NotNull String text) {
+        // No markers to be kept: replace at once
+        replaceString(startOffset, endOffset, text);
+    }
+
+    @Override
+    public int getCaretOffset() {
+        return caretOffset;
+    }
+
+    @NotNull
+    @Override
+    public int[] getCaretOffsets() {
+        return caretOffsets.clone();
+    }
+
+    @Override
+    public int getSelectionStart() {
+        return selectionStart;
+    }
+
+    @Override
+    public int getSelectionEnd() {
+        return selectionEnd;
+    }
+
+    @Override
+    public boolean hasSelection() {
+        return selectionStart != selectionEnd;
+    }
+
+    @Override
+    public void setSelection(int startOffset, int endOffset) {
+        selectionStart = Math.min(startOffset, endOffset);
+        selectionEnd   = Math.max(startOffset, endOffset);
+    }
+
+    @Override
+    public void reformat(int startOffset, int endOffset) {
+        // No code style available w/o IDE
+    }
+
+    @NotNull
+    @Override
+    public <T extends TextIndex> T getTextIndex(@NotNull Class<T> type, @NotNull Function<CharSequence, T> factory) {
+        return textIndexes.get(type, text, factory);
+    }
+
+    @Override
+    public void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText) {
+        runnable.run();
+    }
+
+    @Override
+    public void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText, @Nullable Object undoGroupId) {
+        runnable.run();
+    }
+
+    @Override
+    public <T> void computeInBackground(@NotNull String title, @NotNull CancellableComputation<T> computation, @NotNull Consumer<T> apply) {
+        T result = computation.compute(getCharsSequence(), () -> {});
+        if (null != result) {
+            apply.accept(result);
+        }
+    }
+
+    /**
+     * Update caret(s) and selection after replacing the range startOffset...endOffset
+     *
+     * @param startOffset
+     * @param endOffset
+     * @param delta         Difference in length of replacement and replaced text
+     */
+    private void moveOffsetsAfterReplace(int startOffset, int endOffset, int delta) {
+        caretOffset    = getOffsetAfterReplace(caretOffset, startOffset, endOffset, delta);
+        selectionStart = getOffsetAfterReplace(selectionStart, startOffset, endOffset, delta);
+        selectionEnd   = getOffsetAfterReplace(selectionEnd, startOffset, endOffset, delta);
+        for (int i = 0; i < caretOffsets.length; i++) {
+            caretOffsets[i] = getOffsetAfterReplace(caretOffsets[i], startOffset, endOffset, delta);
+        }
+    }
+
+    /**
+     * @param  offset       Offset before replacing the range startOffset...endOffset
+     * @param  startOffset
+     * @param  endOffset
+     * @param  delta        Difference in length of replacement and replaced text
+     * @return int          Offsets after the replaced range move along, offsets inside it move to its start
+     */
+    private static int getOffsetAfterReplace(int offset, int startOffset, int endOffset, int delta) {
+        if (offset >= endOffset) {
+            return offset + delta;
+        }
+
+        return Math.min(offset, startOffset);
+    }
+
+    private int[] getLineStartOffsets() {
+        if (null == lineStartOffsets) {
+            int amountLines = 1;
+            for (int i = 0; i < text.length(); i++) {
+                if ('\n' == text.charAt(i)) {
+                    amountLines++;
+                }
+            }
+            int[] lineStarts = new int[amountLines];
+            int lineNumber = 1;
+            for (int i = 0; i < text.length(); i++) {
+                if ('\n' == text.charAt(i)) {
+                    lineStarts[lineNumber++] = i + 1;
+                }
+            }
+            lineStartOffsets = lineStarts;
+        }
+
+        return lineStartOffsets;
+    }
+}
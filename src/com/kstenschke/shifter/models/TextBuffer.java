@@ -0,0 +1,128 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Text of the edited document, w/ caret and selection - all the shifting engine needs from an editor.
+ * Implemented by the IntelliJ editor adapter, and by a plain string buffer for use w/o IDE (tests, batch tooling).
+ * Line separators are "\n" only, line numbers are zero-based.
+ */
+public interface TextBuffer {
+
+    @NotNull
+    CharSequence getCharsSequence();
+
+    /**
+     * @return String   Name of the edited file, empty if unknown
+     */
+    @NotNull
+    String getFilename();
+
+    int getLineNumber(int offset);
+
+    int getLineStartOffset(int lineNumber);
+
+    /**
+     * @param  lineNumber
+     * @return int  Offset of end of given line, excluding the line separator
+     */
+    int getLineEndOffset(int lineNumber);
+
+    int getLineSeparatorLength(int lineNumber);
+
+    void replaceString(int startOffset, int endOffset, @NotNull CharSequence text);
+
+    /**
+     * Replace multiple ranges at once
+     *
+     * @param replacements  Non-overlapping, in ascending order of offsets (of the text before replacing)
+     */
+    void replaceStrings(@NotNull List<TextReplacement> replacements);
+
+    /**
+     * Replace given range by given text, modifying only the lines that differ - unchanged lines (and their markers) are kept
+     *
+     * @param startOffset
+     * @param endOffset
+     * @param text
+     */
+    void replaceChangedLines(int startOffset, int endOffset, @NotNull String text);
+
+    int getCaretOffset();
+
+    /**
+     * @return int[]    Offsets of all carets (multi-caret editing), the primary caret's included
+     */
+    @NotNull
+    int[] getCaretOffsets();
+
+    int getSelectionStart();
+
+    int getSelectionEnd();
+
+    boolean hasSelection();
+
+    void setSelection(int startOffset, int endOffset);
+
+    /**
+     * Reformat the given range by code style, if supported
+     */
+    void reformat(int startOffset, int endOffset);
+
+    /**
+     * Get index of the given type over the text, it is built on first use and updated on every modification of the text
+     *
+     * @param  type     Class of index
+     * @param  factory  Builder of the index from the current text
+     * @return T
+     */
+    @NotNull
+    <T extends TextIndex> T getTextIndex(@NotNull Class<T> type, @NotNull Function<CharSequence, T> factory);
+
+    /**
+     * Run given modification as one undoable command
+     *
+     * @param runnable      Modification of the text
+     * @param actionText    Name of the command, e.g. shown in undo history
+     */
+    void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText);
+
+    /**
+     * Run given modification as undoable command, merged into one undo step w/ directly preceding commands of the same group
+     *
+     * @param runnable      Modification of the text
+     * @param actionText    Name of the command, e.g. shown in undo history
+     * @param undoGroupId   ID of undo group, null: undone separately
+     */
+    void writeUndoable(@NotNull Runnable runnable, @Nullable String actionText, @Nullable Object undoGroupId);
+
+    /**
+     * Compute a result from a snapshot of the text w/o blocking the UI, then apply it - only if the text wasn't modified meanwhile.
+     * Implementations w/o UI compute and apply synchronously.
+     *
+     * @param title         Title of the progress shown while computing
+     * @param computation   Cancellable computation of the result
+     * @param apply         Applying of the (non-null) result
+     */
+    <T> void computeInBackground(@NotNull String title, @NotNull CancellableComputation<T> computation, @NotNull Consumer<T> apply);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Index over the text of a document, built once and kept up-to-date incrementally on every modification of the text.
+ * Instances are obtained via TextBuffer.getTextIndex(), which registers them for the modification notifications.
+ */
+public interface TextIndex {
+
+    /**
+     * @param text          Text before modification
+     * @param startOffset   Start of range to be replaced
+     * @param endOffset     End of range to be replaced
+     */
+    void beforeReplace(@NotNull CharSequence text, int startOffset, int endOffset);
+
+    /**
+     * @param text          Text after modification
+     * @param startOffset   Start of the inserted text
+     * @param endOffset     End of the inserted text
+     */
+    void afterReplace(@NotNull CharSequence text, int startOffset, int endOffset);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Text indexes of one document, notified together of its modifications
+ */
+class TextIndexes {
+
+    private final Map<Class<? extends TextIndex>, TextIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param  type     Class of index
+     * @param  text     Current text, to build the index from if it doesn't exist yet
+     * @param  factory  Builder of the index from the text
+     * @return T        Index of given type
+     */
+    @NotNull
+    <T extends TextIndex> T get(@NotNull Class<T> type, @NotNull CharSequence text, @NotNull Function<CharSequence, T> factory) {
+        return type.cast(indexes.computeIfAbsent(type, k -> factory.apply(text)));
+    }
+
+    void beforeReplace(@NotNull CharSequence text, int startOffset, int endOffset) {
+        for (TextIndex index : indexes.values()) {
+            index.beforeReplace(text, startOffset, endOffset);
+        }
+    }
+
+    void afterReplace(@NotNull CharSequence text, int startOffset, int endOffset) {
+        for (TextIndex index : indexes.values()) {
+            index.afterReplace(text, startOffset, endOffset);
+        }
+    }
+}
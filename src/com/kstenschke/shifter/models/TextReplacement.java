@@ -0,0 +1,65 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Range of a text, and the text replacing it
+ */
+public class TextReplacement {
+
+    public final int startOffset;
+    public final int endOffset;
+    public final String text;
+
+    /**
+     * Constructor
+     *
+     * @param startOffset
+     * @param endOffset
+     * @param text          Replacement
+     */
+    public TextReplacement(int startOffset, int endOffset, @NotNull String text) {
+        this.startOffset = startOffset;
+        this.endOffset   = endOffset;
+        this.text        = text;
+    }
+
+    /**
+     * @param  replacement
+     * @return boolean      Do the replaced ranges intersect (or are both insertions at the same offset)?
+     */
+    boolean isOverlapping(@NotNull TextReplacement replacement) {
+        return startOffset < replacement.endOffset && replacement.startOffset < endOffset
+            || startOffset == replacement.startOffset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TextReplacement)) {
+            return false;
+        }
+        TextReplacement replacement = (TextReplacement) o;
+
+        return startOffset == replacement.startOffset && endOffset == replacement.endOffset && text.equals(replacement.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * startOffset + endOffset) + text.hashCode();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+/**
+ * Character profile of a word, gathered in one pass before type detection.
+ * Each "canBe..." method is a necessary (not sufficient) condition of the resp. detector,
+ * so detectors that cannot match are skipped w/o running them.
+ */
+class WordProfile {
+
+    private static final String CHARS_TUPEL_DELIMITERS = ",!=<>&|.:+-*/% ";
+    private static final String CHARS_HTML_ENCODABLE   = "\"&<>";
+    private static final String CHARS_ROMAN_NUMERAL    = "IVXLCDM";
+    private static final String CHARS_CSS_UNIT_END     = "%mntxhw";
+
+    private final String word;
+    private final int length;
+
+    // First character of the trimmed word, 0 if empty
+    private final char firstCharTrimmed;
+
+    private boolean isAllDigits = true;
+    private boolean isAllRomanNumeralChars = true;
+    private boolean containsLowerCase;
+    private boolean containsUpperCase;
+    private boolean containsNewLine;
+    private boolean containsTupelDelimiter;
+    private boolean containsPathDelimiter;
+    private boolean containsHtmlEncodable;
+
+    /**
+     * Constructor
+     *
+     * @param word  Word to be profiled
+     */
+    WordProfile(String word) {
+        this.word = word;
+        length    = word.length();
+
+        int offsetStart = 0;
+        while (offsetStart < length && word.charAt(offsetStart) <= ' ') {
+            offsetStart++;
+        }
+        firstCharTrimmed = offsetStart < length ? word.charAt(offsetStart) : 0;
+
+        if (0 == length) {
+            isAllDigits            = false;
+            isAllRomanNumeralChars = false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+
+            if (c < '0' || c > '9') {
+                isAllDigits = false;
+            }
+            if (-1 == CHARS_ROMAN_NUMERAL.indexOf(c)) {
+                isAllRomanNumeralChars = false;
+            }
+            if (c >= 'a' && c <= 'z') {
+                containsLowerCase = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                containsUpperCase = true;
+            }
+            if ('\n' == c) {
+                containsNewLine = true;
+            }
+            if (-1 != CHARS_TUPEL_DELIMITERS.indexOf(c)) {
+                containsTupelDelimiter = true;
+            }
+            if ('-' == c || '_' == c) {
+                containsPathDelimiter = true;
+            }
+            if (c > 0x7F || -1 != CHARS_HTML_ENCODABLE.indexOf(c)) {
+                containsHtmlEncodable = true;
+            }
+        }
+    }
+
+    boolean canBePhpVariableOrArray() {
+        return length > 0 && ('$' == word.charAt(0) || '[' == word.charAt(0) || word.startsWith("array"));
+    }
+
+    boolean canBeWrappedInParenthesis() {
+        return '(' == firstCharTrimmed || '[' == firstCharTrimmed || '{' == firstCharTrimmed;
+    }
+
+    boolean canBeJsVariablesDeclarations() {
+        return containsNewLine;
+    }
+
+    boolean canBeSizzleSelector() {
+        return '$' == firstCharTrimmed;
+    }
+
+    boolean canBeAccessType() {
+        return length > 0 && 'p' == word.charAt(0);
+    }
+
+    boolean canBeJqueryObserver() {
+        return length > 0 && '(' == word.charAt(length - 1);
+    }
+
+    boolean canBeTernaryExpression(String prefixChar) {
+        return '?' == firstCharTrimmed || "?".equals(prefixChar);
+    }
+
+    static boolean canBeQuotedString(String prefixChar) {
+        return "'".equals(prefixChar) || "\"".equals(prefixChar) || "`".equals(prefixChar);
+    }
+
+    boolean canBeRgbColor(String prefixChar) {
+        return "#".equals(prefixChar) && (3 == length || 6 == length);
+    }
+
+    boolean canBeCssUnitValue() {
+        return length > 0 && -1 != CHARS_CSS_UNIT_END.indexOf(word.charAt(length - 1));
+    }
+
+    boolean canBeNumericValue() {
+        return isAllDigits;
+    }
+
+    boolean canBeOperatorSign() {
+        return 1 == length;
+    }
+
+    boolean canBeRomanNumber() {
+        return isAllRomanNumeralChars;
+    }
+
+    boolean canBeLogicalOperator() {
+        return 2 == length;
+    }
+
+    boolean canBeMonoCharacter() {
+        return length > 0 && Character.toLowerCase(word.charAt(0)) == Character.toLowerCase(word.charAt(length - 1));
+    }
+
+    boolean canBeNumericPostfixed() {
+        return length > 1 && word.charAt(length - 1) >= '0' && word.charAt(length - 1) <= '9';
+    }
+
+    boolean canBeWordsTupel() {
+        return containsTupelDelimiter;
+    }
+
+    boolean canBeSeparatedPath() {
+        return length > 3 && containsPathDelimiter;
+    }
+
+    boolean canBeCamelCase() {
+        return length > 2 && containsLowerCase && containsUpperCase;
+    }
+
+    boolean canBeHtmlEncodable() {
+        return containsHtmlEncodable;
+    }
+}
@@ -23,11 +23,18 @@ package com.kstenschke.shifter.models.comparators;
  * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
  */
 
-import org.apache.commons.lang.StringUtils;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 
 public class AlphanumComparator implements Comparator<String>
 {
+    private static final int MIN_DIGITS_NUMERIC_CHUNK = 10;
+
+    // Sorting at least this amount of items is distributed over all cores
+    private static final int MIN_ITEMS_PARALLEL_SORT = 50000;
+
     private Comparator<String> comparator = new NaturalComparator();
 
     public AlphanumComparator(Comparator<String> comparator) {
@@ -37,42 +44,71 @@ public class AlphanumComparator implements Comparator<String>
     public AlphanumComparator() {
     }
 
-    private boolean isDigit(char ch) {
+    /**
+     * Sort given items naturally, the sort key of each item is prepared only once (instead of per comparison)
+     *
+     * @param items
+     */
+    public static void sort(List<String> items) {
+        int amountItems = items.size();
+        KeyedItem[] keyedItems = new KeyedItem[amountItems];
+        for (int i = 0; i < amountItems; i++) {
+            keyedItems[i] = new KeyedItem(items.get(i));
+        }
+
+        AlphanumComparator comparator = new AlphanumComparator();
+        Comparator<KeyedItem> keyedItemsComparator = (item1, item2) -> comparator.compareSortKeys(item1.sortKey, item2.sortKey);
+        if (amountItems >= MIN_ITEMS_PARALLEL_SORT) {
+            // Stable, as the sequential sort
+            Arrays.parallelSort(keyedItems, keyedItemsComparator);
+        } else {
+            Arrays.sort(keyedItems, keyedItemsComparator);
+        }
+
+        for (int i = 0; i < amountItems; i++) {
+            items.set(i, keyedItems[i].item);
+        }
+    }
+
+    private static boolean isDigit(char ch) {
         return ch >= 48 && ch <= 57;
     }
 
     /** Length of string is passed in for improved efficiency (only need to calculate it once) **/
-    private String getChunk(String str, int strLength, int offset) {
-        StringBuilder chunk = new StringBuilder();
-        char currentChar = str.charAt(offset);
-        chunk.append(currentChar);
-        offset++;
+    private static int getEndOfChunk(String str, int strLength, int offset) {
+        if (offset >= strLength) {
+            return offset;
+        }
 
-        if (isDigit(currentChar)) {
-            while (offset < strLength) {
-                currentChar = str.charAt(offset);
-                if (!isDigit(currentChar)) {
-                    break;
-                }
-                chunk.append(currentChar);
-                offset++;
-            }
-        } else {
-            while (offset < strLength) {
-                currentChar = str.charAt(offset);
-                if (isDigit(currentChar)) {
-                    break;
-                }
-                chunk.append(currentChar);
-                offset++;
-            }
+        boolean isDigitChunk = isDigit(str.charAt(offset));
+        offset++;
+        while (offset < strLength && isDigit(str.charAt(offset)) == isDigitChunk) {
+            offset++;
         }
-        return chunk.toString();
+
+        return offset;
     }
 
+    /**
+     * Compare chunks of the given strings in place, same order as comparing their sort keys, but w/o allocating them.
+     * Strings containing non-ASCII characters are compared via their sort keys, as their lowercase versions may differ
+     * per character context and in length (e.g. "İ")
+     *
+     * @param  s1
+     * @param  s2
+     * @return int
+     */
     public int compare(String s1, String s2) {
-        s1 = prepareStringForCompare(s1);
-        s2 = prepareStringForCompare(s2);
+        if (!isAscii(s1) || !isAscii(s2)) {
+            return compareSortKeys(getSortKey(s1), getSortKey(s2));
+        }
+        // Sort key of an empty string is an empty numeric chunk: zero
+        if (s1.isEmpty()) {
+            s1 = "0";
+        }
+        if (s2.isEmpty()) {
+            s2 = "0";
+        }
 
         int thisMarker = 0;
         int thatMarker = 0;
@@ -80,61 +116,195 @@ public class AlphanumComparator implements Comparator<String>
         int s2Length = s2.length();
 
         while (thisMarker < s1Length && thatMarker < s2Length) {
-            String thisChunk = getChunk(s1, s1Length, thisMarker);
-            thisMarker += thisChunk.length();
+            int thisChunkEnd    = getEndOfChunk(s1, s1Length, thisMarker);
+            int thatChunkEnd    = getEndOfChunk(s2, s2Length, thatMarker);
+            int thisChunkLength = thisChunkEnd - thisMarker;
+            int thatChunkLength = thatChunkEnd - thatMarker;
+
+            int result;
+            if (isDigit(s1.charAt(thisMarker)) && isDigit(s2.charAt(thatMarker))) {
+                result = compareNumericRegions(s1, thisMarker, thisChunkLength, s2, thatMarker, thatChunkLength);
+            } else if (comparator instanceof NaturalComparator) {
+                result = compareRegionsLowercase(s1, thisMarker, thisChunkLength, s2, thatMarker, thatChunkLength);
+            } else {
+                result = comparator.compare(
+                        getSortKey(s1.substring(thisMarker, thisChunkEnd)),
+                        getSortKey(s2.substring(thatMarker, thatChunkEnd)));
+            }
+
+            if (0 != result) {
+                return result;
+            }
+            thisMarker = thisChunkEnd;
+            thatMarker = thatChunkEnd;
+        }
+
+        // All compared chunks are equal: the string w/ remaining chunks is greater
+        return (thisMarker < s1Length ? 1 : 0) - (thatMarker < s2Length ? 1 : 0);
+    }
 
-            String thatChunk = getChunk(s2, s2Length, thatMarker);
-            thatMarker += thatChunk.length();
+    private static boolean isAscii(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > 127) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return int  Comparison of the given digit regions, as if both were left-padded w/ zeros to 10 digits (as in sort keys)
+     */
+    private static int compareNumericRegions(String str1, int offset1, int length1, String str2, int offset2, int length2) {
+        int paddedLength1 = Math.max(length1, MIN_DIGITS_NUMERIC_CHUNK);
+        int paddedLength2 = Math.max(length2, MIN_DIGITS_NUMERIC_CHUNK);
+        if (paddedLength1 != paddedLength2) {
+            return paddedLength1 - paddedLength2;
+        }
+
+        int padding1 = paddedLength1 - length1;
+        int padding2 = paddedLength2 - length2;
+        for (int i = 0; i < paddedLength1; i++) {
+            char digit1 = i < padding1 ? '0' : str1.charAt(offset1 + i - padding1);
+            char digit2 = i < padding2 ? '0' : str2.charAt(offset2 + i - padding2);
+            if (digit1 != digit2) {
+                return digit1 - digit2;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return int  Lexicographical comparison of the lowercase versions of the given ASCII regions (as in sort keys)
+     */
+    private static int compareRegionsLowercase(String str1, int offset1, int length1, String str2, int offset2, int length2) {
+        int minLength = Math.min(length1, length2);
+        for (int i = 0; i < minLength; i++) {
+            char char1 = str1.charAt(offset1 + i);
+            char char2 = str2.charAt(offset2 + i);
+            if (char1 != char2) {
+                int result = Character.toLowerCase(char1) - Character.toLowerCase(char2);
+                if (0 != result) {
+                    return result;
+                }
+            }
+        }
+
+        return length1 - length2;
+    }
+
+    /**
+     * Used by sort(), where the sort keys are prepared once per item. Compare chunks of the given sort keys in place: numerically if both are numeric, otherwise alphabetically
+     *
+     * @param  key1
+     * @param  key2
+     * @return int
+     */
+    int compareSortKeys(String key1, String key2) {
+        int thisMarker = 0;
+        int thatMarker = 0;
+        int s1Length = key1.length();
+        int s2Length = key2.length();
+
+        while (thisMarker < s1Length && thatMarker < s2Length) {
+            int thisChunkEnd    = getEndOfChunk(key1, s1Length, thisMarker);
+            int thatChunkEnd    = getEndOfChunk(key2, s2Length, thatMarker);
+            int thisChunkLength = thisChunkEnd - thisMarker;
+            int thatChunkLength = thatChunkEnd - thatMarker;
 
             // If both chunks contain numeric characters, sort them numerically
             int result;
-            if (isDigit(thisChunk.charAt(0)) && isDigit(thatChunk.charAt(0))) {
+            if (isDigit(key1.charAt(thisMarker)) && isDigit(key2.charAt(thatMarker))) {
                 // Simple chunk comparison by length.
-                int thisChunkLength = thisChunk.length();
-                result = thisChunkLength - thatChunk.length();
+                result = thisChunkLength - thatChunkLength;
                 // If equal, the first different number counts
                 if (0 == result) {
                     for (int i = 0; i < thisChunkLength; i++) {
-                        result = thisChunk.charAt(i) - thatChunk.charAt(i);
+                        result = key1.charAt(thisMarker + i) - key2.charAt(thatMarker + i);
                         if (0 != result) {
                             return result;
                         }
                     }
                 }
-            } else {
+            } else if (comparator instanceof NaturalComparator) {
                 // Both compared characters are alphabetic
-                result = comparator.compare(thisChunk, thatChunk);
+                result = compareRegions(key1, thisMarker, thisChunkLength, key2, thatMarker, thatChunkLength);
+            } else {
+                result = comparator.compare(key1.substring(thisMarker, thisChunkEnd), key2.substring(thatMarker, thatChunkEnd));
             }
 
             if (0 != result) {
                 return result;
             }
+            thisMarker = thisChunkEnd;
+            thatMarker = thatChunkEnd;
         }
 
         return s1Length - s2Length;
     }
 
+    /**
+     * @return int  Lexicographical comparison of the given regions, same as String.compareTo() of their substrings
+     */
+    private static int compareRegions(String str1, int offset1, int length1, String str2, int offset2, int length2) {
+        int minLength = Math.min(length1, length2);
+        for (int i = 0; i < minLength; i++) {
+            int result = str1.charAt(offset1 + i) - str2.charAt(offset2 + i);
+            if (0 != result) {
+                return result;
+            }
+        }
+
+        return length1 - length2;
+    }
+
     /**
      * @param  str
      * @return Lowercase version of given string w/ all contained number-chunks converted to having 10 digits
      */
-    private static String prepareStringForCompare(String str) {
-        // Convert all numeric-chunks within str to having 10 digits
-        String parts[] = str.split("(?<=\\D)(?=\\d)|(?<=\\d)(?=\\D)");
-        int index = 0;
-        for (String part : parts) {
-            if (StringUtils.isNumeric(part)) {
-                StringBuilder partBuilder = new StringBuilder(part);
-                while (partBuilder.length() < 10) {
-                    partBuilder.insert(0, "0");
+    static String getSortKey(String str) {
+        int strLength = str.length();
+        StringBuilder sortKey = new StringBuilder(strLength + MIN_DIGITS_NUMERIC_CHUNK);
+
+        int offset = 0;
+        do {
+            int chunkEnd = getEndOfChunk(str, strLength, offset);
+            if (isNumeric(str, offset, chunkEnd)) {
+                // Convert numeric-chunk to having 10 digits
+                for (int i = chunkEnd - offset; i < MIN_DIGITS_NUMERIC_CHUNK; i++) {
+                    sortKey.append('0');
                 }
-                part = partBuilder.toString();
-                parts[index] = part;
             }
-            index++;
+            sortKey.append(str, offset, chunkEnd);
+            offset = chunkEnd;
+        } while (offset < strLength);
+
+        return sortKey.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return boolean  Are all characters within the given region digits? (true for empty region, as StringUtils.isNumeric())
+     */
+    private static boolean isNumeric(String str, int offsetStart, int offsetEnd) {
+        for (int i = offsetStart; i < offsetEnd; i++) {
+            if (!Character.isDigit(str.charAt(i))) {
+                return false;
+            }
         }
 
-        return StringUtils.join(parts).toLowerCase();
+        return true;
+    }
+
+    private static class KeyedItem {
+        final String item;
+        final String sortKey;
+
+        KeyedItem(String item) {
+            this.item    = item;
+            this.sortKey = getSortKey(item);
+        }
     }
 
     private static class NaturalComparator implements Comparator<String> {
@@ -142,4 +312,4 @@ public class AlphanumComparator implements Comparator<String>
             return o1.compareTo(o2);
         }
     }
-}
\ No newline at end of file
+}
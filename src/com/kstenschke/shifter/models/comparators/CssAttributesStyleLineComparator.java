@@ -15,11 +15,35 @@
  */
 package com.kstenschke.shifter.models.comparators;
 
+import com.kstenschke.shifter.utils.UtilsRegex;
+
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import static org.apache.commons.lang.StringUtils.trim;
 
 public class CssAttributesStyleLineComparator implements Comparator<String> {
+
+    /**
+     * Sort given lines, each line is parsed only once (instead of per comparison)
+     *
+     * @param lines
+     */
+    public static void sort(List<String> lines) {
+        int amountLines = lines.size();
+        DeclarationKey[] keys = new DeclarationKey[amountLines];
+        for (int i = 0; i < amountLines; i++) {
+            keys[i] = new DeclarationKey(lines.get(i));
+        }
+
+        Arrays.sort(keys, CssAttributesStyleLineComparator::compareKeys);
+
+        for (int i = 0; i < amountLines; i++) {
+            lines.set(i, keys[i].line);
+        }
+    }
+
     /**
      * @param  str1
      * @param  str2
@@ -27,40 +51,38 @@ public class CssAttributesStyleLineComparator implements Comparator<String> {
      */
     @Override
     public int compare(String str1, String str2) {
-        if (str1.equals(str2)) {
+        return compareKeys(new DeclarationKey(str1), new DeclarationKey(str2));
+    }
+
+    /**
+     * @param  key1
+     * @param  key2
+     * @return -1 if key1 is greater, 0 is key1 and key2 are equal, 1 if key2 is greater
+     */
+    public static int compareKeys(DeclarationKey key1, DeclarationKey key2) {
+        if (key1.line.equals(key2.line)) {
             return 0;
         }
 
-        String str1Trimmed = trim(str1);
-        String str2Trimmed = trim(str2);
-
         // Move empty line to the very end. Ensure closing of selector is at the end
-        if (str2Trimmed.isEmpty() || "}".equals(str2Trimmed)) {
+        if (key2.isEmptyOrClosing) {
             return -1;
         }
-        if (str1Trimmed.isEmpty() || "}".equals(str1Trimmed)) {
+        if (key1.isEmptyOrClosing) {
             return 1;
         }
 
-        String parts1[] = str1.split(":");
-        String attribute1 = trim(parts1[0]);
-        String style1     = parts1.length > 1 ? trim(parts1[1]) : "";
-
-        String parts2[] = str2.split(":");
-        String attribute2 = trim(parts2[0]);
-        String style2     = parts2.length > 1 ? trim(parts2[1]) : "";
-
         // Move vendor-attributes (prefixed w/ "-", ex: "-moz-transition: opacity .3s;") behind
-        boolean attribute1IsVendor = attribute1.startsWith("-");
-        boolean attribute2IsVendor = attribute2.startsWith("-");
-        if (attribute1IsVendor && !attribute2IsVendor) {
+        if (key1.isVendorAttribute && !key2.isVendorAttribute) {
             return 1;
         }
-        if (attribute2IsVendor && !attribute1IsVendor) {
+        if (key2.isVendorAttribute && !key1.isVendorAttribute) {
             return -1;
         }
 
         // Move shorter of otherwise identically beginning attributes ahead
+        String attribute1 = key1.attribute;
+        String attribute2 = key2.attribute;
         int attribute1Length = attribute1.length();
         int attribute2Length = attribute2.length();
         if (attribute1Length > attribute2Length) {
@@ -73,17 +95,61 @@ public class CssAttributesStyleLineComparator implements Comparator<String> {
 
         // Move vendor-styles (prefixed w/ "-", ex: "width: -moz-calc(19.75rem - 1px);") behind
         if (attribute1.equals(attribute2)) {
-            boolean style1IsVendor = style1.matches("^-[a-z].*$");
-            boolean style2IsVendor = style2.matches("^-[a-z].*$");
-            if (style1IsVendor && !style2IsVendor) {
+            if (key1.isVendorStyle && !key2.isVendorStyle) {
                 return 1;
             }
-            if (style2IsVendor && !style1IsVendor) {
+            if (key2.isVendorStyle && !key1.isVendorStyle) {
                 return -1;
             }
         }
 
         // Regular compare
-        return str1.compareTo(str2);
+        return key1.line.compareTo(key2.line);
+    }
+
+    /**
+     * "<attribute>:<style>" line, parsed once for sorting
+     */
+    public static class DeclarationKey {
+        final String line;
+        final String attribute;
+        final boolean isEmptyOrClosing;
+        final boolean isVendorAttribute;
+        // Style begins w/ "-" followed by a lower case letter, ex: "-moz-calc(...)"
+        final boolean isVendorStyle;
+
+        public DeclarationKey(String line) {
+            this.line = line;
+
+            String trimmed   = trim(line);
+            isEmptyOrClosing = trimmed.isEmpty() || "}".equals(trimmed);
+
+            // Style: text between 1st and (optional) 2nd colon
+            int offsetColon      = line.indexOf(':');
+            int offsetColonNext  = -1 == offsetColon ? -1 : line.indexOf(':', offsetColon + 1);
+            attribute            = trim(-1 == offsetColon ? line : line.substring(0, offsetColon));
+            String style         = -1 == offsetColon
+                    ? ""
+                    : trim(line.substring(offsetColon + 1, -1 == offsetColonNext ? line.length() : offsetColonNext));
+
+            isVendorAttribute = attribute.startsWith("-");
+            isVendorStyle     = isVendorStyle(style);
+        }
+
+        /**
+         * Equivalent to style.matches("^-[a-z].*$")
+         */
+        private static boolean isVendorStyle(String style) {
+            if (style.length() < 2 || '-' != style.charAt(0) || style.charAt(1) < 'a' || style.charAt(1) > 'z') {
+                return false;
+            }
+            for (int i = 2; i < style.length(); i++) {
+                if (UtilsRegex.isLineTerminator(style.charAt(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
     }
 }
@@ -23,16 +23,10 @@ public class AccessType {
     @SuppressWarnings("unused")
     public static final String ACTION_TEXT = "Shift Access Type";
 
-    private StaticWordType accessTypes;
+    private static final StaticWordType accessTypes = new StaticWordType(new String[]{"public", "private", "protected"});
 
     public boolean isAccessType(String word) {
-        if (null == word) {
-            return false;
-        }
-        String[] keywordsAccessType = {"public", "private", "protected"};
-        accessTypes = new StaticWordType(keywordsAccessType);
-
-        return accessTypes.hasWord(word);
+        return null != word && accessTypes.hasWord(word);
     }
 
     /**
@@ -43,4 +37,14 @@ public class AccessType {
     public String getShifted(String value, boolean isUp) {
         return accessTypes.getShifted(value, isUp);
     }
+
+    /**
+     * @param  value        Access type keyword
+     * @param  isUp         Shifting up or down?
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String
+     */
+    public String getShifted(String value, boolean isUp, int amountSteps) {
+        return accessTypes.getShifted(value, isUp, amountSteps);
+    }
 }
\ No newline at end of file
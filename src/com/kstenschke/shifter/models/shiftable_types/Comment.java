@@ -119,13 +119,13 @@ public class Comment {
     }
 
     public static String getShifted(ActionContainer actionContainer) {
-        if (null != actionContainer.filename && UtilsFile.isPhpFile(actionContainer.filename) && isPhpBlockComment(actionContainer.selectedText)) {
+        if (null != actionContainer.getFilename() && UtilsFile.isPhpFile(actionContainer.getFilename()) && isPhpBlockComment(actionContainer.getSelectedText())) {
             // PHP Block-comment inside PHP or PHTML: convert to HTML comment
-            return "<!-- " + actionContainer.selectedText.substring(8, actionContainer.selectedText.length() - 5).trim() + " -->";
+            return "<!-- " + actionContainer.getSelectedText().substring(8, actionContainer.getSelectedText().length() - 5).trim() + " -->";
         }
 
         // Default comment shifting: toggle among single-line and block-comment style
-        String str = actionContainer.selectedText.trim();
+        String str = actionContainer.getSelectedText().trim();
 
         if (str.startsWith("//")) {
             if (!str.endsWith(" ")) {
@@ -182,8 +182,8 @@ public class Comment {
             CommandProcessor.getInstance().executeCommand(actionContainer.project, () -> {
                 final int index = modes.getSelectedIndex();
                 final String shiftedBlockCommentLines = 0 == index
-                    ? shiftMultipleBlockCommentLines(actionContainer.selectedText, true)
-                    : shiftMultipleBlockCommentLines(actionContainer.selectedText, false);
+                    ? shiftMultipleBlockCommentLines(actionContainer.getSelectedText(), true)
+                    : shiftMultipleBlockCommentLines(actionContainer.getSelectedText(), false);
 
                 actionContainer.writeUndoable(
                         actionContainer.getRunnableReplaceSelection(shiftedBlockCommentLines),
@@ -214,17 +214,17 @@ public class Comment {
 
                 switch (index) {
                     case 0:
-                        shifted = mergeMultipleLineComments(actionContainer.selectedText);
+                        shifted = mergeMultipleLineComments(actionContainer.getSelectedText());
                         break;
                     case 1:
-                        shifted = convertMultipleLineCommentsToBlockComment(actionContainer.selectedText);
+                        shifted = convertMultipleLineCommentsToBlockComment(actionContainer.getSelectedText());
                         break;
                     case 2:
-                        shifted = sortLineComments(actionContainer.selectedText, false);
+                        shifted = sortLineComments(actionContainer.getSelectedText(), false);
                         break;
                     case 3:
                     default:
-                        shifted = sortLineComments(actionContainer.selectedText, true);
+                        shifted = sortLineComments(actionContainer.getSelectedText(), true);
                         break;
                 }
                 actionContainer.writeUndoable(actionContainer.getRunnableReplaceSelection(shifted), ACTION_TEXT);
@@ -19,7 +19,6 @@ import com.kstenschke.shifter.models.comparators.CssAttributesStyleLineComparato
 import com.kstenschke.shifter.utils.UtilsTextual;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 import static org.apache.commons.lang.StringUtils.trim;
 
@@ -37,31 +36,7 @@ public class Css {
     }
 
     private static String sortAttributeStyleLinesInsideSelectors(String value) {
-        // Split CSS into groups of attribute-style lines per selector
-        String attributeGroups[]       = value.split("([^\r\n,{}]+)(,(?=[^}]*\\{)|\\s*\\{)");
-        String attributeGroupsSorted[] = new String[attributeGroups.length];
-
-        // 1. Collect groups of attribute-style lines per selector
-        int indexMatch = 0;
-        for (String attributeGroup : attributeGroups) {
-            if (indexMatch > 0) {
-                List<String> lines = splitAttributesIntoLines(attributeGroup);
-                prepareAttributeStyleLinesForConcat(lines);
-                sortAttributeStyles(lines);
-                attributeGroupsSorted[indexMatch] = UtilsTextual.rtrim(UtilsTextual.joinLines(lines).toString());
-
-                value = value.replaceFirst(Pattern.quote(attributeGroup), "###SHIFTERMARKER" + indexMatch + "###");
-            }
-            indexMatch++;
-        }
-        // 2. Replace attribute-rule groups by their sorted variant
-        for (int indexMarker = 1; indexMarker < indexMatch; indexMarker++) {
-            value = value.replaceFirst(
-                    "###SHIFTERMARKER" + indexMarker + "###",
-                    attributeGroupsSorted[indexMarker]);
-        }
-
-        return value;
+        return CssDeclarationsSorter.sort(value);
     }
 
     /**
@@ -107,29 +82,6 @@ public class Css {
      * @param  list Passed by reference
      */
     private static void sortAttributeStyles(List<String> list) {
-        list.sort(new CssAttributesStyleLineComparator());
-    }
-
-    /**
-     * Ensure that all attribute lines end w/ ";\n"
-     *
-     * @param  lines    Lists are passed by reference
-     */
-    private static void prepareAttributeStyleLinesForConcat(List<String> lines) {
-        int index = 0;
-        for (String line : lines) {
-            String trimmed = trim(line);
-            if (!trimmed.isEmpty() && !"}".equals(trimmed)) {
-                line = UtilsTextual.rtrim(line);
-
-                if (!line.endsWith(";")) {
-                    line = line + ";";
-                }
-                line = line + "\n";
-            }
-
-            lines.set(index, line);
-            index++;
-        }
+        CssAttributesStyleLineComparator.sort(list);
     }
 }
\ No newline at end of file
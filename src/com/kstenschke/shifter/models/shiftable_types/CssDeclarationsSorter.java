@@ -0,0 +1,236 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.comparators.CssAttributesStyleLineComparator;
+import com.kstenschke.shifter.models.comparators.CssAttributesStyleLineComparator.DeclarationKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming tokenizer of a stylesheet, sorting the declarations of every rule in place, in one pass.
+ * Understands strings, comments (incl. SCSS/LESS "//"), parenthesis (e.g. url(...)), interpolations "#{...}",
+ * at-rules and nested blocks. Whitespace layout is kept: sorted declarations are written into the original slots.
+ */
+class CssDeclarationsSorter {
+
+    private final String css;
+    private final int length;
+    private final StringBuilder sorted;
+
+    // Consecutive declarations of the current block, not yet written
+    private final List<Declaration> run = new ArrayList<>();
+
+    private int depthBlocks = 0;
+
+    private static class Declaration {
+        // Whitespace before the declaration, stays in place
+        final String prefix;
+        // Declaration incl. attached comments, ensured to end w/ ";"
+        final String text;
+        // Parsed "<attribute>:<style>;" w/o comments
+        final DeclarationKey key;
+
+        Declaration(String prefix, String text, String key) {
+            this.prefix = prefix;
+            this.text   = text;
+            this.key    = new DeclarationKey(key);
+        }
+    }
+
+    private CssDeclarationsSorter(String css) {
+        this.css = css;
+        length   = css.length();
+        sorted   = new StringBuilder(length + 16);
+    }
+
+    /**
+     * @param  css
+     * @return String   Given CSS w/ the declarations inside each (nested) rule sorted
+     */
+    static String sort(String css) {
+        return new CssDeclarationsSorter(css).sort();
+    }
+
+    private String sort() {
+        // Start of the current statement
+        int offsetStatement = 0;
+        int depthParenthesis = 0;
+
+        int offset = 0;
+        while (offset < length) {
+            int offsetCode = skipStringOrComment(offset, 0 == depthParenthesis);
+            if (offsetCode > offset) {
+                offset = offsetCode;
+                continue;
+            }
+
+            char c = css.charAt(offset);
+            if ('(' == c || ('{' == c && offset > 0 && '#' == css.charAt(offset - 1))) {
+                depthParenthesis++;
+            } else if (depthParenthesis > 0) {
+                if (')' == c || '}' == c) {
+                    depthParenthesis--;
+                }
+            } else if (';' == c) {
+                int offsetEnd = getOffsetAfterTrailingComment(offset + 1);
+                addStatement(offsetStatement, offset + 1, offsetEnd);
+                offsetStatement = offsetEnd;
+                offset          = offsetEnd;
+                continue;
+            } else if ('{' == c) {
+                // Selector or at-rule opening a nested block
+                flushRun();
+                sorted.append(css, offsetStatement, offset + 1);
+                offsetStatement = offset + 1;
+                depthBlocks++;
+            } else if ('}' == c) {
+                // Last declaration of a block may lack the ";", whitespace before the "}" stays in place
+                int offsetEnd = offset;
+                while (offsetEnd > offsetStatement && Character.isWhitespace(css.charAt(offsetEnd - 1))) {
+                    offsetEnd--;
+                }
+                addStatement(offsetStatement, offsetEnd, offsetEnd);
+                offsetStatement = offsetEnd;
+                flushRun();
+                sorted.append(css, offsetStatement, offset + 1);
+                offsetStatement = offset + 1;
+                if (depthBlocks > 0) {
+                    depthBlocks--;
+                }
+            }
+            offset++;
+        }
+
+        flushRun();
+        sorted.append(css, offsetStatement, length);
+
+        return sorted.toString();
+    }
+
+    /**
+     * Buffer declaration into the current run, or write other statement (at-rule, SCSS variable, ...) in place
+     *
+     * @param  offsetStart
+     * @param  offsetKeyEnd Offset after the ";" or after the last non-whitespace character
+     * @param  offsetEnd    Offset after the statement incl. trailing comment
+     */
+    private void addStatement(int offsetStart, int offsetKeyEnd, int offsetEnd) {
+        int offsetDeclaration = offsetStart;
+        while (offsetDeclaration < offsetKeyEnd && Character.isWhitespace(css.charAt(offsetDeclaration))) {
+            offsetDeclaration++;
+        }
+        // Skip leading comments
+        int offsetKey = offsetDeclaration;
+        while (offsetKey < offsetKeyEnd) {
+            int offsetAfterComment = skipStringOrComment(offsetKey, true);
+            if (offsetAfterComment == offsetKey && !Character.isWhitespace(css.charAt(offsetKey))) {
+                break;
+            }
+            offsetKey = Math.max(offsetAfterComment, offsetKey + 1);
+        }
+
+        String key = offsetKey < offsetKeyEnd ? css.substring(offsetKey, offsetKeyEnd) : "";
+        if (!isDeclaration(key)) {
+            flushRun();
+            sorted.append(css, offsetStart, offsetEnd);
+            return;
+        }
+
+        String text = css.substring(offsetDeclaration, offsetEnd);
+        if (!key.endsWith(";")) {
+            key  = key + ";";
+            text = css.substring(offsetDeclaration, offsetKeyEnd) + ";" + css.substring(offsetKeyEnd, offsetEnd);
+        }
+        run.add(new Declaration(css.substring(offsetStart, offsetDeclaration), text, key));
+    }
+
+    private boolean isDeclaration(String key) {
+        return depthBlocks > 0
+            && key.indexOf(':') > 0
+            // Order of at-rules (@include, @extend, ...) and variables can be significant
+            && '@' != key.charAt(0) && '$' != key.charAt(0);
+    }
+
+    /**
+     * Write buffered run of declarations, sorted, into the slots of the original ones
+     */
+    private void flushRun() {
+        if (run.isEmpty()) {
+            return;
+        }
+        List<Declaration> runSorted = new ArrayList<>(run);
+        runSorted.sort((declaration1, declaration2) -> CssAttributesStyleLineComparator.compareKeys(declaration1.key, declaration2.key));
+
+        for (int index = 0; index < run.size(); index++) {
+            sorted.append(run.get(index).prefix).append(runSorted.get(index).text);
+        }
+        run.clear();
+    }
+
+    /**
+     * @param  offset
+     * @return int      Offset after comment following on the same line, the given offset if there is none
+     */
+    private int getOffsetAfterTrailingComment(int offset) {
+        int offsetComment = offset;
+        while (offsetComment < length && (' ' == css.charAt(offsetComment) || '\t' == css.charAt(offsetComment))) {
+            offsetComment++;
+        }
+        if (offsetComment < length && '/' == css.charAt(offsetComment)) {
+            int offsetAfterComment = skipStringOrComment(offsetComment, true);
+            if (offsetAfterComment > offsetComment) {
+                return offsetAfterComment;
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * @param  offset
+     * @param  isLineCommentAllowed Not inside parenthesis, e.g. url(//example.com/image.png)
+     * @return int                  Offset after the string or comment starting at the given offset, the offset itself if there is none
+     */
+    private int skipStringOrComment(int offset, boolean isLineCommentAllowed) {
+        char c    = css.charAt(offset);
+        char next = offset + 1 < length ? css.charAt(offset + 1) : 0;
+
+        if ('\'' == c || '"' == c) {
+            for (int i = offset + 1; i < length; i++) {
+                char current = css.charAt(i);
+                if ('\\' == current) {
+                    i++;
+                } else if (c == current || '\n' == current) {
+                    // Unclosed string ends at the line end
+                    return i + 1;
+                }
+            }
+            return length;
+        }
+        if ('/' == c && '*' == next) {
+            int offsetEnd = css.indexOf("*/", offset + 2);
+            return -1 == offsetEnd ? length : offsetEnd + 2;
+        }
+        if (isLineCommentAllowed && '/' == c && '/' == next) {
+            int offsetEnd = css.indexOf('\n', offset + 2);
+            return -1 == offsetEnd ? length : offsetEnd;
+        }
+
+        return offset;
+    }
+}
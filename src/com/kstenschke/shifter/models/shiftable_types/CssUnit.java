@@ -16,10 +16,13 @@
 package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.utils.UtilsMap;
-import org.apache.commons.lang.StringUtils;
+import com.kstenschke.shifter.utils.UtilsRegex;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Pixel value class
@@ -41,16 +44,31 @@ public class CssUnit {
     private static final String UNIT_VMIN = "vmin";
     private static final String UNIT_VW   = "vw";
 
+    // Units detected in values, e.g. "10px"
+    private static final Set<String> UNITS_OF_VALUES = new HashSet<>(Arrays.asList(
+            "%", UNIT_CM, UNIT_EM, UNIT_IN, UNIT_PT, UNIT_PX, UNIT_REM, UNIT_VW, UNIT_VH, UNIT_VMIN, UNIT_VMAX
+    ));
+
+    // Units counted in stylesheets, when used as value (followed by ";")
+    static final String[] UNITS_COUNTED = {
+            UNIT_CM, UNIT_EM, UNIT_IN, UNIT_MM, UNIT_PC, UNIT_PT, UNIT_PX, UNIT_REM, UNIT_VW, UNIT_VH, UNIT_VMIN, UNIT_VMAX
+    };
+
     /**
      * @param  str      String to be checked
      * @return boolean  Does the given string represents a CSS length value?
      */
     public static boolean isCssUnitValue(String str) {
-        return str.matches("[0-9]*(%|cm|em|in|pt|px|rem|vw|vh|vmin|vmax)");
+        int offsetUnit = 0;
+        while (offsetUnit < str.length() && UtilsRegex.isDigit(str.charAt(offsetUnit))) {
+            offsetUnit++;
+        }
+
+        return isCssUnit(str.substring(offsetUnit));
     }
 
     public static boolean isCssUnit(String str) {
-        return str.matches("(%|cm|em|in|pt|px|rem|vw|vh|vmin|vmax)");
+        return UNITS_OF_VALUES.contains(str);
     }
 
     /**
@@ -59,6 +77,16 @@ public class CssUnit {
      * @return String   Length (em / px / pt / cm / in / rem / vw / vh / vmin / vmax) value shifted up or down by 1 unit
      */
     public String getShifted(String value, boolean isUp) {
+        return getShifted(value, isUp, 1);
+    }
+
+    /**
+     * @param  value        The full length value, post-fixed by its unit
+     * @param  isUp         Shifting up or down?
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String       Length value shifted up or down by the given amount of units
+     */
+    public String getShifted(String value, boolean isUp, int amountSteps) {
         // Get int from PX value
         String unit = detectUnit(value);
         try {
@@ -66,8 +94,8 @@ public class CssUnit {
                     ? Integer.parseInt(value)
                     : Integer.parseInt(value.replace(unit, ""));
 
-            // Shift up/down by 1
-            numericValue = numericValue + (isUp ? 1 : -1);
+            // Shift up/down by amount of steps
+            numericValue = numericValue + (isUp ? amountSteps : -amountSteps);
 
             // Prepend w/ unit again
             return Integer.toString(numericValue).concat(unit);
@@ -105,21 +133,19 @@ public class CssUnit {
      * @return String       most prominently used unit of given stylesheet, 'px' if none used yet
      */
     public static String determineMostProminentUnit(String stylesheet) {
-        HashMap<String, Integer> map = new HashMap<>();
+        return new CssUnitsIndex(stylesheet).getMostProminentUnit();
+    }
 
-        map.put(UNIT_CM,   StringUtils.countMatches(stylesheet,UNIT_CM + ";"));
-        map.put(UNIT_EM,   StringUtils.countMatches(stylesheet,UNIT_EM + ";"));
-        map.put(UNIT_IN,   StringUtils.countMatches(stylesheet,UNIT_IN + ";"));
-        map.put(UNIT_MM,   StringUtils.countMatches(stylesheet,UNIT_MM + ";"));
-        map.put(UNIT_PC,   StringUtils.countMatches(stylesheet,UNIT_PC + ";"));
-        map.put(UNIT_PT,   StringUtils.countMatches(stylesheet,UNIT_PT + ";"));
-        map.put(UNIT_PX,   StringUtils.countMatches(stylesheet,UNIT_PX + ";"));
-        map.put(UNIT_REM,  StringUtils.countMatches(stylesheet,UNIT_REM + ";"));
-        map.put(UNIT_VW,   StringUtils.countMatches(stylesheet,UNIT_VW + ";"));
-        map.put(UNIT_VH,   StringUtils.countMatches(stylesheet,UNIT_VH + ";"));
-        map.put(UNIT_VMIN, StringUtils.countMatches(stylesheet,UNIT_VMIN + ";"));
-        map.put(UNIT_VMAX, StringUtils.countMatches(stylesheet,UNIT_VMAX + ";"));
+    /**
+     * @param  amountsPerUnit   Amount of occurrences per unit, in order of UNITS_COUNTED
+     * @return String           most prominently used unit, 'px' if none used yet
+     */
+    static String getMostProminentUnit(int[] amountsPerUnit) {
+        HashMap<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < UNITS_COUNTED.length; i++) {
+            map.put(UNITS_COUNTED[i], amountsPerUnit[i]);
+        }
 
         return UtilsMap.getSumOfValues(map) == 0 ? "px" : UtilsMap.getKeyOfHighestValue(map);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.LinesTextIndex;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Histogram of CSS units used as values (e.g. "10px;") in a stylesheet, gathered in one pass.
+ * Kept up-to-date per edited lines, so the most prominent unit is looked up w/o scanning the stylesheet.
+ */
+public class CssUnitsIndex extends LinesTextIndex {
+
+    // Amount of occurrences per unit, in order of CssUnit.UNITS_COUNTED
+    private final int[] amountsPerUnit = new int[CssUnit.UNITS_COUNTED.length];
+
+    /**
+     * Constructor
+     *
+     * @param text  Stylesheet to count units in
+     */
+    public CssUnitsIndex(@NotNull CharSequence text) {
+        indexRange(text, 0, text.length(), 1);
+    }
+
+    /**
+     * @return String   most prominently used unit, 'px' if none used yet
+     */
+    public synchronized String getMostProminentUnit() {
+        return CssUnit.getMostProminentUnit(amountsPerUnit);
+    }
+
+    @Override
+    protected synchronized void indexRange(@NotNull CharSequence text, int startOffset, int endOffset, int delta) {
+        for (int offset = startOffset; offset < endOffset; offset++) {
+            if (';' != text.charAt(offset)) {
+                continue;
+            }
+            for (int i = 0; i < CssUnit.UNITS_COUNTED.length; i++) {
+                if (isUnitBeforeOffset(text, CssUnit.UNITS_COUNTED[i], offset)) {
+                    amountsPerUnit[i] += delta;
+                }
+            }
+        }
+    }
+
+    private static boolean isUnitBeforeOffset(CharSequence text, String unit, int offset) {
+        int offsetUnit = offset - unit.length();
+        if (offsetUnit < 0) {
+            return false;
+        }
+        for (int i = 0; i < unit.length(); i++) {
+            if (unit.charAt(i) != text.charAt(offsetUnit + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
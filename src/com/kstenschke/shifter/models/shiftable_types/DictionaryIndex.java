@@ -0,0 +1,300 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable index of the shifter dictionary, parsed once from the dictionary text:
+ * term => terms-list ("ring") to shift within, globally and per file extension
+ */
+public class DictionaryIndex {
+
+    private static final Pattern PATTERN_EXTENSIONS_BLOCK_START = Pattern.compile("\\(\\|([a-z|*]+\\|)*\\)(\\s)*\\{");
+
+    private static final String[] NO_TERMS = new String[0];
+
+    private static final String PATH_DEFAULT_DICTIONARY = "/com/kstenschke/shifter/resources/ui/dictionary.txt";
+
+    // Index of the current dictionary, built lazily, dropped when the dictionary is saved
+    private static volatile DictionaryIndex instance;
+
+    // All strings contained in the dictionary wrapped in "|", e.g. "|js|"
+    private final Set<String> delimitedTokens = new HashSet<>();
+
+    // Global lookup: first terms-list containing the term (case-sensitive, and lower-cased)
+    private final Map<String, String[]> globalTermsLists          = new HashMap<>();
+    private final Map<String, String[]> globalTermsListsLowerCase = new HashMap<>();
+
+    // Extension specific lookup: lower-cased terms contained in any block of the extension
+    private final Map<String, Set<String>> extensionTermsLowerCase = new HashMap<>();
+    // Extension specific lookup: first terms-list containing the term, inside the first block containing it
+    private final Map<String, Map<String, String[]>> extensionTermsLists = new HashMap<>();
+
+    /**
+     * @return DictionaryIndex  Index of the configured dictionary, or the default dictionary if none is configured
+     */
+    @NotNull
+    public static DictionaryIndex getInstance() {
+        DictionaryIndex index = instance;
+        if (null == index) {
+            String contents = ShifterPreferences.getDictionary();
+            // Stored dictionary is often an unmodified copy of the default dictionary (saved along w/ the settings form)
+            index = contents.isEmpty() || contents.equals(getDefaultDictionary())
+                    ? DefaultDictionaryIndex.INSTANCE
+                    : compile(contents);
+            instance = index;
+        }
+
+        return index;
+    }
+
+    /**
+     * @return String   Contents of the bundled default dictionary, read once
+     */
+    @NotNull
+    public static String getDefaultDictionary() {
+        return DefaultDictionaryContents.CONTENTS;
+    }
+
+    // Holders of the bundled default dictionary: read resp. parsed lazily on first use, shared and never dropped
+    private static class DefaultDictionaryContents {
+        static final String CONTENTS = readDefaultDictionary();
+    }
+    private static class DefaultDictionaryIndex {
+        static final DictionaryIndex INSTANCE = compile(DefaultDictionaryContents.CONTENTS);
+    }
+
+    /**
+     * Read the default dictionary from the classpath w/o instantiating (or loading) any UI class, works w/o IDE
+     *
+     * @return String
+     */
+    @NotNull
+    private static String readDefaultDictionary() {
+        //@note for the .txt resource to be included in the jar, it must be set in compiler resource settings
+        InputStream dictionaryStream = DictionaryIndex.class.getResourceAsStream(PATH_DEFAULT_DICTIONARY);
+
+        return null == dictionaryStream ? "" : UtilsFile.getFileStreamAsString(dictionaryStream);
+    }
+
+    /**
+     * Drop the current index, it is rebuilt from the stored dictionary on next use
+     */
+    public static void reset() {
+        instance = null;
+    }
+
+    /**
+     * @param  contents     Dictionary text, blocks of terms-lists w/ file extensions header, e.g. "(|js|ts|) {"
+     * @return DictionaryIndex
+     */
+    @NotNull
+    public static DictionaryIndex compile(@NotNull String contents) {
+        DictionaryIndex index = new DictionaryIndex();
+
+        index.indexDelimitedTokens(contents);
+        index.indexGlobalTerms(PATTERN_EXTENSIONS_BLOCK_START.matcher(contents).replaceAll(""));
+        index.indexExtensionBlocks(contents);
+
+        return index;
+    }
+
+    private DictionaryIndex() {
+    }
+
+    /**
+     * @param  token    e.g. file extension
+     * @return boolean  Does the dictionary contain the given token wrapped in "|"?
+     */
+    public boolean containsDelimitedToken(String token) {
+        return delimitedTokens.contains(token);
+    }
+
+    /**
+     * @param  term
+     * @return String[]|null    First terms-list of all blocks containing the given term, null if none
+     */
+    @Nullable
+    public String[] getGlobalTermsList(String term) {
+        return globalTermsLists.get(term);
+    }
+
+    /**
+     * @param  termLower    Lower-cased term
+     * @return String[]|null    First (lower-cased) terms-list containing the given lower-cased term, null if none
+     */
+    @Nullable
+    public String[] getGlobalTermsListLowerCase(String termLower) {
+        return globalTermsListsLowerCase.get(termLower);
+    }
+
+    /**
+     * @param  term
+     * @param  fileExtension
+     * @return boolean  Does any block of the given extension contain the term (case-insensitive)?
+     */
+    public boolean containsExtensionTerm(String term, String fileExtension) {
+        Set<String> terms = extensionTermsLowerCase.get(fileExtension);
+
+        return null != terms && terms.contains(term.toLowerCase());
+    }
+
+    /**
+     * @param  term
+     * @param  fileExtension
+     * @return String[]  Terms-list containing the given term (case-sensitive) out of the first block of the extension
+     *                   that contains the term case-insensitive; empty if that block lists it in different case only
+     */
+    @NotNull
+    public String[] getExtensionTermsList(String term, String fileExtension) {
+        Map<String, String[]> termsLists = extensionTermsLists.get(fileExtension);
+        String[] termsList = null == termsLists ? null : termsLists.get(term);
+
+        return null == termsList ? NO_TERMS : termsList;
+    }
+
+    private void indexDelimitedTokens(String contents) {
+        int offsetPrevious = contents.indexOf('|');
+        while (-1 != offsetPrevious) {
+            int offsetNext = contents.indexOf('|', offsetPrevious + 1);
+            if (-1 == offsetNext) {
+                return;
+            }
+            delimitedTokens.add(contents.substring(offsetPrevious + 1, offsetNext));
+            offsetPrevious = offsetNext;
+        }
+    }
+
+    /**
+     * @param dictionaryTerms   Dictionary w/ all extension block headers removed
+     */
+    private void indexGlobalTerms(String dictionaryTerms) {
+        for (String line : dictionaryTerms.split("\n")) {
+            String termsLine = stripBlockBraces(line);
+            if (termsLine.isEmpty()) {
+                continue;
+            }
+
+            String[] termsList          = splitTermsLine(termsLine);
+            String[] termsListLowerCase = null;
+            String termsLineLower       = termsLine.toLowerCase();
+            for (String term : getDelimitedTerms(termsLine)) {
+                globalTermsLists.putIfAbsent(term, termsList);
+            }
+            for (String term : getDelimitedTerms(termsLineLower)) {
+                if (!globalTermsListsLowerCase.containsKey(term)) {
+                    if (null == termsListLowerCase) {
+                        termsListLowerCase = splitTermsLine(termsLineLower);
+                    }
+                    globalTermsListsLowerCase.put(term, termsListLowerCase);
+                }
+            }
+        }
+    }
+
+    private void indexExtensionBlocks(String contents) {
+        // Number of the first block (per extension) that contains a lower-cased term
+        Map<String, Map<String, Integer>> blockOfTermByExtension = new HashMap<>();
+
+        Matcher m = PATTERN_EXTENSIONS_BLOCK_START.matcher(contents);
+        int blockNumber = 0;
+        while (m.find()) {
+            String extensionsList = m.group();
+            int offsetBlockEnd    = contents.indexOf('}', m.end());
+            String block          = -1 == offsetBlockEnd ? null : contents.substring(m.end(), offsetBlockEnd);
+
+            for (String fileExtension : getDelimitedTerms(extensionsList)) {
+                if (null == block) {
+                    continue;
+                }
+                Set<String> termsLowerCase            = extensionTermsLowerCase.computeIfAbsent(fileExtension, k -> new HashSet<>());
+                Map<String, String[]> termsLists      = extensionTermsLists.computeIfAbsent(fileExtension, k -> new HashMap<>());
+                Map<String, Integer> blockOfTermLower = blockOfTermByExtension.computeIfAbsent(fileExtension, k -> new HashMap<>());
+
+                for (String line : block.split("\n")) {
+                    String termsLine = stripBlockBraces(line);
+                    if (termsLine.isEmpty()) {
+                        continue;
+                    }
+                    String[] termsList = splitTermsLine(termsLine);
+                    for (String term : getDelimitedTerms(termsLine)) {
+                        String termLower = term.toLowerCase();
+                        termsLowerCase.add(termLower);
+                        blockOfTermLower.putIfAbsent(termLower, blockNumber);
+                        if (blockNumber == blockOfTermLower.get(termLower)) {
+                            termsLists.putIfAbsent(term, termsList);
+                        }
+                    }
+                }
+            }
+            blockNumber++;
+        }
+    }
+
+    /**
+     * @param  line     Line of dictionary
+     * @return String   Given line w/o curly braces, trimmed
+     */
+    private static String stripBlockBraces(String line) {
+        return line.replace("{", "").replace("}", "").trim();
+    }
+
+    /**
+     * @param  termsLine    e.g. "|public|private|protected|"
+     * @return String[]     e.g. ["public", "private", "protected"]
+     */
+    private static String[] splitTermsLine(String termsLine) {
+        String terms = termsLine.replaceFirst("\\|", "");
+        terms = UtilsTextual.replaceLast(terms, "|", "");
+
+        return terms.split("\\|");
+    }
+
+    /**
+     * @param  str
+     * @return Set<String>  All non-empty strings wrapped in "|" within the given string
+     */
+    private static Set<String> getDelimitedTerms(String str) {
+        Set<String> terms = new HashSet<>();
+
+        int offsetPrevious = str.indexOf('|');
+        while (-1 != offsetPrevious) {
+            int offsetNext = str.indexOf('|', offsetPrevious + 1);
+            if (-1 == offsetNext) {
+                break;
+            }
+            if (offsetNext > offsetPrevious + 1) {
+                terms.add(str.substring(offsetPrevious + 1, offsetNext));
+            }
+            offsetPrevious = offsetNext;
+        }
+
+        return terms;
+    }
+}
@@ -15,15 +15,7 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.ShifterPreferences;
-import com.kstenschke.shifter.utils.UtilsTextual;
-import com.kstenschke.shifter.resources.ui.PluginConfiguration;
-import org.apache.commons.lang.StringUtils;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.kstenschke.shifter.utils.UtilsArray;
 
 public class DictionaryTerm {
 
@@ -31,21 +23,16 @@ public class DictionaryTerm {
     private String fileExtension;
 
     // Terms-list containing the term to be shifted, set during detection
-    private String relevantTermsList;
+    private String[] relevantTermsList;
 
-    // The complete dictionary
-    private final String dictionaryContents;
+    // The parsed dictionary
+    private final DictionaryIndex dictionaryIndex;
 
     /**
      * Constructor
      */
     public DictionaryTerm() {
-        String contents = ShifterPreferences.getDictionary();
-        if (contents.isEmpty()) {
-            contents = new PluginConfiguration().getDefaultDictionary();
-        }
-
-        dictionaryContents = contents;
+        dictionaryIndex = DictionaryIndex.getInstance();
     }
 
     /**
@@ -57,28 +44,16 @@ public class DictionaryTerm {
      * @return boolean
      */
     public boolean isTermInDictionary(String term) {
-        if (dictionaryContents.contains("|" + fileExtension + "|")) {
-            // Merge all terms-blocks
-            String dictionaryTerms = dictionaryContents;
-            Object[] dictionaryExtensionsBlocks = getAllFileExtensionsBlockStarts();
-
-            for (Object dictionaryExtensionsBlock : dictionaryExtensionsBlocks) {
-                String currentExtensionsList = dictionaryExtensionsBlock.toString();
-                dictionaryTerms = dictionaryTerms.replace(currentExtensionsList, "");
-            }
-
+        if (dictionaryIndex.containsDelimitedToken(String.valueOf(fileExtension))) {
             // Term is contained? store list of shifting neighbours
-            if (dictionaryTerms.contains("|" + term + "|")) {
-                relevantTermsList = extractFirstMatchingTermsLine(dictionaryTerms, term);
+            relevantTermsList = dictionaryIndex.getGlobalTermsList(term);
+            if (null != relevantTermsList) {
                 return true;
             }
             // Not found case-sensitive, try insensitive
-            String dictionaryTermsLower = dictionaryTerms.toLowerCase();
-            String termLower = term.toLowerCase();
-            if (dictionaryTermsLower.contains("|" + termLower + "|")) {
-                relevantTermsList = extractFirstMatchingTermsLine(dictionaryTermsLower, termLower);
-                return true;
-            }
+            relevantTermsList = dictionaryIndex.getGlobalTermsListLowerCase(term.toLowerCase());
+
+            return null != relevantTermsList;
         }
 
         return false;
@@ -94,22 +69,13 @@ public class DictionaryTerm {
      * @return boolean
      */
     public boolean isTermInDictionary(String term, String fileExtension) {
-        if (null != fileExtension && dictionaryContents.contains("|" + fileExtension + "|")) {
+        if (null != fileExtension && dictionaryIndex.containsDelimitedToken(fileExtension)) {
             this.fileExtension = fileExtension;
 
-            // Reduce to first term-list of terms-block(s) of the given file extension, containing the given term
-            Object[] blocksOfExtension = getAllFileExtensionsBlockStarts(fileExtension);
-
-            // Go over all blocks of lists of shift-terms, fetch first one containing the term
-            for (Object aBlocksOfExtension : blocksOfExtension) {
-                String curExtensionsList = aBlocksOfExtension.toString();
-                String curShiftTermsBlock = StringUtils.substringBetween(dictionaryContents, curExtensionsList, "}");
-
-                // Term is contained? store list of shifting neighbours
-                if (UtilsTextual.containsCaseInSensitive(curShiftTermsBlock, "|" + term + "|")) {
-                    relevantTermsList = extractFirstMatchingTermsLine(curShiftTermsBlock, term);
-                    return true;
-                }
+            // Term is contained? store list of shifting neighbours
+            if (dictionaryIndex.containsExtensionTerm(term, fileExtension)) {
+                relevantTermsList = dictionaryIndex.getExtensionTermsList(term, fileExtension);
+                return true;
             }
         }
 
@@ -117,66 +83,12 @@ public class DictionaryTerm {
     }
 
     /**
-     * @param  termsLines   Terms lines from dictionary
-     * @param  term         Word to be shifted
-     * @return String       First matching term lLine
+     * @param  term
+     * @return boolean  Is the given term (or its lower-cased variant) contained in the (already fetched) list of relevant terms?
      */
-    private static String extractFirstMatchingTermsLine(String termsLines, String term) {
-        String sword = "|" + term + "|";
-        String[] allLines = termsLines.split("\n");
-        int amountLines = allLines.length;
-
-        String curLine;
-        int i = 0;
-        while (i < amountLines) {
-            curLine = allLines[i];
-            curLine = curLine.replaceAll("\\{*", "").replaceAll("}*", "").trim();
-
-            if (!curLine.isEmpty() && curLine.contains(sword)) {
-                return curLine;
-            }
-
-            i++;
-        }
-
-        return null;
-    }
-
-    /**
-     * Get all starting lines of term-blocks (extensions) from dictionary
-     *
-     * @return Object[]    e.g. [0 => "('js') {", 1 => "('html') {", 2 => ...]
-     */
-    private Object[] getAllFileExtensionsBlockStarts() {
-        List<String> allMatches = new ArrayList<>();
-
-        String pattern = "\\(\\|([a-z|*]+\\|)*\\)(\\s)*\\{";
-        Matcher m = Pattern.compile(pattern).matcher(dictionaryContents);
-        while (m.find()) {
-            allMatches.add(m.group());
-        }
-
-        return allMatches.toArray();
-    }
-
-    /**
-     * Get all starting lines of term-blocks (extensions) from dictionary,
-     * limited to those containing the given file extension
-     *
-     * @return Object[]
-     */
-    private Object[] getAllFileExtensionsBlockStarts(String fileExtension) {
-        List<String> allMatches = new ArrayList<>();
-        Object[] dictionaryExtensionsBlocks = getAllFileExtensionsBlockStarts();
-
-        for (Object dictionaryExtensionsBlock : dictionaryExtensionsBlocks) {
-            String curBlock = dictionaryExtensionsBlock.toString();
-            if (curBlock.contains("|" + fileExtension + "|")) {
-                allMatches.add(curBlock);
-            }
-        }
-
-        return allMatches.toArray();
+    public boolean isInRelevantTermsList(String term) {
+        return null != relevantTermsList
+            && (-1 != UtilsArray.getOffset(relevantTermsList, term) || -1 != UtilsArray.getOffset(relevantTermsList, term.toLowerCase()));
     }
 
     /**
@@ -187,23 +99,33 @@ public class DictionaryTerm {
      * @return String   The shifted word
      */
     public String getShifted(String word, boolean isUp) {
-        if (null == relevantTermsList) {
-            return word;
-        }
-
-        String shiftTerms = relevantTermsList.replaceFirst("\\|", "");
-        shiftTerms = UtilsTextual.replaceLast(shiftTerms, "|", "");
-
-        String[] termsList = shiftTerms.split("\\|");
-        if (termsList.length == 0) {
+        if (null == relevantTermsList || relevantTermsList.length == 0) {
             return word;
         }
 
-        StaticWordType wordType = new StaticWordType(termsList);
+        StaticWordType wordType = new StaticWordType(relevantTermsList);
         String shiftedWord = wordType.getShifted(word, isUp);
 
         return shiftedWord.equals(word)
                 ? wordType.getShifted(word.toLowerCase(), isUp)
                 : shiftedWord;
     }
-}
\ No newline at end of file
+
+    /**
+     * Shift given word by the given amount of steps at once, using the (already fetched) list of relevant terms
+     *
+     * @param  word         Word to be shifted
+     * @param  isUp         Shifting up? (otherwise down)
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String       The shifted word
+     */
+    public String getShifted(String word, boolean isUp, int amountSteps) {
+        if (null == relevantTermsList || relevantTermsList.length == 0) {
+            return word;
+        }
+
+        String term = -1 == UtilsArray.getOffset(relevantTermsList, word) ? word.toLowerCase() : word;
+
+        return new StaticWordType(relevantTermsList).getShifted(term, isUp, amountSteps);
+    }
+}
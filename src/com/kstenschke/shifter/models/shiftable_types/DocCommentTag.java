@@ -19,7 +19,6 @@ import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.utils.UtilsArray;
 import com.kstenschke.shifter.utils.UtilsFile;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -30,6 +29,10 @@ import java.util.regex.Pattern;
  */
 public class DocCommentTag {
 
+    private static final Pattern PATTERN_DOC_COMMENT_LINE = Pattern.compile("\\s*\\*\\s+@(" + new DocCommentTag().getAllTagsPiped() + ")");
+
+    private static final Pattern PATTERN_JS_METHOD_DECLARATION = Pattern.compile("[a-zA-Z_$][0-9a-zA-Z_$]*\\s*:\\s*function");
+
     private final String[] tagsJavaScript;
 
     private final String[] tagsJava;
@@ -68,12 +71,7 @@ public class DocCommentTag {
      * @return boolean
      */
     private boolean isDocCommentLineContext(String line) {
-        String allTagsPiped     = getAllTagsPiped();
-        String regExPatternLine = "\\s*\\*\\s+@(" + allTagsPiped + ")";
-
-        Matcher m = Pattern.compile(regExPatternLine).matcher(line.toLowerCase());
-
-        return m.find();
+        return PATTERN_DOC_COMMENT_LINE.matcher(line.toLowerCase()).find();
     }
 
     /**
@@ -96,8 +94,8 @@ public class DocCommentTag {
      * @param  textAfterCaret   Document text after the caret
      * @return Shifting result
      */
-    public String getShifted(String word, ActionContainer actionContainer, String textAfterCaret) {
-        String[] commentTags = getTagsByFilename(actionContainer.filename);
+    public String getShifted(String word, ActionContainer actionContainer, CharSequence textAfterCaret) {
+        String[] commentTags = getTagsByFilename(actionContainer.getFilename());
         int amountTags = commentTags.length;
         if (amountTags > 0) {
             String wordLower = word.toLowerCase();
@@ -123,20 +121,12 @@ public class DocCommentTag {
      * @param  jsCode JavaScript source code to be analyzed
      * @return String JavaScript method name
      */
-    private String parseNextMethod(String jsCode) {
-        List<String> allMatches = new ArrayList<>();
-
-        String regExPattern = "[a-zA-Z_$][0-9a-zA-Z_$]*\\s*:\\s*function";
-        Matcher m           = Pattern.compile(regExPattern).matcher(jsCode);
-        while (m.find()) {
-            if (!allMatches.contains(m.group())) {
-                allMatches.add(m.group());
-            }
-        }
+    private String parseNextMethod(CharSequence jsCode) {
+        Matcher m = PATTERN_JS_METHOD_DECLARATION.matcher(jsCode);
 
-        return allMatches.isEmpty()
-                ? ""
-                : "\t" + (allMatches.get(0).replace("function", "").replace(":", "").trim());
+        return m.find()
+                ? "\t" + (m.group().replace("function", "").replace(":", "").trim())
+                : "";
     }
 
     /**
@@ -17,7 +17,6 @@ package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.models.ActionContainer;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -25,6 +24,9 @@ import java.util.regex.Pattern;
  */
 public class DocCommentType {
 
+    private static final Pattern PATTERN_DOC_COMMENT_TAG_LINE =
+            Pattern.compile("\\s*\\*\\s+@(" + new DocCommentTag().getAllTagsPiped() + ")\\s*");
+
     /**
      * Check whether given String looks like a DOC comment line
      *
@@ -32,12 +34,7 @@ public class DocCommentType {
      * @return boolean.
      */
     public static boolean isDocCommentTypeLineContext(String line) {
-        String allTags = new DocCommentTag().getAllTagsPiped();
-        String regExPatternLine = "\\s*\\*\\s+@(" + allTags + ")\\s*";
-
-        Matcher m = Pattern.compile(regExPatternLine).matcher(line.toLowerCase());
-
-        return m.find();
+        return PATTERN_DOC_COMMENT_TAG_LINE.matcher(line.toLowerCase()).find();
     }
 
     /**
@@ -58,6 +55,6 @@ public class DocCommentType {
      * @return Shifting result
      */
     public String getShifted(String word, ActionContainer actionContainer) {
-        return new DocCommentDataType().getShifted(word, actionContainer.filename, actionContainer.isShiftUp);
+        return new DocCommentDataType().getShifted(word, actionContainer.getFilename(), actionContainer.isShiftUp);
     }
 }
\ No newline at end of file
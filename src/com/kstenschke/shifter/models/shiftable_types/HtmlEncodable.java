@@ -25,18 +25,22 @@ public class HtmlEncodable {
     public static final String ACTION_TEXT = "Shift HTML Entities";
 
     /**
-     * Check whether given character can be encoded to an HTML special char / or is already HTML encoded
+     * Check whether given character can be encoded to an HTML special char / or is already HTML encoded.
+     * Scans the characters w/o en/decoding: escapeHtml() changes exactly strings containing ", &, <, > or non-ASCII
+     * characters, and unescapeHtml() can only change strings containing "&".
      *
      * @param  str      String to be shifted currently
      * @return boolean
      */
     public static boolean isHtmlEncodable(String str) {
-        Integer strLenOriginal = str.length();
-
-        String encoded = StringEscapeUtils.escapeHtml(str);
-        String decoded = StringEscapeUtils.unescapeHtml(str);
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c > 0x7F || '"' == c || '&' == c || '<' == c || '>' == c) {
+                return true;
+            }
+        }
 
-        return !strLenOriginal.equals(encoded.length()) || !strLenOriginal.equals(decoded.length());
+        return false;
     }
 
     /**
@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import java.util.regex.Pattern;
+
 /**
  * JavaScript concatenation in TypeScript file: shift into interpolation
  */
@@ -22,11 +24,13 @@ public class JsConcatenation {
 
     public static final String ACTION_TEXT = "Convert to interpolation";
 
+    private static final Pattern PATTERN_WHITESPACE_PIPE_DIGIT = Pattern.compile("[\\s|\\d]");
+
     private int amountVariables = 0;
     private int amountStrings = 0;
 
     public static Boolean isJsConcatenation(String str) {
-        if (!str.contains("+") || str.replaceAll("[\\s|\\d]", "").length() < 3) {
+        if (!str.contains("+") || PATTERN_WHITESPACE_PIPE_DIGIT.matcher(str).replaceAll("").length() < 3) {
             return false;
         }
 
@@ -18,9 +18,13 @@ package com.kstenschke.shifter.models.shiftable_types;
 import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.utils.UtilsEnvironment;
 import com.kstenschke.shifter.utils.UtilsPhp;
+import com.kstenschke.shifter.utils.UtilsRegex;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.NonNls;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import static org.apache.commons.lang.StringUtils.trim;
 
 /**
@@ -35,6 +39,17 @@ public class JsDoc {
     @NonNls
     private static final String REGEX_DATA_TYPES_ALIEN = "(bool|float|int|integer|void)";
 
+    private static final Pattern PATTERN_DATA_TYPES_NATIVE = Pattern.compile(REGEX_DATA_TYPES_NATIVE);
+    private static final Pattern PATTERN_DATA_TYPES_ALIEN  = Pattern.compile(REGEX_DATA_TYPES_ALIEN);
+
+    // Whole type name not followed by further identifier characters, e.g. "int" but not "interval"
+    @NonNls
+    private static final String REGEX_END_OF_TYPE_NAME = "(?![\\w$.])";
+
+    // Invalid data type, as whole type name within compounds, e.g. "{int}", "{string|int}", "{int[]}"
+    private static final Pattern PATTERN_INVALID_DATA_TYPE_IN_COMPOUNDS =
+            Pattern.compile("(?<=[{|])(array|bool|date|event|float|integer|int|object)" + REGEX_END_OF_TYPE_NAME);
+
     public static boolean isJsDocBlock(String str) {
         str = trim(str);
 
@@ -82,14 +97,14 @@ public class JsDoc {
     public static boolean isDataType(String str) {
         str = trim(str.toLowerCase());
 
-        return str.matches(REGEX_DATA_TYPES_NATIVE) || str.matches(REGEX_DATA_TYPES_ALIEN);
+        return PATTERN_DATA_TYPES_NATIVE.matcher(str).matches() || PATTERN_DATA_TYPES_ALIEN.matcher(str).matches();
     }
 
     public static boolean isWordRightOfAtKeyword(String word, String line) {
         String keywords[] = new String[]{"@param", "@return", "@type"};
         for (String keyword : keywords) {
             if (line.contains(keyword)) {
-                line = trim(line.split(keyword)[1]);
+                line = trim(UtilsRegex.split(line, keyword)[1]);
                 return line.startsWith(word);
             }
         }
@@ -144,9 +159,9 @@ public class JsDoc {
      * @return
      */
     private static String addCompoundsToDataType(String line, String docCommentType) {
-        line = line.replaceAll("(?i)(" + docCommentType + "\\s*)" + REGEX_DATA_TYPES_NATIVE, "$1{$2}");
+        line = UtilsRegex.getPattern("(?i)(" + docCommentType + "\\s*)" + REGEX_DATA_TYPES_NATIVE + REGEX_END_OF_TYPE_NAME).matcher(line).replaceAll("$1{$2}");
 
-        return line.replaceAll("(?i)(" + docCommentType + "\\s*)" + REGEX_DATA_TYPES_ALIEN, "$1{$2}");
+        return UtilsRegex.getPattern("(?i)(" + docCommentType + "\\s*)" + REGEX_DATA_TYPES_ALIEN + REGEX_END_OF_TYPE_NAME).matcher(line).replaceAll("$1{$2}");
     }
 
     public static void correctInvalidReturnsCommentInDocument(ActionContainer actionContainer) {
@@ -164,52 +179,65 @@ public class JsDoc {
      * @return
      */
     public static boolean correctDocBlockInDocument(final ActionContainer actionContainer) {
-        String documentText = actionContainer.document.getText();
-        String docBlock = documentText.substring(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd);
+        String docBlock = actionContainer.editorText.subSequence(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd).toString();
+        String docBlockCorrected = getCorrectedDocBlock(docBlock, true);
+        if (docBlockCorrected.equals(docBlock)) {
+            return false;
+        }
+
+        actionContainer.writeUndoable(actionContainer.getRunnableReplaceSelection(docBlockCorrected,true), ACTION_TEXT);
+        return true;
+    }
+
+    /**
+     * @param  docBlock
+     * @param  isUnknownTypeInserted    Insert "{unknown}" into lines whose data type cannot be guessed?
+     * @return String                   Given JsDoc block w/ "@param", "@returns" and "@type" lines corrected, double empty lines reduced
+     */
+    public static String getCorrectedDocBlock(String docBlock, boolean isUnknownTypeInserted) {
         String lines[] = docBlock.split("\n");
 
         StringBuilder docBlockCorrected = new StringBuilder();
         int index = 0;
         for (String line : lines) {
             if (isAtParamLine(line) || isAtReturnsLine(line, true) || isAtTypeLine(line)) {
-                line = correctAtKeywordLine(line);
+                line = correctAtKeywordLine(line, isUnknownTypeInserted);
             }
 
             docBlockCorrected.append(index > 0 ? "\n" : "").append(line);
             index++;
         }
-        docBlockCorrected = new StringBuilder(reduceDoubleEmptyCommentLines(docBlockCorrected.toString()));
-        if (docBlockCorrected.toString().equals(docBlock)) {
-            return false;
-        }
 
-        actionContainer.writeUndoable(actionContainer.getRunnableReplaceSelection(docBlockCorrected.toString(),true), ACTION_TEXT);
-        return true;
+        return reduceDoubleEmptyCommentLines(docBlockCorrected.toString());
     }
 
     /**
      * Correct JsDoc lLine
      *
      * @param line
-     * @param keyword   "@param" / "@returns" / "@type"
+     * @param keyword                   "@param" / "@returns" / "@type"
+     * @param isUnknownTypeInserted
      * @return
      */
-    private static String correctAtKeywordLine(String line, String keyword) {
+    private static String correctAtKeywordLine(String line, String keyword, boolean isUnknownTypeInserted) {
         line = correctInvalidAtReturnsStatement(line);
 
         if (containsNoCompounds(line) && containsDataType(line, " ")) {
             line = addCompoundsToDataType(line, keyword);
         }
-        line = correctInvalidDataTypes(line, "{", true);
-        line = correctInvalidDataTypes(line, "|", true);
+        line = correctInvalidDataTypesInCompounds(line);
 
-        return containsDataType(line, "{") ? line : addDataType(line);
+        return containsDataType(line, "{") ? line : addDataType(line, isUnknownTypeInserted);
     }
 
     public static String correctAtKeywordLine(String line) {
+        return correctAtKeywordLine(line, true);
+    }
+
+    private static String correctAtKeywordLine(String line, boolean isUnknownTypeInserted) {
         String keywords[] = new String[]{"@param", "@returns", "@type"};
         for (String keyword : keywords) {
-            line = correctAtKeywordLine(line, keyword);
+            line = correctAtKeywordLine(line, keyword, isUnknownTypeInserted);
         }
         return line;
     }
@@ -218,33 +246,72 @@ public class JsDoc {
         return line.replace(" @return ", " @returns ");
     }
 
-    private static String correctInvalidDataTypes(String line) {
-        return correctInvalidDataTypes(line, "", false);
+    /**
+     * @param  dataType     Guessed data type
+     * @return String       Given data type, or its JavaScript equivalent
+     */
+    private static String correctInvalidDataType(String dataType) {
+        return "void".equals(dataType) ? "undefined" : getJavaScriptDataType(dataType);
+    }
+
+    /**
+     * Correct invalid data types in curly brackets, only whole type names: "{int|string}" but not "{interval}"
+     *
+     * @param  line
+     * @return String
+     */
+    private static String correctInvalidDataTypesInCompounds(String line) {
+        Matcher matcher = PATTERN_INVALID_DATA_TYPE_IN_COMPOUNDS.matcher(line);
+        if (!matcher.find()) {
+            return line;
+        }
+
+        StringBuffer corrected = new StringBuffer();
+        do {
+            matcher.appendReplacement(corrected, getJavaScriptDataType(matcher.group(1)));
+        } while (matcher.find());
+        matcher.appendTail(corrected);
+
+        return corrected.toString();
     }
-    private static String correctInvalidDataTypes(String line, String lhs, boolean allowVoid) {
-        if (!allowVoid) {
-            line = line.replace(lhs + "void",    lhs + "undefined");
+
+    /**
+     * @param  dataType
+     * @return String   JavaScript equivalent of given (e.g. PHP) data type, or the given type
+     */
+    private static String getJavaScriptDataType(String dataType) {
+        switch (dataType) {
+            case "array":
+                return "Array";
+            case "bool":
+                return "boolean";
+            case "date":
+                return "Date";
+            case "event":
+                return "Event";
+            case "float":
+            case "integer":
+            case "int":
+                return "number";
+            case "object":
+                return "Object";
+            default:
+                return dataType;
         }
-        return line
-                .replace(lhs + "array",      lhs + "Array")
-                .replace(lhs + "bool",       lhs + "boolean")
-                .replace(lhs + "booleanean", lhs + "boolean")
-                .replace(lhs + "date",       lhs + "Date")
-                .replace(lhs + "event",      lhs + "Event")
-                .replace(lhs + "float",      lhs + "number")
-                .replace(lhs + "int",        lhs + "number")
-                .replace(lhs + "integer",    lhs + "number")
-                .replace(lhs + "object",     lhs + "Object");
     }
 
-    private static String reduceDoubleEmptyCommentLines(String block) {
+    /**
+     * @param  block    Doc comment block
+     * @return String   Given block w/o consecutive empty comment lines and w/o empty line after the opening line
+     */
+    public static String reduceDoubleEmptyCommentLines(String block) {
         String lines[] = block.split("\n");
         StringBuilder blockCleaned = new StringBuilder();
 
         boolean wasPreviousEmpty = false;
         int index = 0;
         for (String line : lines) {
-            boolean isEmpty = 0 == index || (trim(trim(line).replaceAll("\\*", "")).isEmpty());
+            boolean isEmpty = 0 == index || (trim(trim(line).replace("*", "")).isEmpty());
 
             if (0 == index || !(isEmpty && wasPreviousEmpty)) {
                 blockCleaned.append(index > 0 ? "\n" : "").append(line);
@@ -256,21 +323,25 @@ public class JsDoc {
         return blockCleaned.toString();
     }
 
-    private static String addDataType(String line) {
+    private static String addDataType(String line, boolean isUnknownTypeInserted) {
         String parameterName =
-                trim(trim(line.replaceAll("\\*", ""))
+                trim(trim(line.replace("*", ""))
                 .replace("@param", "")
                 .replace("@returns", "")
                 .replace("@type", ""));
 
         if (parameterName.contains(" ")) {
-            parameterName = parameterName.split("\\s")[0];
+            parameterName = UtilsRegex.split(parameterName, "\\s")[0];
         }
 
         if (parameterName.isEmpty()) {
             return line;
         }
-        String jsDocParameterName = "{" + guessDataTypeByParameterName(parameterName) + "}";
+        String dataType = guessDataTypeByParameterName(parameterName);
+        if (!isUnknownTypeInserted && "unknown".equals(dataType)) {
+            return line;
+        }
+        String jsDocParameterName = "{" + dataType + "}";
 
         if (line.contains(jsDocParameterName)) {
             return line;
@@ -287,23 +358,23 @@ public class JsDoc {
         String camelWords[] = UtilsTextual.splitCamelCaseIntoWords(parameterName, true);
         String lastWord = camelWords[camelWords.length - 1];
 
-        if (parameterName.startsWith("$") || parameterName.matches("(?i)(\\w*elem)")) {
+        if (parameterName.startsWith("$") || UtilsRegex.matches(parameterName, "(?i)(\\w*elem)")) {
             return "*";
         }
-        if (parameterName.matches("(?i)(\\w*date\\w*)")) {
+        if (UtilsRegex.matches(parameterName, "(?i)(\\w*date\\w*)")) {
             return "Date";
         }
         if ("e".equals(parameterName)) {
             return "Event";
         }
-        if (lastWord.matches("func|function|callback")) {
+        if ("func".equals(lastWord) || "function".equals(lastWord) || "callback".equals(lastWord)) {
             return "Function";
         }
         if (parameterName.length() == 1) {
             // e.g. x, y, i, etc.
             return "number";
         }
-        if ("params".equals(parameterName) || parameterName.matches("(?i)(\\w*obj\\w*)")) {
+        if ("params".equals(parameterName) || UtilsRegex.matches(parameterName, "(?i)(\\w*obj\\w*)")) {
             return "Object";
         }
         if ("useragent".equals(parameterNameLower)) {
@@ -314,6 +385,6 @@ public class JsDoc {
             return "void";
         }
 
-        return correctInvalidDataTypes(UtilsPhp.guessDataTypeByParameterName(parameterName));
+        return correctInvalidDataType(UtilsPhp.guessDataTypeByParameterName(parameterName));
     }
 }
\ No newline at end of file
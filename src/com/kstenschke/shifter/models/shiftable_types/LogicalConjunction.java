@@ -15,6 +15,7 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.utils.UtilsRegex;
 import com.kstenschke.shifter.utils.UtilsTextual;
 
 /**
@@ -43,7 +44,7 @@ public class LogicalConjunction {
     }
 
     private String swapOrder(String text) {
-        String[] parts = text.split(isOrLogic ? "\\|\\|" : "&&");
+        String[] parts = UtilsRegex.split(text, isOrLogic ? "\\|\\|" : "&&");
 
         return parts[1].trim() + (isOrLogic ? " || " : " && ") + parts[0];
     }
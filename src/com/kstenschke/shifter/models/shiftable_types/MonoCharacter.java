@@ -47,8 +47,18 @@ public class MonoCharacter {
      * @return String
      */
     public String getShifted(String word, boolean isUp) {
+        return getShifted(word, isUp, 1);
+    }
+
+    /**
+     * @param  word         Mono-character string to be shifted
+     * @param  isUp         Shifting up or down?
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String
+     */
+    public String getShifted(String word, boolean isUp, int amountSteps) {
         char firstChar = word.toLowerCase().charAt(0);
-        firstChar      = (char) (firstChar + (isUp ? 1 : -1));
+        firstChar      = (char) (firstChar + (isUp ? amountSteps : -amountSteps));
 
         return StringUtils.repeat(String.valueOf(firstChar), word.length());
     }
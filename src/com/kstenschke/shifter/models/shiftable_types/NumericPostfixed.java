@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.utils.UtilsRegex;
+
 /**
  * String w/ numeric postfix
  */
@@ -25,7 +27,18 @@ public class NumericPostfixed {
      * @return boolean
      */
     public static boolean hasNumericPostfix(String word) {
-        return word.matches("^.+?\\d$");
+        // Equivalent to word.matches("^.+?\\d$")
+        int length = word.length();
+        if (length < 2 || !UtilsRegex.isDigit(word.charAt(length - 1))) {
+            return false;
+        }
+        for (int i = 0; i < length - 1; i++) {
+            if (UtilsRegex.isLineTerminator(word.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -36,19 +49,27 @@ public class NumericPostfixed {
      * @return String
      */
     public static String getShifted(String word, boolean isUp) {
+        return getShifted(word, isUp, 1);
+    }
+
+    /**
+     * @param  word         String w/ numeric postfix to be shifted
+     * @param  isUp         Shifting up or down?
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String
+     */
+    public static String getShifted(String word, boolean isUp, int amountSteps) {
         int indexFirstNumericChar,
             indexLastNumericChar;
 
         for (indexLastNumericChar = word.length() - 1; indexLastNumericChar >= 0; indexLastNumericChar--) {
-            String curChar = word.substring(indexLastNumericChar, indexLastNumericChar + 1);
-            if (curChar.matches("\\d")) {
+            if (UtilsRegex.isDigit(word.charAt(indexLastNumericChar))) {
                 // Found last numeric character
                 break;
             }
         }
         for (indexFirstNumericChar = indexLastNumericChar - 1; indexFirstNumericChar >= 0; indexFirstNumericChar--) {
-            String curChar = word.substring(indexFirstNumericChar, indexFirstNumericChar + 1);
-            if (!curChar.matches("\\d")) {
+            if (!UtilsRegex.isDigit(word.charAt(indexFirstNumericChar))) {
                 // Found non-numeric character
                 indexFirstNumericChar += 1;
                 break;
@@ -58,7 +79,7 @@ public class NumericPostfixed {
         String leadPart    = word.substring(0, indexFirstNumericChar);
         String numericPart = word.substring(indexFirstNumericChar, indexLastNumericChar + 1);
 
-        int shiftedNumber = Integer.parseInt(numericPart) + (isUp ? 1 : -1);
+        int shiftedNumber = Integer.parseInt(numericPart) + (isUp ? amountSteps : -amountSteps);
 
         return leadPart + shiftedNumber;
     }
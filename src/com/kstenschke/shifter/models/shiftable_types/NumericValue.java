@@ -22,8 +22,10 @@ import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.ui.JBColor;
 import com.intellij.ui.awt.RelativePoint;
 import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsRegex;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.Nullable;
 
@@ -49,7 +51,7 @@ public class NumericValue {
      * Constructor
      */
     public NumericValue() {
-        timestampShiftMode = ShifterPreferences.getShiftingModeOfTimestamps();
+        timestampShiftMode = ShifterSettings.get().shiftingModeOfTimestamps;
     }
 
     /**
@@ -57,7 +59,7 @@ public class NumericValue {
      * @return boolean     Does the given string represent a CSS length value?
      */
     public static boolean isNumericValue(String str) {
-        return str.matches("[0-9]+");
+        return UtilsRegex.isDigits(str);
     }
 
     /**
@@ -66,27 +68,38 @@ public class NumericValue {
      * @return String      Value shifted up or down by one
      */
     public String getShifted(String value, ActionContainer actionContainer) {
+        return getShifted(value, actionContainer, 1);
+    }
+
+    /**
+     * @param  value            String representing a numeric value
+     * @param  actionContainer
+     * @param  amountSteps      Amount of consecutive shifts to be done at once
+     * @return String           Value shifted up or down by the amount of steps (timestamps: by the amount of days)
+     */
+    public String getShifted(String value, ActionContainer actionContainer, int amountSteps) {
         int strLen = value.length();
 
         return strLen <= 7
             // Integer
-            ? Integer.toString(Integer.parseInt(value) + (actionContainer.isShiftUp ? 1 : -1))
+            ? Integer.toString(Integer.parseInt(value) + (actionContainer.isShiftUp ? amountSteps : -amountSteps))
             // Guessing that it is a UNIX or milliseconds timestamp
-            : getShiftedUnixTimestamp(value, actionContainer.isShiftUp, actionContainer.editor, actionContainer.filename);
+            : getShiftedUnixTimestamp(value, actionContainer.isShiftUp, amountSteps, actionContainer.editor, actionContainer.getFilename());
     }
 
     /**
      * @param value
      * @param isUp
+     * @param amountDays
      * @param editor Needed to gather position of info balloon (not shown if editor == null)
-     * @return String      UNIX timestamp shifted plus/minus one day
+     * @return String      UNIX timestamp shifted plus/minus the amount of days
      */
-    private String getShiftedUnixTimestamp(String value, boolean isUp, @Nullable Editor editor, String filename) {
+    private String getShiftedUnixTimestamp(String value, boolean isUp, int amountDays, @Nullable Editor editor, String filename) {
         int strLenOriginal = value.length();
         long shiftedTimestamp;
 
         int multiplier = getTimestampMultiplier(filename);
-        shiftedTimestamp = Long.parseLong(value) + ((isUp ? SECONDS_PER_DAY : -SECONDS_PER_DAY) * multiplier);
+        shiftedTimestamp = Long.parseLong(value) + ((isUp ? SECONDS_PER_DAY : -SECONDS_PER_DAY) * (long) amountDays * multiplier);
 
         if (null != editor) {
             // Create and show balloon w/ human-readable date
@@ -112,15 +125,12 @@ public class NumericValue {
     }
 
     private int getTimestampMultiplier(String filename) {
-        String fileEnding = UtilsFile.extractFileExtension(filename, true);
-        String fileEndingsSeconds = ("," + ShifterPreferences.getSecondsFileEndings() + ",").toLowerCase();
-
-        if (fileEndingsSeconds.contains("," + fileEnding + ",")) {
+        String fileEnding        = UtilsFile.extractFileExtension(filename, true);
+        ShifterSettings settings = ShifterSettings.get();
+        if (settings.isSecondsFileEnding(fileEnding)) {
             return 1;
         }
-
-        String fileEndingsMilliSeconds = ("," + ShifterPreferences.getMillisecondsFileEndings() + ",").toLowerCase();
-        if (fileEndingsMilliSeconds.contains("," + fileEnding + ",")) {
+        if (settings.isMillisecondsFileEnding(fileEnding)) {
             return 1000;
         }
 
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.utils.UtilsPhp;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * PHP array definition syntax: long "array(...)" <=> short "[...]" (since PHP 5.4).
+ * Detection and conversion scan the code once, w/ brackets inside strings, comments and heredoc / nowdoc being ignored.
+ */
+public class PhpArraySyntax {
+
+    private static final String KEYWORD_LONG_SYNTAX = "array";
+
+    // Characters after which "[" opens an array definition (not an index access like $a[0])
+    private static final String CHARS_BEFORE_SHORT_SYNTAX = "([{,=>:?;.!&|+-*/%<";
+
+    /**
+     * @param  str
+     * @return boolean  Is the given string an array in long syntax, e.g. "array(1, 2);"
+     */
+    public static boolean isLongSyntaxArray(String str) {
+        if (!str.startsWith(KEYWORD_LONG_SYNTAX)) {
+            return false;
+        }
+        int offsetOpening = getOffsetAfterWhitespace(str, KEYWORD_LONG_SYNTAX.length());
+
+        return offsetOpening < str.length() && '(' == str.charAt(offsetOpening) && isClosedAtEnd(str, offsetOpening);
+    }
+
+    /**
+     * @param  str
+     * @return boolean  Is the given string an array in short syntax, e.g. "[1, 2];"
+     */
+    public static boolean isShortSyntaxArray(String str) {
+        return str.startsWith("[") && isClosedAtEnd(str, 0);
+    }
+
+    /**
+     * @param  str          Code starting w/ array in long syntax
+     * @param  isRecursive  Convert also nested arrays?
+     * @return String       Code w/ array(s) converted to short syntax
+     */
+    @NotNull
+    public static String toShortSyntax(String str, boolean isRecursive) {
+        return convert(str, true, isRecursive);
+    }
+
+    /**
+     * @param  str          Code starting w/ array in short syntax
+     * @param  isRecursive  Convert also nested arrays?
+     * @return String       Code w/ array(s) converted to long syntax
+     */
+    @NotNull
+    public static String toLongSyntax(String str, boolean isRecursive) {
+        return convert(str, false, isRecursive);
+    }
+
+    /**
+     * Convert in one pass: the closing bracket of each converted array is replaced when it's reached
+     *
+     * @param  str
+     * @param  toShortSyntax    Convert long to short syntax, or vice versa?
+     * @param  isRecursive      Convert nested arrays, or only the first array?
+     * @return String
+     */
+    @NotNull
+    private static String convert(String str, boolean toShortSyntax, boolean isRecursive) {
+        int length = str.length();
+        StringBuilder converted = new StringBuilder(length);
+
+        // Closing bracket to be written per currently open bracket
+        StringBuilder closingBrackets = new StringBuilder();
+        boolean isConverted = false;
+
+        int offset = 0;
+        while (offset < length) {
+            int offsetCode = UtilsPhp.skipStringOrComment(str, offset);
+            if (offsetCode > offset) {
+                converted.append(str, offset, offsetCode);
+                offset = offsetCode;
+                continue;
+            }
+
+            char c = str.charAt(offset);
+            boolean isConvertible = isRecursive || !isConverted;
+            if (isConvertible && toShortSyntax && isLongSyntaxOpeningAt(str, offset)) {
+                converted.append('[');
+                closingBrackets.append(']');
+                isConverted = true;
+                offset = getOffsetAfterWhitespace(str, offset + KEYWORD_LONG_SYNTAX.length()) + 1;
+                continue;
+            }
+            if (isConvertible && !toShortSyntax && '[' == c && isShortSyntaxOpeningAt(str, offset)) {
+                converted.append(KEYWORD_LONG_SYNTAX).append('(');
+                closingBrackets.append(')');
+                isConverted = true;
+                offset++;
+                continue;
+            }
+
+            if ('(' == c) {
+                closingBrackets.append(')');
+            } else if ('[' == c) {
+                closingBrackets.append(']');
+            } else if ('{' == c) {
+                closingBrackets.append('}');
+            } else if ((')' == c || ']' == c || '}' == c) && closingBrackets.length() > 0) {
+                int indexLast = closingBrackets.length() - 1;
+                c = closingBrackets.charAt(indexLast);
+                closingBrackets.setLength(indexLast);
+            }
+            converted.append(c);
+            offset++;
+        }
+
+        return converted.toString();
+    }
+
+    /**
+     * @param  str
+     * @param  offsetOpening    Offset of an opening bracket
+     * @return boolean          Is the bracket closed (by matching type) at the end of the string, followed by nothing but ";"?
+     */
+    private static boolean isClosedAtEnd(String str, int offsetOpening) {
+        int offsetClosing = getOffsetOfClosingBracket(str, offsetOpening);
+        if (-1 == offsetClosing) {
+            return false;
+        }
+        for (int offset = offsetClosing + 1; offset < str.length(); offset++) {
+            if (';' != str.charAt(offset)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param  str
+     * @param  offsetOpening    Offset of an opening bracket
+     * @return int              Offset of the matching closing bracket, -1 if unbalanced
+     */
+    static int getOffsetOfClosingBracket(String str, int offsetOpening) {
+        StringBuilder closingBrackets = new StringBuilder();
+        int length = str.length();
+        int offset = offsetOpening;
+        while (offset < length) {
+            int offsetCode = UtilsPhp.skipStringOrComment(str, offset);
+            if (offsetCode > offset) {
+                offset = offsetCode;
+                continue;
+            }
+
+            char c = str.charAt(offset);
+            if ('(' == c) {
+                closingBrackets.append(')');
+            } else if ('[' == c) {
+                closingBrackets.append(']');
+            } else if ('{' == c) {
+                closingBrackets.append('}');
+            } else if (')' == c || ']' == c || '}' == c) {
+                int indexLast = closingBrackets.length() - 1;
+                if (indexLast < 0 || c != closingBrackets.charAt(indexLast)) {
+                    return -1;
+                }
+                if (0 == indexLast) {
+                    return offset;
+                }
+                closingBrackets.setLength(indexLast);
+            }
+            offset++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return boolean  Is there an "array(" keyword (not a method or function named alike) at the given offset?
+     */
+    private static boolean isLongSyntaxOpeningAt(String str, int offset) {
+        if (!str.regionMatches(offset, KEYWORD_LONG_SYNTAX, 0, KEYWORD_LONG_SYNTAX.length())) {
+            return false;
+        }
+        int offsetOpening = getOffsetAfterWhitespace(str, offset + KEYWORD_LONG_SYNTAX.length());
+        if (offsetOpening >= str.length() || '(' != str.charAt(offsetOpening)) {
+            return false;
+        }
+        if (offset > 0 && isIdentifierChar(str.charAt(offset - 1))) {
+            return false;
+        }
+        int offsetPrevious = getOffsetBeforeWhitespace(str, offset);
+
+        // Not a method: "->array(", "::array("
+        return offsetPrevious < 1
+            || !(('>' == str.charAt(offsetPrevious) && '-' == str.charAt(offsetPrevious - 1))
+                 || (':' == str.charAt(offsetPrevious) && ':' == str.charAt(offsetPrevious - 1)));
+    }
+
+    /**
+     * @return boolean  Does the "[" at the given offset open an array (not an index access)?
+     */
+    private static boolean isShortSyntaxOpeningAt(String str, int offset) {
+        int offsetPrevious = getOffsetBeforeWhitespace(str, offset);
+        if (-1 == offsetPrevious) {
+            return true;
+        }
+        char previous = str.charAt(offsetPrevious);
+        if (-1 != CHARS_BEFORE_SHORT_SYNTAX.indexOf(previous)) {
+            return true;
+        }
+
+        // Keyword followed by an array, e.g. "return [...]"
+        return isWordBefore(str, offsetPrevious + 1, "return") || isWordBefore(str, offsetPrevious + 1, "yield");
+    }
+
+    private static boolean isWordBefore(String str, int offsetEnd, String word) {
+        int offsetStart = offsetEnd - word.length();
+
+        return offsetStart >= 0
+            && str.regionMatches(true, offsetStart, word, 0, word.length())
+            && (0 == offsetStart || !isIdentifierChar(str.charAt(offsetStart - 1)));
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || '_' == c || '$' == c || '\\' == c;
+    }
+
+    private static int getOffsetAfterWhitespace(CharSequence str, int offset) {
+        while (offset < str.length() && Character.isWhitespace(str.charAt(offset))) {
+            offset++;
+        }
+        return offset;
+    }
+
+    /**
+     * @return int  Offset of the last non-whitespace character before the given offset, -1 if there is none
+     */
+    private static int getOffsetBeforeWhitespace(CharSequence str, int offset) {
+        offset--;
+        while (offset >= 0 && Character.isWhitespace(str.charAt(offset))) {
+            offset--;
+        }
+        return offset;
+    }
+}
@@ -17,7 +17,7 @@ package com.kstenschke.shifter.models.shiftable_types;
 
 import static org.apache.commons.lang.StringUtils.trim;
 
-class PhpDocComment {
+public class PhpDocComment {
 
     /**
      * Check whether given String is a PHP doc comment block
@@ -25,7 +25,7 @@ class PhpDocComment {
      * @param  str
      * @return boolean
      */
-    static boolean isPhpDocComment(String str) {
+    public static boolean isPhpDocComment(String str) {
         str = trim(str);
         String lines[] = str.split("\n");
 
@@ -37,6 +37,15 @@ class PhpDocComment {
     }
 
     public static String getShifted(String str) {
+        return getShifted(str, true);
+    }
+
+    /**
+     * @param  str
+     * @param  isUnknownTypeInserted    Insert "unknown" into @param lines whose data type cannot be guessed?
+     * @return String                   Given PHPDoc block w/ data types inserted into @param lines that have none
+     */
+    public static String getShifted(String str, boolean isUnknownTypeInserted) {
         String lines[] = str.split("\n");
         StringBuilder shifted = new StringBuilder();
 
@@ -44,7 +53,10 @@ class PhpDocComment {
         for (String line : lines) {
             if (containsAtParam(line) && !PhpDocParam.containsDataType(line) && PhpDocParam.containsVariableName(line)) {
                 // PHP doc @param comment that contains variable name but no data type: guess data type by variable name
-                line = PhpDocParam.getShifted(line);
+                String lineShifted = PhpDocParam.getShifted(line);
+                if (isUnknownTypeInserted || !lineShifted.contains("@param unknown")) {
+                    line = lineShifted;
+                }
             }
             shifted.append(line).append(indexLine < lines.length ? "\n" : "");
             indexLine++;
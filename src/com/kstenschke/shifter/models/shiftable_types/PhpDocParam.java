@@ -75,9 +75,9 @@ public class PhpDocParam {
     }
 
     public static boolean shiftSelectedPhpDocInDocument(final ActionContainer actionContainer) {
-        if (PhpDocComment.isPhpDocComment(actionContainer.selectedText) && PhpDocComment.containsAtParam(actionContainer.selectedText)) {
-            final String shifted = PhpDocComment.getShifted(actionContainer.selectedText);
-            if (!shifted.equals(actionContainer.selectedText)) {
+        if (PhpDocComment.isPhpDocComment(actionContainer.getSelectedText()) && PhpDocComment.containsAtParam(actionContainer.getSelectedText())) {
+            final String shifted = PhpDocComment.getShifted(actionContainer.getSelectedText());
+            if (!shifted.equals(actionContainer.getSelectedText())) {
                 // PHPDoc comment block: guess missing data shiftable_types by resp. variable names
                 actionContainer.writeUndoable(
                         actionContainer.getRunnableReplaceSelection(shifted, true),
@@ -85,16 +85,16 @@ public class PhpDocParam {
                 return true;
             }
         }
-        if (!actionContainer.selectedText.contains("\n")
-          && DocCommentType.isDocCommentTypeLineContext(actionContainer.selectedText)
-          && isPhpDocParamLine(actionContainer.selectedText)
-          && !containsDataType(actionContainer.selectedText)) {
-            String variableName = trim(extractVariableName(actionContainer.selectedText).replace("$", ""));
+        if (!actionContainer.getSelectedText().contains("\n")
+          && DocCommentType.isDocCommentTypeLineContext(actionContainer.getSelectedText())
+          && isPhpDocParamLine(actionContainer.getSelectedText())
+          && !containsDataType(actionContainer.getSelectedText())) {
+            String variableName = trim(extractVariableName(actionContainer.getSelectedText()).replace("$", ""));
             final String dataType     = UtilsPhp.guessDataTypeByParameterName(variableName);
             if (!"unknown".equals(dataType)) {
                 // PHPDoc @param line w/o data type, e.g. "* @param $name"
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(insertDataTypeIntoParamLine(actionContainer.selectedText, dataType)),
+                        actionContainer.getRunnableReplaceSelection(insertDataTypeIntoParamLine(actionContainer.getSelectedText(), dataType)),
                         "Shift PHPDoc param");
                 return true;
             }
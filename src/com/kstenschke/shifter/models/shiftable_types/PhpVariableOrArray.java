@@ -15,15 +15,9 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 import com.kstenschke.shifter.models.ActionContainer;
-import com.kstenschke.shifter.utils.UtilsPhp;
-import com.kstenschke.shifter.utils.UtilsTextual;
-import org.jetbrains.annotations.NotNull;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import com.kstenschke.shifter.utils.UtilsRegex;
 
 /**
  * PHP Variable (word w/ $ prefix), includes array definition (toggle long versus shorthand syntax)
@@ -51,7 +45,7 @@ public class PhpVariableOrArray {
         if (str.startsWith("$")) {
             String identifier = str.substring(1);
             // Must contain a-z,A-Z or 0-9, _
-            isVariable = identifier.toLowerCase().matches("[a-zA-Z0-9_]+");
+            isVariable = isWordChars(identifier.toLowerCase());
         }
 
         if (!isVariable) {
@@ -63,35 +57,52 @@ public class PhpVariableOrArray {
     }
 
     private boolean isShiftablePhpArray(String str) {
-        boolean isActiveConvertLongToShort = ShifterPreferences.getIsActiveConvertPhpArrayLongToShort();
-        boolean isActiveConvertShortToLong = ShifterPreferences.getIsActiveConvertPhpArrayShortToLong();
+        boolean isActiveConvertLongToShort = ShifterSettings.get().isActiveConvertPhpArrayLongToShort;
+        boolean isActiveConvertShortToLong = ShifterSettings.get().isActiveConvertPhpArrayShortToLong;
 
         if (!isActiveConvertLongToShort && !isActiveConvertShortToLong) {
             return false;
         }
 
-        isConventionalArray = str.matches("(array\\s*\\()((.|\\n|\\r|\\s)*)(\\)(;)*)");
-        boolean isShorthandArray = !isConventionalArray && str.matches("(\\[)((.|\\n|\\r|\\s)*)(])(;)*");
+        isConventionalArray = PhpArraySyntax.isLongSyntaxArray(str);
+        boolean isShorthandArray = !isConventionalArray && PhpArraySyntax.isShortSyntaxArray(str);
 
         return (isActiveConvertLongToShort && isConventionalArray) || (isActiveConvertShortToLong && isShorthandArray);
     }
 
-    public static boolean isStaticShiftablePhpArray(String str) {
-        boolean isActiveConvertLongToShort = ShifterPreferences.getIsActiveConvertPhpArrayLongToShort();
-        boolean isActiveConvertShortToLong = ShifterPreferences.getIsActiveConvertPhpArrayShortToLong();
-
-        if (!isActiveConvertLongToShort && !isActiveConvertShortToLong) {
+    /**
+     * @param  str
+     * @return boolean  Does the given string consist of (one or more) characters a-z, A-Z, 0-9, _ only?
+     */
+    private static boolean isWordChars(String str) {
+        if (str.isEmpty()) {
             return false;
         }
+        for (int i = 0; i < str.length(); i++) {
+            if (!UtilsRegex.isWordChar(str.charAt(i))) {
+                return false;
+            }
+        }
 
-        boolean isConventionalArray = str.matches("(array\\s*\\()((.|\\n|\\r|\\s)*)(\\)(;)*)");
-        boolean isShorthandArray = !isConventionalArray && str.matches("(\\[)((.|\\n|\\r|\\s)*)(])(;)*");
+        return true;
+    }
 
-        return (isActiveConvertLongToShort && isConventionalArray) || (isActiveConvertShortToLong && isShorthandArray);
+    /**
+     * @return boolean  Is the string of the latest detection a convertible array?
+     */
+    public boolean isShiftableArray() {
+        return isShiftableArray;
+    }
+
+    /**
+     * @return boolean  Is the string of the latest detection a convertible array in long syntax: array(...)?
+     */
+    public boolean isShiftableLongSyntaxArray() {
+        return isShiftableArray && isConventionalArray;
     }
 
     /**
-     * Shift PX value up/down by 16px
+     * Shift PHP variable to the alphabetically next/previous one in the document, or convert array
      *
      * @param  variable     Variable name string
      * @param  actionContainer
@@ -102,83 +113,36 @@ public class PhpVariableOrArray {
         if (isShiftableArray) {
             return getShiftedArray(variable);
         }
-
-        // Extract array of all PHP var names
-        String text = actionContainer.editorText.toString();
-        List<String> phpVariables = UtilsPhp.extractPhpVariables(text);
-
-        // Sort var names alphabetically
-        Collections.sort(phpVariables);
-        List<String> allLeadChars = null;
-        if (null != moreCount && 1 == moreCount) {
-            // During "shift more": iterate over variables reduced to first per every lead-character
-            phpVariables = reducePhpVarsToFirstPerLeadChar(phpVariables);
-            allLeadChars = getLeadChars(phpVariables);
-        }
-
-        int amountVars = phpVariables.size();
-
-        // Find position of given variable
-        int curIndex = getVariableIndex(variable, moreCount, phpVariables, allLeadChars);
-        if (-1 == curIndex || 0 == amountVars) {
+        if (null != moreCount && moreCount > 1) {
+            // "Shift more" shifts only once, at its first iteration
             return variable;
         }
 
-        // Find next/previous variable name (only once during iterations of "shift more")
-        if (null == moreCount || 1 == moreCount) {
-            curIndex = NumericValue.moduloShiftInteger(curIndex, amountVars, actionContainer.isShiftUp);
-        }
-
-        return phpVariables.get(curIndex);
-    }
-
-    @NotNull
-    private Integer getVariableIndex(String variable, Integer moreCount, List<String> phpVariables, List<String> allLeadChars) {
-        if (null == moreCount || moreCount > 1) {
-            return phpVariables.indexOf(variable);
-        }
-
-        return null == allLeadChars
-            ? -1
-            : allLeadChars.indexOf(variable.substring(1, 2));
-    }
-
-    private List<String> reducePhpVarsToFirstPerLeadChar(List<String> allMatches) {
-        List<String> reducedMatches = new ArrayList<>();
-        String leadCharPrev = "";
-        String leadCharCur;
-        for (String currentMatch : allMatches) {
-            leadCharCur = currentMatch.substring(1,2);
-            if (!leadCharCur.matches(leadCharPrev)) {
-                reducedMatches.add(currentMatch);
-            }
-            leadCharPrev = leadCharCur;
-        }
+        PhpVariablesIndex phpVariablesIndex = actionContainer.textBuffer.getTextIndex(PhpVariablesIndex.class, PhpVariablesIndex::new);
+        String shifted = null == moreCount
+                ? phpVariablesIndex.getShifted(variable, actionContainer.isShiftUp)
+                // During "shift more": shift among first variables per every lead-character
+                : phpVariablesIndex.getShiftedLeadChar(variable, actionContainer.isShiftUp);
 
-        return reducedMatches;
+        return null == shifted ? variable : shifted;
     }
 
     /**
-     * @param  matches
-     * @return List of first letters of given matches
+     * @param  variable
+     * @return String   converted array(...) <=> [...]
      */
-    private List<String> getLeadChars(List<String> matches) {
-        List<String> leadChars = new ArrayList<>();
-
-        for (String currentMatch : matches) {
-            leadChars.add(currentMatch.substring(1,2));
-        }
-
-        return leadChars;
+    public String getShiftedArray(String variable) {
+        return getShiftedArray(variable, false);
     }
 
     /**
      * @param  variable
-     * @return String   converted array(...) <=> [...]
+     * @param  isRecursive  Convert also nested arrays?
+     * @return String       converted array(...) <=> [...]
      */
-    public String getShiftedArray(String variable) {
+    public String getShiftedArray(String variable, boolean isRecursive) {
         return isConventionalArray
-            ? UtilsTextual.replaceLast(variable.replaceFirst("array", "[").replaceFirst("\\(", ""), ")", "]")
-            : UtilsTextual.replaceLast(variable.replaceFirst("\\[", "array("), "]", ")");
+            ? PhpArraySyntax.toShortSyntax(variable, isRecursive)
+            : PhpArraySyntax.toLongSyntax(variable, isRecursive);
     }
 }
\ No newline at end of file
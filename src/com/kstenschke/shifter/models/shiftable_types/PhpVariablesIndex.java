@@ -0,0 +1,149 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.LinesTextIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted index of all PHP variables (e.g. "$foo") in a document, w/ the amount of occurrences of each.
+ * Kept up-to-date per edited lines, lookup of the next/previous variable is O(log n).
+ */
+public class PhpVariablesIndex extends LinesTextIndex {
+
+    // Variable => amount of occurrences
+    private final TreeMap<String, Integer> variables = new TreeMap<>();
+
+    // Lead character (after "$") => alphabetically first variable w/ that lead character
+    private final TreeMap<Character, String> firstVariablePerLeadChar = new TreeMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param text  Text to extract PHP variables from
+     */
+    public PhpVariablesIndex(@NotNull CharSequence text) {
+        indexRange(text, 0, text.length(), 1);
+    }
+
+    /**
+     * @param  variable     e.g. "$foo"
+     * @param  isUp         Shifting up or down?
+     * @return String|null  Alphabetically next/previous variable (wrapping around at the end/start), null if given variable isn't indexed
+     */
+    @Nullable
+    public synchronized String getShifted(String variable, boolean isUp) {
+        if (!variables.containsKey(variable)) {
+            return null;
+        }
+        String shifted = isUp ? variables.higherKey(variable) : variables.lowerKey(variable);
+        if (null == shifted) {
+            shifted = isUp ? variables.firstKey() : variables.lastKey();
+        }
+
+        return shifted;
+    }
+
+    /**
+     * @param  variable     e.g. "$foo"
+     * @param  isUp         Shifting up or down?
+     * @return String|null  First variable of next/previous lead character (wrapping around), null if the lead character isn't indexed
+     */
+    @Nullable
+    public synchronized String getShiftedLeadChar(String variable, boolean isUp) {
+        Character leadChar = variable.charAt(1);
+        if (!firstVariablePerLeadChar.containsKey(leadChar)) {
+            return null;
+        }
+        Map.Entry<Character, String> shifted = isUp
+                ? firstVariablePerLeadChar.higherEntry(leadChar)
+                : firstVariablePerLeadChar.lowerEntry(leadChar);
+        if (null == shifted) {
+            shifted = isUp ? firstVariablePerLeadChar.firstEntry() : firstVariablePerLeadChar.lastEntry();
+        }
+
+        return shifted.getValue();
+    }
+
+    @Override
+    protected synchronized void indexRange(@NotNull CharSequence text, int startOffset, int endOffset, int delta) {
+        int offset = startOffset;
+        while (offset < endOffset) {
+            if ('$' != text.charAt(offset)) {
+                offset++;
+                continue;
+            }
+            int offsetEnd = offset + 1;
+            while (offsetEnd < endOffset && isVariableNameChar(text.charAt(offsetEnd))) {
+                offsetEnd++;
+            }
+            if (offsetEnd > offset + 1) {
+                String variable = text.subSequence(offset, offsetEnd).toString();
+                if (delta > 0) {
+                    addVariable(variable);
+                } else {
+                    removeVariable(variable);
+                }
+            }
+            offset = offsetEnd;
+        }
+    }
+
+    private void addVariable(String variable) {
+        if (variables.merge(variable, 1, Integer::sum) > 1) {
+            return;
+        }
+        char leadChar = variable.charAt(1);
+        String firstVariable = firstVariablePerLeadChar.get(leadChar);
+        if (null == firstVariable || variable.compareTo(firstVariable) < 0) {
+            firstVariablePerLeadChar.put(leadChar, variable);
+        }
+    }
+
+    private void removeVariable(String variable) {
+        Integer amount = variables.get(variable);
+        if (null == amount) {
+            return;
+        }
+        if (amount > 1) {
+            variables.put(variable, amount - 1);
+            return;
+        }
+        variables.remove(variable);
+
+        char leadChar = variable.charAt(1);
+        if (variable.equals(firstVariablePerLeadChar.get(leadChar))) {
+            String next = variables.ceilingKey(variable);
+            if (null != next && leadChar == next.charAt(1)) {
+                firstVariablePerLeadChar.put(leadChar, next);
+            } else {
+                firstVariablePerLeadChar.remove(leadChar);
+            }
+        }
+    }
+
+    /**
+     * @param  c
+     * @return boolean  Is given character part of a PHP variable name, that is: a-z, A-Z, 0-9, _
+     */
+    private static boolean isVariableNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || '_' == c;
+    }
+}
@@ -15,12 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 import com.kstenschke.shifter.models.ActionContainer;
-import com.kstenschke.shifter.utils.UtilsTextual;
-
-import java.util.Collections;
-import java.util.List;
 
 /**
  * Quoted String.
@@ -30,8 +26,10 @@ public class QuotedString {
     private String quoteChar;
 
     public static boolean containsShiftableQuotes(String str) {
-        return (ShifterPreferences.getIsActiveConvertSingleQuotes() && str.contains("'"))
-            || (ShifterPreferences.getIsActiveConvertDoubleQuotes() && str.contains("\""));
+        ShifterSettings settings = ShifterSettings.get();
+
+        return (settings.isActiveConvertSingleQuotes && str.contains("'"))
+            || (settings.isActiveConvertDoubleQuotes && str.contains("\""));
     }
 
     public static boolean containsEscapedQuotes(String str) {
@@ -66,18 +64,9 @@ public class QuotedString {
      * @return String
      */
     public String getShifted(String word, ActionContainer actionContainer) {
-        // Get array of all strings wrapped in current quoting sign
-        String text = actionContainer.editorText.toString();
-        List<String> allMatches = UtilsTextual.extractQuotedStrings(text, quoteChar);
-
-        // Sort var names alphabetically
-        Collections.sort(allMatches);
-        int amountVars = allMatches.size();
-
-        // Find position of given variable, return next/previous variable name
-        int curIndex = allMatches.indexOf(word);
-        curIndex     = NumericValue.moduloShiftInteger(curIndex, amountVars, actionContainer.isShiftUp);
+        QuotedStringsIndex quotedStringsIndex = actionContainer.textBuffer.getTextIndex(QuotedStringsIndex.class, QuotedStringsIndex::new);
+        String shifted = quotedStringsIndex.getShifted(word, quoteChar.charAt(0), actionContainer.isShiftUp);
 
-        return allMatches.get(curIndex);
+        return null == shifted ? word : shifted;
     }
 }
\ No newline at end of file
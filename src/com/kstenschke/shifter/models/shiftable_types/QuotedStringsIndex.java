@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.LinesTextIndex;
+import com.kstenschke.shifter.utils.UtilsRegex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted index of all alphanumeric strings wrapped in quotes (e.g. 'foo', "bar", `baz`) in a document,
+ * per quote character, w/ the amount of occurrences of each.
+ * Kept up-to-date per edited lines, lookup of the next/previous string is O(log n).
+ */
+public class QuotedStringsIndex extends LinesTextIndex {
+
+    private static final String QUOTE_CHARS = "'\"`";
+
+    // Quote character => string => amount of occurrences
+    private final Map<Character, TreeMap<String, Integer>> stringsPerQuoteChar = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param text  Text to extract quoted strings from
+     */
+    public QuotedStringsIndex(@NotNull CharSequence text) {
+        indexRange(text, 0, text.length(), 1);
+    }
+
+    /**
+     * @param  word         String w/o quotes
+     * @param  quoteChar    Quote character wrapping the string
+     * @param  isUp         Shifting up or down?
+     * @return String|null  Alphabetically next/previous string wrapped in same quotes (wrapping around at the end/start),
+     *                      first/last string if given one isn't indexed, null if there are no such strings
+     */
+    @Nullable
+    public synchronized String getShifted(String word, char quoteChar, boolean isUp) {
+        TreeMap<String, Integer> strings = stringsPerQuoteChar.get(quoteChar);
+        if (null == strings || strings.isEmpty()) {
+            return null;
+        }
+        String shifted = !strings.containsKey(word)
+                ? null
+                : (isUp ? strings.higherKey(word) : strings.lowerKey(word));
+        if (null == shifted) {
+            shifted = isUp ? strings.firstKey() : strings.lastKey();
+        }
+
+        return shifted;
+    }
+
+    @Override
+    protected synchronized void indexRange(@NotNull CharSequence text, int startOffset, int endOffset, int delta) {
+        int length = text.length();
+        int offset = startOffset;
+        while (offset < endOffset) {
+            if (!UtilsRegex.isWordChar(text.charAt(offset))) {
+                offset++;
+                continue;
+            }
+            int offsetEnd = offset + 1;
+            while (offsetEnd < endOffset && UtilsRegex.isWordChar(text.charAt(offsetEnd))) {
+                offsetEnd++;
+            }
+            if (offset > 0 && offsetEnd < length) {
+                char quoteChar = text.charAt(offset - 1);
+                if (quoteChar == text.charAt(offsetEnd) && -1 != QUOTE_CHARS.indexOf(quoteChar)) {
+                    String string = text.subSequence(offset, offsetEnd).toString();
+                    if (delta > 0) {
+                        addString(quoteChar, string);
+                    } else {
+                        removeString(quoteChar, string);
+                    }
+                }
+            }
+            offset = offsetEnd;
+        }
+    }
+
+    private void addString(char quoteChar, String string) {
+        stringsPerQuoteChar.computeIfAbsent(quoteChar, key -> new TreeMap<>()).merge(string, 1, Integer::sum);
+    }
+
+    private void removeString(char quoteChar, String string) {
+        TreeMap<String, Integer> strings = stringsPerQuoteChar.get(quoteChar);
+        Integer amount = null == strings ? null : strings.get(string);
+        if (null == amount) {
+            return;
+        }
+        if (amount > 1) {
+            strings.put(string, amount - 1);
+        } else {
+            strings.remove(string);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.utils.UtilsRegex;
+
 import java.awt.*;
 
 /**
@@ -32,7 +34,16 @@ public class RgbColor {
      * @return boolean
      */
     public static boolean isRgbColorString(String str, String prefixChar) {
-        return !(!"#".equals(prefixChar) || !(str.matches("[0-9a-fA-F]{3}") || str.matches("[0-9a-fA-F]{6}")));
+        if (!"#".equals(prefixChar) || (3 != str.length() && 6 != str.length())) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (!UtilsRegex.isHexDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -43,6 +43,19 @@ public class RomanNumber {
                 : new RomanNumeral(isUp ? intVal + 1 : intVal -1).toString();
     }
 
+    /**
+     * @param  value        String representing a roman numeral
+     * @param  isUp         Shifting up or down?
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String       Value shifted up or down by the given amount, limited to 1..3999
+     */
+    public String getShifted(String value, boolean isUp, int amountSteps) {
+        int intVal     = new RomanNumeral(value).toInt();
+        int intShifted = Math.max(1, Math.min(3999, isUp ? intVal + amountSteps : intVal - amountSteps));
+
+        return intShifted == intVal ? value : new RomanNumeral(intShifted).toString();
+    }
+
     /**
      * An object of type RomanNumeral is an integer between 1 and 3999.  It can
      * be constructed either from an integer or from a string that represents
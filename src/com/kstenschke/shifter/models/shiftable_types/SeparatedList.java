@@ -18,14 +18,13 @@ package com.kstenschke.shifter.models.shiftable_types;
 import com.kstenschke.shifter.models.comparators.AlphanumComparator;
 import com.kstenschke.shifter.resources.StaticTexts;
 import com.kstenschke.shifter.utils.UtilsArray;
+import com.kstenschke.shifter.utils.UtilsRegex;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.apache.commons.lang.StringUtils;
 
 import javax.swing.*;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * Separated list (delimiters e.g: ",", "|")
@@ -35,7 +34,7 @@ public class SeparatedList {
     public static boolean isSeparatedList(String str, String delimiter) {
         if (!str.contains(delimiter)
             || str.trim().length() == delimiter.length()
-            || str.replaceAll(Pattern.quote(delimiter), "").length() == 0
+            || str.replace(delimiter, "").isEmpty()
         ) {
             return false;
         }
@@ -63,16 +62,15 @@ public class SeparatedList {
      * @return Given delimiter separated list, sorted (natural) alphabetically ascending / descending
      */
     public static String getShifted(String selectedText, String delimiterSplitPattern, String delimiterGlue, boolean sortAscending) {
-        String[] items = selectedText.split(delimiterSplitPattern);
+        String[] items = UtilsRegex.split(selectedText, delimiterSplitPattern);
 
         if (items.length == 2) {
             // Only 2 items: treat as tupel - always toggle order
             return items[1] + delimiterGlue + items[0];
         }
 
-        List itemsList = Arrays.asList(items);
-        // @note sorting itemsList, does also update items
-        itemsList.sort(new AlphanumComparator());
+        // @note sorting the list view, does also update items
+        AlphanumComparator.sort(Arrays.asList(items));
 
         if (UtilsArray.hasDuplicateItems(items) && JOptionPane.showConfirmDialog(
                 null,
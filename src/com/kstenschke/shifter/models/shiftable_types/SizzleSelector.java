@@ -18,6 +18,8 @@ package com.kstenschke.shifter.models.shiftable_types;
 import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.utils.UtilsTextual;
 
+import java.util.regex.Pattern;
+
 /**
  * Sizzle DOM selector
  */
@@ -25,6 +27,8 @@ public class SizzleSelector {
 
     public static final String ACTION_TEXT = "Shift Sizzle Selector";
 
+    private static final Pattern PATTERN_NON_NAME_CHARS = Pattern.compile("\\$|\\.|'|\"|\\)|#|\\[|\\(|>|<|]|=|_|\\s");
+
     /**
      * Check whether given string represents a declaration of JS variables
      *
@@ -43,8 +47,8 @@ public class SizzleSelector {
      * TODO    extend: duplicate line around selection, from 1st of the 2 resulting lines: strip all non-selector strings (making it a declaration as is already when shifting just the selector)
      */
     public static String getShifted(String selector, ActionContainer actionContainer) {
-        StringBuilder varName = new StringBuilder(selector.replaceAll("\\$|\\.|'|\"|\\)|#|\\[|\\(|>|<|]|=|_|\\s", "-"));
-        varName = new StringBuilder(varName.toString().replaceAll("--", "-"));
+        StringBuilder varName = new StringBuilder(PATTERN_NON_NAME_CHARS.matcher(selector).replaceAll("-"));
+        varName = new StringBuilder(varName.toString().replace("--", "-"));
 
         String[] words = varName.toString().split("-");
         varName = new StringBuilder();
@@ -54,7 +58,7 @@ public class SizzleSelector {
             index++;
         }
 
-        return (actionContainer.filename.endsWith("ts") ? "var" : "let")
+        return (actionContainer.getFilename().endsWith("ts") ? "var" : "let")
                 + " $" + UtilsTextual.toLcFirst(varName.toString()) + " = " + selector + ";";
     }
 }
\ No newline at end of file
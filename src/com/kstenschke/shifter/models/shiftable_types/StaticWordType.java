@@ -16,6 +16,7 @@
 package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.utils.UtilsArray;
+import com.kstenschke.shifter.utils.UtilsRegex;
 
 /**
  * Shifter general word type class
@@ -42,7 +43,7 @@ class StaticWordType {
      * @return boolean
      */
     public boolean hasWord(String word) {
-        return (word).matches(regExPattern);
+        return UtilsRegex.matches(word, regExPattern);
     }
 
     /**
@@ -51,23 +52,23 @@ class StaticWordType {
      * @return String   Shifting result
      */
     public String getShifted(String word, boolean isUp) {
+        return getShifted(word, isUp, 1);
+    }
+
+    /**
+     * @param  word         Word to be shifted
+     * @param  isUp         Shifting up or down?
+     * @param  amountSteps  Amount of consecutive shifts to be done at once
+     * @return String       Shifting result: keyword at the resp. ring-position
+     */
+    public String getShifted(String word, boolean isUp, int amountSteps) {
         int wordOffset = UtilsArray.getOffset(keywords, word);
         if (-1 == wordOffset) {
             return word;
         }
 
-        return isUp ? getShiftedUp(wordOffset) : getShiftedDown(wordOffset);
-    }
-
-    private String getShiftedUp(int wordOffset) {
-        wordOffset++;
-
-        return wordOffset >= amountKeywords ? keywords[0] : keywords[wordOffset];
-    }
-
-    private String getShiftedDown(int wordOffset) {
-        wordOffset -= 1;
+        int offsetShifted = (wordOffset + (isUp ? amountSteps : -amountSteps)) % amountKeywords;
 
-        return wordOffset < 0 ? keywords[amountKeywords - 1] : keywords[wordOffset];
+        return keywords[offsetShifted < 0 ? offsetShifted + amountKeywords : offsetShifted];
     }
-}
\ No newline at end of file
+}
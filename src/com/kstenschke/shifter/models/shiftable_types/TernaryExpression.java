@@ -15,7 +15,6 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -25,6 +24,8 @@ public class TernaryExpression {
 
     public static final String ACTION_TEXT = "Shift Ternary Expression";
 
+    private static final Pattern PATTERN_ELSE_ON_NEW_LINE = Pattern.compile("\n[ |\t]*:");
+
     /**
      * Check whether shifted string is a ternary expression
      *
@@ -62,9 +63,7 @@ public class TernaryExpression {
             str = str.substring(1);
         }
 
-        Pattern pattern = Pattern.compile("\n[ |\t]*:");
-        Matcher matcher = pattern.matcher(str);
-        boolean isElseOnNewLine = matcher.find();
+        boolean isElseOnNewLine = PATTERN_ELSE_ON_NEW_LINE.matcher(str).find();
 
         String partThan = str.substring(0, offsetElse - 1);
         String partElse = endsWithSemicolon ? str.substring(offsetElse, str.length() - 1) : str.substring(offsetElse);
@@ -17,6 +17,7 @@ package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.models.ShiftableSelectionWithPopup;
+import com.kstenschke.shifter.utils.UtilsRegex;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -73,7 +74,10 @@ public class Tupel {
         };
 
         for (String glue : glues) {
-            String parts[] = str.split("\\s*" + Pattern.quote(glue) + "\\s*");
+            if (!str.contains(glue)) {
+                continue;
+            }
+            String parts[] = UtilsRegex.split(str, "\\s*" + Pattern.quote(glue) + "\\s*");
             if (parts.length == 2 && !parts[0].isEmpty() && !parts[1].isEmpty()) {
                 delimiter = glue;
                 return true;
@@ -94,7 +98,7 @@ public class Tupel {
         if (!disableIntentionPopup &&
             " ".equals(delimiter) &&
             actionContainer != null &&
-            !actionContainer.selectedText.isEmpty() &&
+            !actionContainer.getSelectedText().isEmpty() &&
             UtilsTextual.subStringCount(str, " ") == 1
         ) {
             DictionaryTerm dictionaryTerm = new DictionaryTerm();
@@ -121,12 +125,11 @@ public class Tupel {
         }
 
         // Split into tupel
-        String splitPattern = "\\s*" + Pattern.quote(delimiter) + "\\s*";
-        String[] parts      = str.split(splitPattern);
+        Pattern partsPattern = UtilsRegex.getPattern("\\s*" + Pattern.quote(delimiter) + "\\s*");
+        String[] parts       = partsPattern.split(str);
 
         // Retain variable whitespace around delimiters
-        Pattern partsPattern = Pattern.compile(splitPattern);
-        Matcher matcher      = partsPattern.matcher(str);
+        Matcher matcher = partsPattern.matcher(str);
         if (matcher.find()) {
             String glueWithWhitespace = matcher.group(0);
             // Swap parts
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Multiple XML attribute-value pairs within one line
@@ -32,6 +33,8 @@ public class XmlAttributes {
 
     public static final String ACTION_TEXT = "Sort Attributes";
 
+    private static final Pattern PATTERN_XML_ATTRIBUTES = Pattern.compile("([A-Za-z-_0-9]*[ ]*=[ ]*[\"'][A-Za-z-_0-9]*[\"'][ ]*){2,99}");
+
     private final ActionContainer actionContainer;
 
     /**
@@ -50,7 +53,7 @@ public class XmlAttributes {
      * @return boolean
      */
     public boolean isXmlAttributes(String str) {
-        return str.matches("([A-Za-z-_0-9]*[ ]*=[ ]*[\"'][A-Za-z-_0-9]*[\"'][ ]*){2,99}");
+        return PATTERN_XML_ATTRIBUTES.matcher(str).matches();
     }
 
     /**
@@ -88,9 +91,9 @@ public class XmlAttributes {
         String[] attributeValuePairs = str.split("\" ");
 
         // Sort attribute-value pairs alphabetically by attribute name
-        List pairsList = Arrays.asList(attributeValuePairs);
+        List<String> pairsList = Arrays.asList(attributeValuePairs);
         // @note sorting itemsList, does also update items
-        pairsList.sort(new AlphanumComparator());
+        AlphanumComparator.sort(pairsList);
 
         if (!actionContainer.isShiftUp) {
             //noinspection ArraysAsListWithZeroOrOneArgument
@@ -93,4 +93,10 @@ public class StaticTexts {
     public static final String SHIFT_SLASHES_SWAP = "Toggle \\ and /";
     @NonNls
     public static final String SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX = "Convert to PHP array long syntax";
+    @NonNls
+    public static final String SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX_NESTED = "Convert to PHP array long syntax, incl. nested arrays";
+    @NonNls
+    public static final String SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX = "Convert to PHP array short syntax";
+    @NonNls
+    public static final String SHIFT_CONVERT_PHP_ARRAY_TO_SHORT_SYNTAX_NESTED = "Convert to PHP array short syntax, incl. nested arrays";
 }
\ No newline at end of file
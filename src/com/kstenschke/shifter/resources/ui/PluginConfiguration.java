@@ -18,12 +18,12 @@ package com.kstenschke.shifter.resources.ui;
 
 import com.intellij.util.ui.UIUtil;
 import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.shiftable_types.DictionaryIndex;
 import com.kstenschke.shifter.resources.ShifterIcons;
-import com.kstenschke.shifter.utils.UtilsFile;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.InputStream;
 
 public class PluginConfiguration {
 
@@ -101,10 +101,7 @@ public class PluginConfiguration {
     }
 
     public String getDefaultDictionary() {
-        //@note for the .txt resource to be included in the jar, it must be set in compiler resource settings
-        InputStream dictionaryStream= getClass().getResourceAsStream("dictionary.txt");
-
-        return null == dictionaryStream ? "" : UtilsFile.getFileStreamAsString(dictionaryStream);
+        return DictionaryIndex.getDefaultDictionary();
     }
 
     /**
@@ -194,5 +191,7 @@ public class PluginConfiguration {
         if (null != dictionary) {
             ShifterPreferences.saveDictionary(dictionary);
         }
+
+        ShifterSettings.reload();
     }
 }
\ No newline at end of file
@@ -37,11 +37,10 @@ public class UtilsEnvironment {
     }
 
     public static void replaceWordAtCaretInDocument(ActionContainer actionContainer, String charSequence) {
-        String documentText = actionContainer.document.getText();
-        int offsetStart = UtilsTextual.getStartOfWordAtOffset(documentText, actionContainer.caretOffset);
-        int offsetEnd   = UtilsTextual.getOffsetEndOfWordAtOffset(documentText, actionContainer.caretOffset);
+        int offsetStart = UtilsTextual.getStartOfWordAtOffset(actionContainer.editorText, actionContainer.caretOffset);
+        int offsetEnd   = UtilsTextual.getOffsetEndOfWordAtOffset(actionContainer.editorText, actionContainer.caretOffset);
 
-        actionContainer.document.replaceString(offsetStart, offsetEnd, charSequence);
+        actionContainer.textBuffer.replaceString(offsetStart, offsetEnd, charSequence);
     }
 
     public static void reformatSubString(Editor editor, Project project, int offsetStart, int offsetEnd) {
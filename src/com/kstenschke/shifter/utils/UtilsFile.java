@@ -72,12 +72,12 @@ public class UtilsFile {
 
     public static boolean isPhpFile(@Nullable String filename) {
         filename = getBasename(filename).toLowerCase();
-        return filenameEndsWithExtension(filename) && extractFileExtension(filename).matches("(php|phtml)");
+        return filenameEndsWithExtension(filename) && UtilsTextual.equalsAnyOf(extractFileExtension(filename), new String[]{"php", "phtml"});
     }
 
     public static boolean isCssFile(@Nullable String filename) {
         filename = getBasename(filename).toLowerCase();
-        return filenameEndsWithExtension(filename) && extractFileExtension(filename).matches("(css|scss|sass|less|styl)");
+        return filenameEndsWithExtension(filename) && UtilsTextual.equalsAnyOf(extractFileExtension(filename), new String[]{"css", "scss", "sass", "less", "styl"});
     }
 
     public static boolean isJavaScriptFile(@Nullable String filename, boolean allowTypeScript) {
@@ -86,7 +86,9 @@ public class UtilsFile {
             return false;
         }
 
-        return extractFileExtension(filename).matches(allowTypeScript ? "(js|ts)" : "(js)");
+        String extension = extractFileExtension(filename);
+
+        return "js".equals(extension) || (allowTypeScript && "ts".equals(extension));
     }
 
     /**
@@ -17,12 +17,24 @@ package com.kstenschke.shifter.utils;
 
 import org.jetbrains.annotations.NotNull;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Static helper methods for analysis and manipulation of texts
  */
 public class UtilsPhp {
 
+    private static final Pattern STRING_PARAMETER_NAMES = Pattern.compile(
+            "(\\w*delim(iter)*|\\w*dir(ectory)*|\\w*domain|description|expr|filename\\w*|\\w*identifier|\\w*key|\\w*link|\\w*name|\\w*path\\w*|\\w*prefix|\\w*suffix|charlist|comment|\\w*file(name)*|format|glue|haystack|html|intput|locale|message|name|needle|output|platform|replace(ment)*|salt|separator|str(ing)*|\\w*title|\\w*url)\\d*");
+    private static final Pattern INT_PARAMETER_NAMES = Pattern.compile(
+            "(\\w*day|\\w*end|\\w*expire|\\w*handle|\\w*height|\\w*hour(s)*|\\w*id|\\w*index|\\w*len(gth)*|\\w*mask|\\w*pointer|\\w*quality|\\w*s(e)*ize|\\w*start|\\w*step(s)*|tick|\\w*year\\w*|ascii|base|blue|ch|chunklen|fp|green|len|limit|\\w*max|\\w*min|\\w*mode|month|\\w*multiplier|now|num|offset|\\w*op(eration)*|\\w*pos(ition)*|red|\\w*time(stamp)*|week|\\w*wid(th)*|x|y)\\d*");
+    private static final Pattern FLOAT_PARAMETER_NAMES = Pattern.compile(
+            "(\\w*gamma|percent)\\d*");
+    private static final Pattern OBJECT_PARAMETER_NAMES = Pattern.compile(
+            "(\\wmodel|\\w*obj(ect)*)\\d*");
+    private static final Pattern ARRAY_PARAMETER_NAMES = Pattern.compile(
+            "((\\w*s)\\d*|\\w*arr(ay)*|\\w*param(eter)*s|\\w*val(ue)*s)");
+
     /**
      * Use regEx matcher to extract all variables in given code
      *
@@ -69,16 +81,16 @@ public class UtilsPhp {
 
         str = str.toLowerCase();
 
-        if (str.matches("(\\w*delim(iter)*|\\w*dir(ectory)*|\\w*domain|description|expr|filename\\w*|\\w*identifier|\\w*key|\\w*link|\\w*name|\\w*path\\w*|\\w*prefix|\\w*suffix|charlist|comment|\\w*file(name)*|format|glue|haystack|html|intput|locale|message|name|needle|output|platform|replace(ment)*|salt|separator|str(ing)*|\\w*title|\\w*url)\\d*")) {
+        if (STRING_PARAMETER_NAMES.matcher(str).matches()) {
             return "string";
         }
-        if (str.matches("(\\w*day|\\w*end|\\w*expire|\\w*handle|\\w*height|\\w*hour(s)*|\\w*id|\\w*index|\\w*len(gth)*|\\w*mask|\\w*pointer|\\w*quality|\\w*s(e)*ize|\\w*start|\\w*step(s)*|tick|\\w*year\\w*|ascii|base|blue|ch|chunklen|fp|green|len|limit|\\w*max|\\w*min|\\w*mode|month|\\w*multiplier|now|num|offset|\\w*op(eration)*|\\w*pos(ition)*|red|\\w*time(stamp)*|week|\\w*wid(th)*|x|y)\\d*")) {
+        if (INT_PARAMETER_NAMES.matcher(str).matches()) {
             return "int";
         }
-        if (str.matches("(\\w*gamma|percent)\\d*")) {
+        if (FLOAT_PARAMETER_NAMES.matcher(str).matches()) {
             return "float";
         }
-        if (str.matches("(\\wmodel|\\w*obj(ect)*)\\d*")) {
+        if (OBJECT_PARAMETER_NAMES.matcher(str).matches()) {
             return "Object";
         }
         if (UtilsTextual.equalsAnyOf(str, new String[]{"action|cmd|content|controller|html|out"})) {
@@ -89,10 +101,152 @@ public class UtilsPhp {
             // E.g. states like "enabled", "disabled", "hidden", "shown", etc.
             return "bool";
         }
-        if (str.matches("((\\w*s)\\d*|\\w*arr(ay)*|\\w*param(eter)*s|\\w*val(ue)*s)")) {
+        if (ARRAY_PARAMETER_NAMES.matcher(str).matches()) {
             return "array";
         }
 
         return "unknown";
     }
+
+    /**
+     * Convert double-quoted string literals into single-quoted ones, if that does not change their value:
+     * strings containing "$" (interpolation), "\\" (escape sequences), single quotes or line breaks are kept.
+     * Single-quoted strings, comments and heredoc / nowdoc blocks are skipped.
+     *
+     * @param  code     PHP code, w/o inline HTML
+     * @return String
+     */
+    @NotNull
+    public static String toSingleQuotedStrings(@NotNull String code) {
+        int length = code.length();
+        StringBuilder converted = null;
+        int offsetCopied = 0;
+
+        int offset = 0;
+        while (offset < length) {
+            int offsetCode = skipStringOrComment(code, offset);
+            if (offsetCode == offset) {
+                offset++;
+                continue;
+            }
+            if ('"' == code.charAt(offset) && -1 != getOffsetAfterQuoted(code, offset)
+                && isConvertibleToSingleQuotes(code, offset + 1, offsetCode - 1)) {
+                if (null == converted) {
+                    converted = new StringBuilder(length);
+                }
+                converted.append(code, offsetCopied, offset)
+                         .append('\'').append(code, offset + 1, offsetCode - 1).append('\'');
+                offsetCopied = offsetCode;
+            }
+            offset = offsetCode;
+        }
+
+        return null == converted ? code : converted.append(code, offsetCopied, length).toString();
+    }
+
+    /**
+     * @param  code     PHP code
+     * @param  offset
+     * @return int      Offset after the string literal, comment or heredoc / nowdoc starting at the given offset,
+     *                  the offset itself if there is none. Line comments end before the line break or a closing tag "?>".
+     */
+    public static int skipStringOrComment(@NotNull String code, int offset) {
+        int length = code.length();
+        char c     = code.charAt(offset);
+        char next  = offset + 1 < length ? code.charAt(offset + 1) : 0;
+
+        if ('\'' == c || '"' == c || '`' == c) {
+            int offsetEnd = getOffsetAfterQuoted(code, offset);
+            return -1 == offsetEnd ? length : offsetEnd;
+        }
+        if ('#' == c || ('/' == c && '/' == next)) {
+            for (int i = offset + 1; i < length; i++) {
+                char current = code.charAt(i);
+                if ('\n' == current || ('?' == current && i + 1 < length && '>' == code.charAt(i + 1))) {
+                    return i;
+                }
+            }
+            return length;
+        }
+        if ('/' == c && '*' == next) {
+            int offsetEnd = code.indexOf("*/", offset + 2);
+            return -1 == offsetEnd ? length : offsetEnd + 2;
+        }
+        if ('<' == c && code.startsWith("<<<", offset)) {
+            return getOffsetAfterHeredoc(code, offset);
+        }
+
+        return offset;
+    }
+
+    /**
+     * @return int  Offset after the closing quote of the string literal starting at the given offset, -1 if it is unclosed
+     */
+    private static int getOffsetAfterQuoted(String code, int offset) {
+        char quote = code.charAt(offset);
+        for (int i = offset + 1; i < code.length(); i++) {
+            char current = code.charAt(i);
+            if ('\\' == current) {
+                i++;
+            } else if (quote == current) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isConvertibleToSingleQuotes(String code, int offsetStart, int offsetEnd) {
+        for (int i = offsetStart; i < offsetEnd; i++) {
+            char c = code.charAt(i);
+            if ('$' == c || '\\' == c || '\'' == c || '\n' == c || '\r' == c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param  code
+     * @param  offset   Offset of "<<<"
+     * @return int      Offset after the closing identifier of the heredoc / nowdoc, or after "<<<" if there is none,
+     *                  or the end of the code if it is unclosed
+     */
+    private static int getOffsetAfterHeredoc(String code, int offset) {
+        int offsetIdentifier = offset + 3;
+        while (offsetIdentifier < code.length() && (' ' == code.charAt(offsetIdentifier) || '\t' == code.charAt(offsetIdentifier))) {
+            offsetIdentifier++;
+        }
+        if (offsetIdentifier < code.length() && ('\'' == code.charAt(offsetIdentifier) || '"' == code.charAt(offsetIdentifier))) {
+            offsetIdentifier++;
+        }
+        int offsetIdentifierEnd = offsetIdentifier;
+        while (offsetIdentifierEnd < code.length() && isIdentifierChar(code.charAt(offsetIdentifierEnd))) {
+            offsetIdentifierEnd++;
+        }
+        if (offsetIdentifierEnd == offsetIdentifier) {
+            return offset + 3;
+        }
+        String identifier = code.substring(offsetIdentifier, offsetIdentifierEnd);
+
+        // Closing identifier: first one at the start of a line (since PHP 7.3 optionally indented)
+        int offsetLine = code.indexOf('\n', offsetIdentifierEnd);
+        while (-1 != offsetLine) {
+            int offsetClosing = offsetLine + 1;
+            while (offsetClosing < code.length() && (' ' == code.charAt(offsetClosing) || '\t' == code.charAt(offsetClosing))) {
+                offsetClosing++;
+            }
+            int offsetAfter = offsetClosing + identifier.length();
+            if (code.startsWith(identifier, offsetClosing)
+                && (offsetAfter >= code.length() || !isIdentifierChar(code.charAt(offsetAfter)))) {
+                return offsetAfter;
+            }
+            offsetLine = code.indexOf('\n', offsetClosing);
+        }
+
+        return code.length();
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || '_' == c;
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2011-2019 Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of compiled regular expressions: patterns built at runtime (e.g. from delimiters or dictionary terms)
+ * are compiled only once. Patterns are immutable and thread-safe, matchers are created per use.
+ * Fixed patterns are held as static constants by the classes using them.
+ */
+public class UtilsRegex {
+
+    // Upper limit of cached patterns (per flags), the cache is cleared when exceeded
+    private static final int MAX_CACHED_PATTERNS = 512;
+
+    // Flags => regex => compiled pattern
+    private static final Map<Integer, Map<String, Pattern>> PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * @param  regex
+     * @return Pattern  Compiled (cached) pattern of given regex
+     */
+    public static Pattern getPattern(String regex) {
+        return getPattern(regex, 0);
+    }
+
+    /**
+     * @param  regex
+     * @param  flags    Match flags, e.g. Pattern.CASE_INSENSITIVE
+     * @return Pattern  Compiled (cached) pattern of given regex
+     */
+    public static Pattern getPattern(String regex, int flags) {
+        Map<String, Pattern> patterns = PATTERNS.computeIfAbsent(flags, key -> new ConcurrentHashMap<>());
+        Pattern pattern = patterns.get(regex);
+        if (null == pattern) {
+            if (patterns.size() >= MAX_CACHED_PATTERNS) {
+                patterns.clear();
+            }
+            pattern = Pattern.compile(regex, flags);
+            patterns.put(regex, pattern);
+        }
+
+        return pattern;
+    }
+
+    /**
+     * Equivalent to str.matches(regex), w/o compiling the regex per call
+     *
+     * @param  str
+     * @param  regex
+     * @return boolean
+     */
+    public static boolean matches(CharSequence str, String regex) {
+        return getPattern(regex).matcher(str).matches();
+    }
+
+    /**
+     * Equivalent to str.split(regex), w/o compiling the regex per call
+     *
+     * @param  str
+     * @param  regex
+     * @return String[]
+     */
+    public static String[] split(CharSequence str, String regex) {
+        return getPattern(regex).split(str);
+    }
+
+    /**
+     * @param  str
+     * @return boolean  Does the given string consist of (one or more) digits 0-9 only?
+     */
+    public static boolean isDigits(CharSequence str) {
+        int length = str.length();
+        if (0 == length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isDigit(str.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param  c
+     * @return boolean  Is given character a digit 0-9? (Unicode digits are not, same as regex "\d")
+     */
+    public static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @param  c
+     * @return boolean  Is given character 0-9, a-f or A-F?
+     */
+    public static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * @param  c
+     * @return boolean  Is given character a-z, A-Z, 0-9 or _ (regex "\w")?
+     */
+    public static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || '_' == c;
+    }
+
+    /**
+     * @param  c
+     * @return boolean  Is given character a line terminator, which regex "." does not match?
+     */
+    public static boolean isLineTerminator(char c) {
+        return '\n' == c || '\r' == c || '\u0085' == c || '\u2028' == c || '\u2029' == c;
+    }
+
+    /**
+     * @param  c
+     * @return boolean  Is given character whitespace as matched by regex "\s" (space, \t, \n, \x0B, \f, \r)?
+     */
+    public static boolean isWhitespace(char c) {
+        return ' ' == c || ('\t' <= c && c <= '\r');
+    }
+}
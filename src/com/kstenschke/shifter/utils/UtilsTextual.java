@@ -15,7 +15,7 @@
  */
 package com.kstenschke.shifter.utils;
 
-import com.intellij.openapi.editor.Document;
+import com.kstenschke.shifter.models.TextBuffer;
 import com.kstenschke.shifter.models.comparators.AlphanumComparator;
 import com.kstenschke.shifter.models.shiftable_types.DocCommentTag;
 import com.kstenschke.shifter.models.shiftable_types.OperatorSign;
@@ -25,7 +25,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,6 +38,11 @@ public class UtilsTextual {
 
     private final static Pattern TRIM_RIGHT = Pattern.compile("\\s+$");
 
+    private final static Pattern ALPHA_NUMERIC_AND_MINUS = Pattern.compile("[a-zA-z0-9\\-]+");
+    private final static Pattern UPPER_CAMEL_CASE = Pattern.compile("[A-Z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+    private final static Pattern LOWER_CAMEL_CASE = Pattern.compile("[a-z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+    private final static Pattern CAMEL_CASE_WORDS_BOUNDARY = Pattern.compile("(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])");
+
     public static String rtrim(String s) {
         return null == s
             ? ""
@@ -63,7 +70,7 @@ public class UtilsTextual {
         DelimiterDetector delimiterDetector = new DelimiterDetector(lines);
         boolean isDelimitedLastLine = delimiterDetector.isDelimitedLastLine();
 
-        lines.sort(new AlphanumComparator());
+        AlphanumComparator.sort(lines);
         if (reverse) {
             Collections.reverse(lines);
         }
@@ -91,7 +98,43 @@ public class UtilsTextual {
                 null != haystack
                 && null != needle
                 && !"".equals(needle)
-                && Pattern.compile(Pattern.quote(needle), Pattern.CASE_INSENSITIVE).matcher(haystack).find();
+                && indexOfIgnoreAsciiCase(haystack, needle) > -1;
+    }
+
+    /**
+     * Same as finding Pattern.quote(needle) w/ flag CASE_INSENSITIVE (which ignores the case of US-ASCII characters only)
+     *
+     * @param  haystack
+     * @param  needle
+     * @return int      Offset of needle in haystack, -1 if not contained
+     */
+    private static int indexOfIgnoreAsciiCase(String haystack, String needle) {
+        int lengthNeedle = needle.length();
+        for (int offset = 0; offset <= haystack.length() - lengthNeedle; offset++) {
+            int i = 0;
+            while (i < lengthNeedle && equalsIgnoreAsciiCase(haystack.charAt(offset + i), needle.charAt(i))) {
+                i++;
+            }
+            if (i == lengthNeedle) {
+                return offset;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean equalsIgnoreAsciiCase(char c1, char c2) {
+        if (c1 == c2) {
+            return true;
+        }
+        if (c1 >= 'A' && c1 <= 'Z') {
+            c1 += 'a' - 'A';
+        }
+        if (c2 >= 'A' && c2 <= 'Z') {
+            c2 += 'a' - 'A';
+        }
+
+        return c1 == c2;
     }
 
     public static boolean containsOnly(@Nullable String str, String[] characters) {
@@ -100,14 +143,14 @@ public class UtilsTextual {
         }
 
         for (String c : characters) {
-            str = str.replaceAll(c, "");
+            str = UtilsRegex.getPattern(c).matcher(str).replaceAll("");
         }
 
         return str.isEmpty();
     }
 
     public static boolean isAlphaNumericAndMinus(@Nullable String str) {
-        return !(null == str || str.isEmpty()) && str.matches("[a-zA-z0-9\\-]+");
+        return !(null == str || str.isEmpty()) && ALPHA_NUMERIC_AND_MINUS.matcher(str).matches();
     }
 
     public static boolean startsAlphabetic(@Nullable String str) {
@@ -240,14 +283,14 @@ public class UtilsTextual {
         return
                 null != str &&
                 !"".equals(str) &&
-                str.matches("[A-Z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+                UPPER_CAMEL_CASE.matcher(str).matches();
     }
 
     private static boolean isLowerCamelCase(@Nullable String str) {
         return
                 null != str &&
                 !"".equals(str) &&
-                str.matches("[a-z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+                LOWER_CAMEL_CASE.matcher(str).matches();
     }
 
     public static boolean isCamelCase(@Nullable String str) {
@@ -278,7 +321,7 @@ public class UtilsTextual {
         if (isUcFirst) {
             str = UtilsTextual.toLcFirst(str);
         }
-        String parts[] = str.split("(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])");
+        String parts[] = CAMEL_CASE_WORDS_BOUNDARY.split(str);
 
         if (toLower) {
             return toLower(parts);
@@ -520,16 +563,16 @@ public class UtilsTextual {
     }
 
     /**
-     * @param  doc          Document
+     * @param  textBuffer   Text to extract lines from
      * @param  startLine    Number of first line to be extracted
      * @param  endLine      Number of last line of extract
      * @return List<String> Extracted list of lines
      */
-    public static List<String> extractLines(Document doc, int startLine, int endLine) {
+    public static List<String> extractLines(TextBuffer textBuffer, int startLine, int endLine) {
         List<String> lines = new ArrayList<>(endLine - startLine);
 
         for (int i = startLine; i <= endLine; i++) {
-            String line = UtilsTextual.getLine(doc, i);
+            String line = UtilsTextual.getLine(textBuffer, i);
 
             lines.add(line);
         }
@@ -538,17 +581,38 @@ public class UtilsTextual {
     }
 
     /**
-     * @param  doc           Document to extract the line from
+     * @param  text         Text to extract lines from
+     * @param  offsetStart  Offset of start of first line to be extracted
+     * @param  offsetEnd    Offset of end of last line to be extracted (excluding its line separator)
+     * @return List<String> Extracted list of lines, each ending w/ "\n"
+     */
+    public static List<String> extractLines(CharSequence text, int offsetStart, int offsetEnd) {
+        List<String> lines = new ArrayList<>();
+
+        int offsetLineStart = offsetStart;
+        for (int offset = offsetStart; offset < offsetEnd; offset++) {
+            if ('\n' == text.charAt(offset)) {
+                lines.add(text.subSequence(offsetLineStart, offset + 1).toString());
+                offsetLineStart = offset + 1;
+            }
+        }
+        lines.add(text.subSequence(offsetLineStart, offsetEnd).toString() + "\n");
+
+        return lines;
+    }
+
+    /**
+     * @param  textBuffer    Text to extract the line from
      * @param  lineNumber    Number of line to be extracted
      * @return String        The extracted line
      */
-    private static String getLine(Document doc, int lineNumber) {
-        int lineSeparatorLength = doc.getLineSeparatorLength(lineNumber);
+    private static String getLine(TextBuffer textBuffer, int lineNumber) {
+        int lineSeparatorLength = textBuffer.getLineSeparatorLength(lineNumber);
 
-        int startOffset = doc.getLineStartOffset(lineNumber);
-        int endOffset   = doc.getLineEndOffset(lineNumber) + lineSeparatorLength;
+        int startOffset = textBuffer.getLineStartOffset(lineNumber);
+        int endOffset   = textBuffer.getLineEndOffset(lineNumber) + lineSeparatorLength;
 
-        String line = doc.getCharsSequence().subSequence(startOffset, endOffset).toString();
+        String line = textBuffer.getCharsSequence().subSequence(startOffset, endOffset).toString();
 
         // If last line has no \n, add it one
         // This causes adding a \n at the end of file when sort is applied on whole file and the file does not end
@@ -587,7 +651,7 @@ public class UtilsTextual {
     }
 
     public static String removeLineBreaks(String str) {
-        return str.replaceAll("\n", "").replaceAll("\r", "");
+        return str.replace("\n", "").replace("\r", "");
     }
 
     /**
@@ -682,7 +746,7 @@ public class UtilsTextual {
     }
 
     @NotNull
-    public static List<String> extractQuotedStrings(String text, String quoteCharacter) {
+    public static List<String> extractQuotedStrings(CharSequence text, String quoteCharacter) {
         return getPregMatches(
                 text,
                 "(?<=" + quoteCharacter + ")[a-zA-Z0-9_]+(?=" + quoteCharacter + ")"
@@ -690,19 +754,17 @@ public class UtilsTextual {
     }
 
     @NotNull
-    static List<String> getPregMatches(@Nullable String str, String pattern) {
+    static List<String> getPregMatches(@Nullable CharSequence str, String pattern) {
         if (null == str) {
             return new ArrayList<>();
         }
-        Matcher m = Pattern.compile(pattern).matcher(str);
+        Matcher m = UtilsRegex.getPattern(pattern).matcher(str);
 
-        List<String> allMatches = new ArrayList<>();
+        Set<String> allMatches = new LinkedHashSet<>();
         while (m.find()) {
-            if (!allMatches.contains(m.group())) {
-                allMatches.add(m.group());
-            }
+            allMatches.add(m.group());
         }
-        return allMatches;
+        return new ArrayList<>(allMatches);
     }
 
     /**
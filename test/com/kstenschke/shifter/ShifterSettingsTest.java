@@ -0,0 +1,30 @@
+package com.kstenschke.shifter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShifterSettingsTest {
+
+    @Test
+    public void getDefaults() {
+        ShifterSettings settings = ShifterSettings.get();
+
+        assertTrue(settings.isActivePreserveCase);
+        assertFalse(settings.isActiveConvertSingleQuotes);
+        assertTrue(settings.isActiveConvertDoubleQuotes);
+        assertEquals(10, settings.shiftMoreSize);
+        assertSame(settings, ShifterSettings.get());
+    }
+
+    @Test
+    public void isFileEnding() {
+        ShifterSettings settings = ShifterSettings.get();
+
+        assertTrue(settings.isSecondsFileEnding("php"));
+        assertTrue(settings.isMillisecondsFileEnding("js"));
+
+        assertFalse(settings.isSecondsFileEnding("js"));
+        assertFalse(settings.isMillisecondsFileEnding("p"));
+    }
+}
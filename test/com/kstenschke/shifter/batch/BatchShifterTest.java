@@ -0,0 +1,137 @@
+package com.kstenschke.shifter.batch;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+public class BatchShifterTest {
+
+    @Test
+    public void replacePhpCodeKeepsInlineHtml() {
+        String phtml = "<p>array(1)</p><?php $a = array('?>', array(1)); // it's ?>\n<p>it's</p><?= array(2) ?>";
+
+        assertEquals(
+                "<p>array(1)</p><?php $a = ['?>', [1]]; // it's ?>\n<p>it's</p><?= [2] ?>",
+                BatchTransformation.PHP_SHORT_ARRAYS.apply(phtml, "test.phtml"));
+    }
+
+    @Test
+    public void replaceDocBlocks() {
+        String js = "/**\n * @param int count\n */\nfunction f(count) {}\n/** @see g */\n";
+
+        assertEquals(
+                "/**\n * @param {number} count\n */\nfunction f(count) {}\n/** @see g */\n",
+                BatchTransformation.JS_DOC.apply(js, "test.js"));
+        assertSame(js, BatchTransformation.replaceDocBlocks(js, false, docBlock -> docBlock));
+    }
+
+    @Test
+    public void replaceDocBlocksSkipsStrings() {
+        String js = "const glob = \"src/**/*.js\";\nconst a = 1;\n\n\nconst b = '/**';\n// /** @param x\n/**\n *\n *\n * Doc\n */\n";
+
+        assertEquals(
+                "const glob = \"src/**/*.js\";\nconst a = 1;\n\n\nconst b = '/**';\n// /** @param x\n/**\n * Doc\n */\n",
+                BatchTransformation.DOC_COMMENTS.apply(js, "test.js"));
+
+        String php = "<?php\n$sql = <<<SQL\n  /** it's\n\n\n  */\n  SQL;\n$glob = 'src/**/*.php';\n\n\n$b = '*/';\n";
+        assertEquals(php, BatchTransformation.DOC_COMMENTS.apply(php, "test.php"));
+    }
+
+    @Test
+    public void phpHeredocIsSkipped() {
+        String php = "<?php\n$sql = <<<SQL\n  SELECT * FROM t WHERE x IN array(1) -- it's\n  SQL;\n$a = array(1);\n"
+                   + "$b = <<<'EOT'\narray(2) \"\nEOT;\n?>\n<p>array(3) it's</p>\n<?php $c = array(4);\n";
+
+        assertEquals(
+                "<?php\n$sql = <<<SQL\n  SELECT * FROM t WHERE x IN array(1) -- it's\n  SQL;\n$a = [1];\n"
+                + "$b = <<<'EOT'\narray(2) \"\nEOT;\n?>\n<p>array(3) it's</p>\n<?php $c = [4];\n",
+                BatchTransformation.PHP_SHORT_ARRAYS.apply(php, "test.php"));
+    }
+
+    @Test
+    public void jsDocKeepsUnguessableTypes() {
+        String js = "/**\n * @param xyzzy\n * @param int count\n */\n";
+
+        assertEquals("/**\n * @param xyzzy\n * @param {number} count\n */\n", BatchTransformation.JS_DOC.apply(js, "test.js"));
+        assertTrue(BatchTransformation.JS_DOC.isApplicableTo("app.js"));
+        assertFalse(BatchTransformation.JS_DOC.isApplicableTo("app.ts"));
+    }
+
+    @Test
+    public void jsDocCorrectsWholeTypeNamesOnly() {
+        String js = "/**\n * @param {interface} a\n * @param {string|internalState} b\n * @param {int|dateRange} c\n"
+                  + " * @param {eventBus} d\n * @param {objectId|bool[]} e\n * @returns {interval}\n */\n";
+
+        assertEquals(
+                "/**\n * @param {interface} a\n * @param {string|internalState} b\n * @param {number|dateRange} c\n"
+                + " * @param {eventBus} d\n * @param {objectId|boolean[]} e\n * @returns {interval}\n */\n",
+                BatchTransformation.JS_DOC.apply(js, "test.js"));
+        assertEquals("/**\n * @param interval\n */\n", BatchTransformation.JS_DOC.apply("/**\n * @param interval\n */\n", "test.js"));
+    }
+
+    @Test
+    public void phpDocParamsKeepUnguessableTypes() {
+        String php = "<?php\n/**\n * @param $name\n * @param $xyz\n */\n";
+
+        assertEquals("<?php\n/**\n * @param string $name\n * @param $xyz\n */\n", BatchTransformation.PHP_DOC_PARAMS.apply(php, "test.php"));
+    }
+
+    @Test
+    public void phpSingleQuotes() {
+        String php = "<p>\"html\"</p><?php\n$a = \"plain\" . \"$var\" . \"it's\" . \"tab\\t\" . 'single';\n"
+                   + "// \"comment\"\n$b = <<<\"EOT\"\n  \"heredoc\"\n  EOT;\n$c = \"after\";\n";
+
+        assertEquals(
+                "<p>\"html\"</p><?php\n$a = 'plain' . \"$var\" . \"it's\" . \"tab\\t\" . 'single';\n"
+                + "// \"comment\"\n$b = <<<\"EOT\"\n  \"heredoc\"\n  EOT;\n$c = 'after';\n",
+                BatchTransformation.PHP_SINGLE_QUOTES.apply(php, "test.php"));
+        assertFalse(BatchTransformation.getDefaults().contains(BatchTransformation.PHP_SINGLE_QUOTES));
+    }
+
+    @Test
+    public void shiftsDirectoryTree() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("shifter-batch");
+        Path css       = write(directory.resolve("style.css"), "a {\n    z-index: 1;\n    color: red;\n}\n");
+        Path js        = write(directory.resolve("sorted.js"), "/**\n * @param {string} name\n */\n");
+        Path excluded  = write(Files.createDirectory(directory.resolve("vendor")).resolve("lib.css"), "a { z-index: 1; color: red; }");
+        Path latin1    = directory.resolve("latin1.php");
+        Files.write(latin1, new byte[]{'<', '?', ' ', 'a', 'r', 'r', 'a', 'y', '(', ')', ';', (byte) 0xE9});
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BatchReport report = new BatchShifter(EnumSet.allOf(BatchTransformation.class), true, 2,
+                Collections.singleton("vendor"), BatchShifter.DEFAULT_MAX_FILE_SIZE, new PrintStream(out), false)
+                .shift(Collections.singletonList(directory));
+
+        assertEquals(1, report.getAmountFiles(BatchFileResult.Status.CHANGED));
+        assertEquals(1, report.getAmountFiles(BatchFileResult.Status.UNCHANGED));
+        assertEquals(1, report.getAmountFiles(BatchFileResult.Status.SKIPPED));
+        assertEquals("a {\n    color: red;\n    z-index: 1;\n}\n", read(css));
+        assertEquals("/**\n * @param {string} name\n */\n", read(js));
+        assertEquals("a { z-index: 1; color: red; }", read(excluded));
+        assertTrue(out.toString().contains("style.css  [css-sort]"));
+
+        // Already shifted: nothing left to change
+        assertEquals(BatchShifter.EXIT_CODE_OK, BatchShifter.run(
+                new String[]{"--check", "--exclude=vendor", directory.toString()}, new PrintStream(new ByteArrayOutputStream()), System.err));
+        assertEquals(BatchShifter.EXIT_CODE_CHANGES, BatchShifter.run(
+                new String[]{"--check", "--exclude=none", directory.toString()}, new PrintStream(new ByteArrayOutputStream()), System.err));
+        assertEquals("a { z-index: 1; color: red; }", read(excluded));
+    }
+
+    private static Path write(Path file, String contents) throws IOException {
+        return Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.kstenschke.shifter.metrics;
+
+import com.kstenschke.shifter.metrics.ShiftTiming.Phase;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShiftMetricsTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    public void transformationIsRemainderOfTotal() {
+        ShiftTiming timing = new ShiftTiming(0);
+        timing.addPhaseNanos(Phase.CONTAINER, 2 * MILLIS);
+        timing.addPhaseNanos(Phase.DETECTION, 3 * MILLIS);
+        timing.addPhaseNanos(Phase.WRITE, 1 * MILLIS);
+        timing.setDetectedType("NUMERIC_VALUE");
+        timing.setDetectedType("ROMAN_NUMERAL");
+        timing.finish(10 * MILLIS, 3, 100, "php");
+
+        assertEquals(4 * MILLIS, timing.getPhaseNanos(Phase.TRANSFORMATION));
+        assertEquals(Phase.TRANSFORMATION, timing.getSlowestPhase());
+        assertEquals("NUMERIC_VALUE", timing.getTypeName());
+
+        // Writes after finishing (e.g. from popups) are ignored
+        timing.addPhaseNanos(Phase.WRITE, 50 * MILLIS);
+        assertEquals(1 * MILLIS, timing.getPhaseNanos(Phase.WRITE));
+    }
+
+    @Test
+    public void histogramKeepsLatestSamples() {
+        LatencyHistogram histogram = new LatencyHistogram(3);
+        histogram.record(900 * MILLIS);
+        histogram.record(1 * MILLIS);
+        histogram.record(4 * MILLIS);
+        histogram.record(3 * MILLIS);
+
+        LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(4, snapshot.amountRecorded);
+        assertEquals(3, snapshot.getAmountSamples());
+        assertEquals(3 * MILLIS, snapshot.getPercentileNanos(50));
+        assertEquals(4 * MILLIS, snapshot.getMaxNanos());
+        assertArrayEquals(new int[]{1, 0, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0}, snapshot.getBucketCounts());
+    }
+
+    @Test
+    public void toJson() {
+        ShiftMetrics metrics = new ShiftMetrics();
+        assertTrue(metrics.toJson().contains("\"types\": {},"));
+
+        ShiftTiming timing = new ShiftTiming(0);
+        timing.addPhaseNanos(Phase.DETECTION, 400 * MILLIS);
+        timing.setDetectedType("QUOTED_STRING");
+        timing.finish(500 * MILLIS, 0, 4096, "js");
+        metrics.record(timing);
+
+        String json = metrics.toJson();
+        assertTrue(json.contains("\"QUOTED_STRING\": {"));
+        assertTrue(json.contains("\"total\": {\"count\": 1, \"p50Millis\": 500.000"));
+        assertTrue(json.contains("\"slowestPhase\": \"DETECTION\""));
+        assertTrue(json.contains("\"fileType\": \"js\""));
+        assertSame(timing, metrics.getLatest());
+
+        assertEquals(
+                "Slow shift of QUOTED_STRING took 500.000 ms, slowest phase: DETECTION (400.000 ms), input length: 0, document length: 4096, file type: js",
+                ShiftMetrics.getSlowShiftLogEntry(timing));
+    }
+}
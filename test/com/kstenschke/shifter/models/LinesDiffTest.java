@@ -0,0 +1,78 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LinesDiffTest {
+
+    private static String apply(String oldText, List<LinesDiff.Hunk> hunks) {
+        StringBuilder text = new StringBuilder(oldText);
+        for (int i = hunks.size() - 1; i >= 0; i--) {
+            LinesDiff.Hunk hunk = hunks.get(i);
+            text.replace(hunk.startOffset, hunk.endOffset, hunk.replacement);
+        }
+
+        return text.toString();
+    }
+
+    @Test
+    public void getHunksOfIdenticalText() {
+        assertTrue(new LinesDiff("a\nb\n", "a\nb\n").getHunks().isEmpty());
+    }
+
+    @Test
+    public void getHunksReplacesChangedLinesOnly() {
+        List<LinesDiff.Hunk> hunks = new LinesDiff("a\nb\nc\nd\n", "a\nB\nc\nd\n").getHunks();
+
+        assertEquals(1, hunks.size());
+        assertEquals(2, hunks.get(0).startOffset);
+        assertEquals(4, hunks.get(0).endOffset);
+        assertEquals("B\n", hunks.get(0).replacement);
+    }
+
+    @Test
+    public void getReplacementsAtOffset() {
+        List<TextReplacement> replacements = new LinesDiff("a\nb\nc\n", "a\nB\nc\n").getReplacements(10);
+
+        assertEquals(1, replacements.size());
+        assertEquals(new TextReplacement(12, 14, "B\n"), replacements.get(0));
+    }
+
+    @Test
+    public void getHunksOfMovedLine() {
+        // Moving one line out of many modifies two places, not all lines in between
+        String oldText = "z\na\nb\nc\nd\n";
+        List<LinesDiff.Hunk> hunks = new LinesDiff(oldText, "a\nb\nc\nd\nz\n").getHunks();
+
+        assertEquals(2, hunks.size());
+        assertEquals("a\nb\nc\nd\nz\n", apply(oldText, hunks));
+    }
+
+    @Test
+    public void getHunksReproducesNewText() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            String oldText = getRandomLines(random);
+            String newText = getRandomLines(random);
+
+            assertEquals(newText, apply(oldText, new LinesDiff(oldText, newText).getHunks()));
+        }
+    }
+
+    private static String getRandomLines(Random random) {
+        StringBuilder text = new StringBuilder();
+        int amountLines = random.nextInt(12);
+        for (int i = 0; i < amountLines; i++) {
+            text.append((char) ('a' + random.nextInt(4)));
+            if (i < amountLines - 1 || random.nextBoolean()) {
+                text.append('\n');
+            }
+        }
+
+        return text.toString();
+    }
+}
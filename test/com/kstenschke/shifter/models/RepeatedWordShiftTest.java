@@ -0,0 +1,44 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RepeatedWordShiftTest {
+
+    private static void shiftWordAtCaret(StringTextBuffer textBuffer) {
+        ShiftableWord.shiftWordAtCaretInDocument(new ActionContainer(textBuffer, true, false), null);
+    }
+
+    @Test
+    public void repeatedShiftsOfSameWordShareUndoGroup() {
+        StringTextBuffer textBuffer = new StringTextBuffer("a = 8;\nb = 1;", "test.txt", 4);
+        RepeatedWordShift repeatedShift = textBuffer.getTextIndex(RepeatedWordShift.class, RepeatedWordShift::new);
+
+        shiftWordAtCaret(textBuffer);
+        assertEquals("a = 9;\nb = 1;", textBuffer.getCharsSequence().toString());
+        assertTrue(repeatedShift.isRepetitionOf(4, 1, textBuffer.getCaretOffset()));
+        assertEquals(ShiftableTypes.Type.NUMERIC_VALUE, repeatedShift.getWordType());
+        Object undoGroupId = repeatedShift.getUndoGroupId(true);
+
+        // Detection is reused, the shifted word is shifted further
+        shiftWordAtCaret(textBuffer);
+        assertEquals("a = 10;\nb = 1;", textBuffer.getCharsSequence().toString());
+        assertTrue(repeatedShift.isRepetitionOf(4, 2, textBuffer.getCaretOffset()));
+        assertSame(undoGroupId, repeatedShift.getUndoGroupId(true));
+    }
+
+    @Test
+    public void otherModificationEndsRepetition() {
+        StringTextBuffer textBuffer = new StringTextBuffer("a = 8;\nb = 1;", "test.txt", 4);
+        RepeatedWordShift repeatedShift = textBuffer.getTextIndex(RepeatedWordShift.class, RepeatedWordShift::new);
+
+        shiftWordAtCaret(textBuffer);
+        Object undoGroupId = repeatedShift.getUndoGroupId(true);
+
+        textBuffer.replaceString(11, 12, "2");
+        assertFalse(repeatedShift.isRepetitionOf(4, 1, textBuffer.getCaretOffset()));
+        assertNull(repeatedShift.getTypesManager());
+        assertNotSame(undoGroupId, repeatedShift.getUndoGroupId(true));
+    }
+}
@@ -0,0 +1,29 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShiftableBlockSelectionTest {
+
+    @Test
+    public void getShiftedRows() {
+        // Rows of different types: dictionary term, numeric value, access type, not shiftable
+        String text = "$a = true;\n$b = 10;\n$c = public;\n$d = ...;\n";
+        ActionContainer actionContainer = new ActionContainer(new StringTextBuffer(text, "test.php", 0), true, false);
+
+        List<TextReplacement> replacements = ShiftableBlockSelection.getShiftedRows(
+                actionContainer, new int[]{5, 16, 25, 37}, new int[]{9, 18, 31, 40}, null);
+
+        assertEquals(3, replacements.size());
+        assertEquals("false", replacements.get(0).text);
+        assertEquals("11", replacements.get(1).text);
+        assertEquals("private", replacements.get(2).text);
+
+        StringTextBuffer textBuffer = new StringTextBuffer(text, "test.php", 0);
+        textBuffer.replaceStrings(replacements);
+        assertEquals("$a = false;\n$b = 11;\n$c = private;\n$d = ...;\n", textBuffer.getCharsSequence().toString());
+    }
+}
@@ -0,0 +1,37 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShiftableLineTest {
+
+    private static String shiftLine(String line, boolean isShiftUp) {
+        StringTextBuffer textBuffer = new StringTextBuffer(line, "test.txt", 0);
+        ShiftableLine.shiftLineInDocument(new ActionContainer(textBuffer, isShiftUp, false), null);
+
+        return textBuffer.getCharsSequence().toString();
+    }
+
+    @Test
+    public void shiftsSingleShiftableWord() {
+        assertEquals("bar = 1 + 2;", shiftLine("foo = 1 + 2;", true));
+        assertEquals("MONDAY", shiftLine("SUNDAY", true));
+    }
+
+    @Test
+    public void replacesShiftableWordByOffset() {
+        assertEquals("untrue false", shiftLine("untrue true", true));
+    }
+
+    @Test
+    public void keepsLineWithMultipleShiftableWords() {
+        assertEquals("true true", shiftLine("true true", true));
+    }
+
+    @Test
+    public void shiftsHtmlEntitiesAsFallback() {
+        assertEquals("x & y", shiftLine("x &amp; y", true));
+        assertEquals("if (a &lt; b) {", shiftLine("if (a < b) {", false));
+    }
+}
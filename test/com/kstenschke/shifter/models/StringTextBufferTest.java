@@ -0,0 +1,108 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StringTextBufferTest {
+
+    @Test
+    public void getLineOffsets() {
+        StringTextBuffer textBuffer = new StringTextBuffer("foo\nbar baz\n\nqux", "test.txt", 0);
+
+        assertEquals(0, textBuffer.getLineNumber(0));
+        assertEquals(0, textBuffer.getLineNumber(3));
+        assertEquals(1, textBuffer.getLineNumber(4));
+        assertEquals(2, textBuffer.getLineNumber(12));
+        assertEquals(3, textBuffer.getLineNumber(16));
+
+        assertEquals(4, textBuffer.getLineStartOffset(1));
+        assertEquals(11, textBuffer.getLineEndOffset(1));
+        assertEquals(12, textBuffer.getLineEndOffset(2));
+        assertEquals(16, textBuffer.getLineEndOffset(3));
+
+        assertEquals(1, textBuffer.getLineSeparatorLength(0));
+        assertEquals(0, textBuffer.getLineSeparatorLength(3));
+    }
+
+    @Test
+    public void replaceString() {
+        StringTextBuffer textBuffer = new StringTextBuffer("foo\nbar", "test.txt", 5, 4, 7);
+        textBuffer.replaceString(0, 3, "x");
+
+        assertEquals("x\nbar", textBuffer.getCharsSequence().toString());
+        assertEquals(3, textBuffer.getCaretOffset());
+        assertEquals(2, textBuffer.getSelectionStart());
+        assertEquals(5, textBuffer.getSelectionEnd());
+        assertEquals(1, textBuffer.getLineNumber(2));
+    }
+
+    @Test
+    public void shiftInDocumentWithoutIde() {
+        StringTextBuffer textBuffer = new StringTextBuffer("$a = true;\n$b = 10;", "test.php", 6);
+        ShiftableDocument.shiftInDocument(new ActionContainer(textBuffer, true, false), null);
+        assertEquals("$a = false;\n$b = 10;", textBuffer.getCharsSequence().toString());
+
+        textBuffer = new StringTextBuffer("$a = true;\n$b = 10;", "test.php", 17);
+        ShiftableDocument.shiftInDocument(new ActionContainer(textBuffer, true, false), null);
+        assertEquals("$a = true;\n$b = 11;", textBuffer.getCharsSequence().toString());
+
+        // Sort selected lines
+        textBuffer = new StringTextBuffer("charlie\nalpha\nbravo\n", "test.txt", 0, 0, 20);
+        ShiftableDocument.shiftInDocument(new ActionContainer(textBuffer, true, false), null);
+        assertEquals("alpha\nbravo\ncharlie\n", textBuffer.getCharsSequence().toString());
+    }
+
+    @Test
+    public void shiftAtMultipleCaretsWithoutIde() {
+        // Two carets in the same word shift it once
+        StringTextBuffer textBuffer = new StringTextBuffer("$a = true;\n$b = 10;\n$c = 10;", "test.php", new int[]{6, 7, 17, 26});
+        ShiftableDocument.shiftInDocument(new ActionContainer(textBuffer, true, false), null);
+        assertEquals("$a = false;\n$b = 11;\n$c = 11;", textBuffer.getCharsSequence().toString());
+
+        textBuffer = new StringTextBuffer("$b = 10;\n$c = 10;", "test.php", new int[]{6, 15});
+        ShiftableDocument.shiftMoreInDocument(new ActionContainer(textBuffer, false, true), 5);
+        assertEquals("$b = 5;\n$c = 5;", textBuffer.getCharsSequence().toString());
+    }
+
+    @Test
+    public void shiftMoreInDocumentWithoutIde() {
+        StringTextBuffer textBuffer = new StringTextBuffer("$b = 10;", "test.php", 6);
+        ShiftableDocument.shiftMoreInDocument(new ActionContainer(textBuffer, true, true), 10);
+        assertEquals("$b = 20;", textBuffer.getCharsSequence().toString());
+
+        textBuffer = new StringTextBuffer("$b = 3;", "test.php", 5);
+        ShiftableDocument.shiftMoreInDocument(new ActionContainer(textBuffer, false, true), 5);
+        assertEquals("$b = -2;", textBuffer.getCharsSequence().toString());
+
+        textBuffer = new StringTextBuffer("public $a;", "test.php", 2);
+        ShiftableDocument.shiftMoreInDocument(new ActionContainer(textBuffer, true, true), 4);
+        assertEquals("private $a;", textBuffer.getCharsSequence().toString());
+
+        // Full cycle through the ring of access types
+        textBuffer = new StringTextBuffer("public $a;", "test.php", 2);
+        ShiftableDocument.shiftMoreInDocument(new ActionContainer(textBuffer, true, true), 3);
+        assertEquals("public $a;", textBuffer.getCharsSequence().toString());
+
+        textBuffer = new StringTextBuffer("Chapter XIV", "test.txt", 9);
+        ShiftableDocument.shiftMoreInDocument(new ActionContainer(textBuffer, true, true), 10);
+        assertEquals("Chapter XXIV", textBuffer.getCharsSequence().toString());
+    }
+
+    @Test
+    public void sortManyLinesWithoutIde() {
+        int amountLines = 60000;
+        StringBuilder text = new StringBuilder();
+        for (int i = amountLines; i > 0; i--) {
+            text.append("item").append(i).append(i > 1 ? "\n" : "");
+        }
+        StringTextBuffer textBuffer = new StringTextBuffer(text.toString(), "test.txt", 0, 0, text.length());
+        ShiftableDocument.shiftInDocument(new ActionContainer(textBuffer, true, false), null);
+
+        String[] lines = textBuffer.getCharsSequence().toString().split("\n");
+        assertEquals(amountLines, lines.length);
+        assertEquals("item1", lines[0]);
+        assertEquals("item10", lines[9]);
+        assertEquals("item" + amountLines, lines[amountLines - 1]);
+    }
+}
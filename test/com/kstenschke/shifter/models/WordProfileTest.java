@@ -0,0 +1,85 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.models.shiftable_types.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WordProfileTest {
+
+    private static final String[] WORDS = {
+            "$foo", "$foo['bar']", "array('a', 'b')", "['a', 'b']", "(a + b)", " [1, 2]", "{a}",
+            "$('#id')", "public", "private", "protected", "fooBar", "FooBar", "foo_bar", "foo-bar-baz",
+            "123", "10px", "1.5em", "50%", "vh", "fff", "a0a0a0", "+", "-", "<", "&&", "||", "a", "aaa", "AaA",
+            "XIV", "MMXIX", "item1", "a,b", "a == b", "a < b", "&amp;", "\"quoted\"", "über", "?a:b", "true", "",
+    };
+
+    @Test
+    public void gatesAreNecessaryConditions() {
+        for (String word : WORDS) {
+            WordProfile profile = new WordProfile(word);
+
+            if (Parenthesis.isWrappedInParenthesis(word)) {
+                assertTrue(word, profile.canBeWrappedInParenthesis());
+            }
+            if (!word.isEmpty() && SizzleSelector.isSelector(word)) {
+                assertTrue(word, profile.canBeSizzleSelector());
+            }
+            if (new AccessType().isAccessType(word)) {
+                assertTrue(word, profile.canBeAccessType());
+            }
+            if (RgbColor.isRgbColorString(word, "#")) {
+                assertTrue(word, profile.canBeRgbColor("#"));
+            }
+            if (CssUnit.isCssUnitValue(word)) {
+                assertTrue(word, profile.canBeCssUnitValue());
+            }
+            if (NumericValue.isNumericValue(word)) {
+                assertTrue(word, profile.canBeNumericValue());
+            }
+            if (OperatorSign.isOperatorSign(word)) {
+                assertTrue(word, profile.canBeOperatorSign());
+            }
+            if (RomanNumber.isRomanNumber(word)) {
+                assertTrue(word, profile.canBeRomanNumber());
+            }
+            if (LogicalOperator.isLogicalOperator(word)) {
+                assertTrue(word, profile.canBeLogicalOperator());
+            }
+            if (!word.isEmpty() && MonoCharacter.isMonoCharacterString(word)) {
+                assertTrue(word, profile.canBeMonoCharacter());
+            }
+            if (NumericPostfixed.hasNumericPostfix(word)) {
+                assertTrue(word, profile.canBeNumericPostfixed());
+            }
+            if (SeparatedPath.isSeparatedPath(word)) {
+                assertTrue(word, profile.canBeSeparatedPath());
+            }
+            if (CamelCaseString.isCamelCase(word)) {
+                assertTrue(word, profile.canBeCamelCase());
+            }
+            if (HtmlEncodable.isHtmlEncodable(word)) {
+                assertTrue(word, profile.canBeHtmlEncodable());
+            }
+        }
+    }
+
+    @Test
+    public void skipsImpossibleDetectors() {
+        WordProfile profile = new WordProfile("fooo");
+
+        assertFalse(profile.canBePhpVariableOrArray());
+        assertFalse(profile.canBeNumericValue());
+        assertFalse(profile.canBeRgbColor("#"));
+        assertFalse(profile.canBeCssUnitValue());
+        assertFalse(profile.canBeWordsTupel());
+        assertFalse(profile.canBeCamelCase());
+        assertFalse(profile.canBeHtmlEncodable());
+
+        assertTrue(new WordProfile("$foo").canBePhpVariableOrArray());
+        assertTrue(new WordProfile("array(1)").canBePhpVariableOrArray());
+        assertTrue(new WordProfile("a == b").canBeWordsTupel());
+        assertTrue(new WordProfile("\"a\"").canBeHtmlEncodable());
+        assertTrue(WordProfile.canBeQuotedString("`"));
+    }
+}
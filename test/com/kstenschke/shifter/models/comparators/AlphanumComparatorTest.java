@@ -0,0 +1,53 @@
+package com.kstenschke.shifter.models.comparators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AlphanumComparatorTest {
+
+    @Test
+    public void getSortKey() {
+        assertEquals("item0000000012", AlphanumComparator.getSortKey("Item12"));
+        assertEquals("0000000001.0000000005px", AlphanumComparator.getSortKey("1.5px"));
+        assertEquals("12345678901", AlphanumComparator.getSortKey("12345678901"));
+    }
+
+    @Test
+    public void compare() {
+        AlphanumComparator comparator = new AlphanumComparator();
+
+        assertTrue(comparator.compare("item2", "item10") < 0);
+        assertTrue(comparator.compare("Item2", "item1") > 0);
+        assertTrue(comparator.compare("item", "item1") < 0);
+        assertEquals(0, comparator.compare("item007", "item7"));
+        assertTrue(comparator.compare("item12345678901", "item9") > 0);
+    }
+
+    @Test
+    public void compareEqualsComparingSortKeys() {
+        AlphanumComparator comparator = new AlphanumComparator();
+        List<String> items = Arrays.asList("x10", "X9", "b", "B", "a100", "a20", "a020", "1.5px", "1.50px", "item", "Item2",
+                "00000000007", "7", "a b", "a-b", "12345678901", "12345678902", "v1.2.10", "v1.2.9",
+                "", "0", "00", "!", "İstanbul", "istanbul", "Istanbul", "ΟΔΟΣ", "οδος", "äpfel", "Äpfel2", "Äpfel10");
+
+        for (String item1 : items) {
+            for (String item2 : items) {
+                int expected = comparator.compareSortKeys(AlphanumComparator.getSortKey(item1), AlphanumComparator.getSortKey(item2));
+                assertEquals(item1 + " vs. " + item2, Integer.signum(expected), Integer.signum(comparator.compare(item1, item2)));
+            }
+        }
+    }
+
+    @Test
+    public void sort() {
+        List<String> items = new ArrayList<>(Arrays.asList("x10", "X9", "b", "a100", "a20"));
+        AlphanumComparator.sort(items);
+
+        assertEquals(Arrays.asList("a20", "a100", "b", "X9", "x10"), items);
+    }
+}
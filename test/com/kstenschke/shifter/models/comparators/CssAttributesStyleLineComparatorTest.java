@@ -0,0 +1,28 @@
+package com.kstenschke.shifter.models.comparators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CssAttributesStyleLineComparatorTest {
+
+    @Test
+    public void sort() {
+        List<String> lines = new ArrayList<>(Arrays.asList(
+                "}", "-webkit-box-sizing: border-box;", "width: -moz-calc(1px);", "border-color: red;",
+                "", "width: 10px;", "border: 0;", "color: #fff;"));
+        List<String> sortedPerComparison = new ArrayList<>(lines);
+        sortedPerComparison.sort(new CssAttributesStyleLineComparator());
+
+        CssAttributesStyleLineComparator.sort(lines);
+
+        assertEquals(Arrays.asList(
+                "border: 0;", "border-color: red;", "color: #fff;", "width: 10px;", "width: -moz-calc(1px);",
+                "-webkit-box-sizing: border-box;", "", "}"), lines);
+        assertEquals(sortedPerComparison, lines);
+    }
+}
@@ -55,4 +55,11 @@ public class AccessTypeTest {
         accessType.isAccessType("private");
         assertEquals("protected", accessType.getShifted("private", true));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getShiftedInSteps() {
+        assertEquals("public", accessType.getShifted("public", true, 3));
+        assertEquals("protected", accessType.getShifted("public", false, 4));
+        assertEquals("private", accessType.getShifted("private", true, 30));
+    }
+}
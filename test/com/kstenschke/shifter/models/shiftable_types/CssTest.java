@@ -30,4 +30,22 @@ public class CssTest {
                                      "clear: both;")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getShiftedSortsDeclarationsInsideRules() {
+        assertEquals(
+                ".a {\n  b: 1;\n  color: red;\n}\n\n.b, .c { a: b; x: y; }",
+                Css.getShifted(".a {\n  color: red;\n  b: 1\n}\n\n.b, .c { x: y; a: b; }")
+        );
+
+        // Nested blocks, at-rules, comments and strings
+        assertEquals(
+                "@media screen {\n  .a {\n    a: 'x;}'; /* two; */\n    z: url(data:image/png;base64,x);\n  }\n}",
+                Css.getShifted("@media screen {\n  .a {\n    z: url(data:image/png;base64,x);\n    a: 'x;}'; /* two; */\n  }\n}")
+        );
+        assertEquals(
+                ".a {\n  b: 2;\n  z: 1;\n  &:hover { a: 1; y: 1; }\n  @include foo;\n  c: 3;\n}",
+                Css.getShifted(".a {\n  z: 1;\n  b: 2;\n  &:hover { y: 1; a: 1; }\n  @include foo;\n  c: 3;\n}")
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.StringTextBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CssUnitsIndexTest {
+
+    @Test
+    public void getMostProminentUnit() {
+        assertEquals("px", new CssUnitsIndex("").getMostProminentUnit());
+        assertEquals("px", new CssUnitsIndex("a { color: red; }").getMostProminentUnit());
+        assertEquals("em", new CssUnitsIndex("a {\n  margin: 1em;\n  padding: 2em;\n  width: 10px;\n}").getMostProminentUnit());
+        assertEquals("vmax", new CssUnitsIndex("a { width: 1vmax; height: 2vmax; }").getMostProminentUnit());
+    }
+
+    @Test
+    public void updatesIncrementallyOnReplace() {
+        StringTextBuffer textBuffer = new StringTextBuffer("a {\n  margin: 1em;\n  width: 10px;\n  height: 5px;\n}", "test.css", 0);
+        CssUnitsIndex index         = textBuffer.getTextIndex(CssUnitsIndex.class, CssUnitsIndex::new);
+
+        assertEquals("px", index.getMostProminentUnit());
+
+        // "10px" => "10em"
+        textBuffer.replaceString(30, 32, "em");
+        assertEquals("em", index.getMostProminentUnit());
+    }
+}
@@ -0,0 +1,91 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DictionaryIndexTest {
+
+    private DictionaryIndex dictionaryIndex;
+
+    @Before
+    public void setUp() throws Exception {
+        dictionaryIndex = DictionaryIndex.compile(
+                "(|js|ts|) {\n" +
+                "\t|let|const|var|\n" +
+                "\t|Foo|bar|\n" +
+                "}\n" +
+                "(|php|) {\n" +
+                "\t|public|private|protected|\n" +
+                "}\n" +
+                "(|*|) {\n" +
+                "\t|true|false|\n" +
+                "\t|foo|baz|\n" +
+                "}\n");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        dictionaryIndex = null;
+    }
+
+    @Test
+    public void containsDelimitedToken() {
+        assertTrue(dictionaryIndex.containsDelimitedToken("js"));
+        assertTrue(dictionaryIndex.containsDelimitedToken("php"));
+        assertTrue(dictionaryIndex.containsDelimitedToken("const"));
+
+        assertFalse(dictionaryIndex.containsDelimitedToken("css"));
+        assertFalse(dictionaryIndex.containsDelimitedToken(""));
+    }
+
+    @Test
+    public void getGlobalTermsList() {
+        assertArrayEquals(new String[]{"true", "false"}, dictionaryIndex.getGlobalTermsList("false"));
+        assertArrayEquals(new String[]{"public", "private", "protected"}, dictionaryIndex.getGlobalTermsList("private"));
+        assertArrayEquals(new String[]{"Foo", "bar"}, dictionaryIndex.getGlobalTermsList("Foo"));
+        assertArrayEquals(new String[]{"foo", "baz"}, dictionaryIndex.getGlobalTermsList("foo"));
+
+        assertNull(dictionaryIndex.getGlobalTermsList("FALSE"));
+        assertNull(dictionaryIndex.getGlobalTermsList("unknown"));
+    }
+
+    @Test
+    public void getGlobalTermsListLowerCase() {
+        assertArrayEquals(new String[]{"foo", "bar"}, dictionaryIndex.getGlobalTermsListLowerCase("foo"));
+        assertNull(dictionaryIndex.getGlobalTermsListLowerCase("unknown"));
+    }
+
+    @Test
+    public void containsExtensionTerm() {
+        assertTrue(dictionaryIndex.containsExtensionTerm("let", "js"));
+        assertTrue(dictionaryIndex.containsExtensionTerm("LET", "ts"));
+        assertTrue(dictionaryIndex.containsExtensionTerm("foo", "js"));
+
+        assertFalse(dictionaryIndex.containsExtensionTerm("let", "php"));
+        assertFalse(dictionaryIndex.containsExtensionTerm("true", "js"));
+    }
+
+    @Test
+    public void getExtensionTermsList() {
+        assertArrayEquals(new String[]{"let", "const", "var"}, dictionaryIndex.getExtensionTermsList("var", "ts"));
+        assertArrayEquals(new String[]{"Foo", "bar"}, dictionaryIndex.getExtensionTermsList("Foo", "js"));
+
+        // Contained in different case only
+        assertEquals(0, dictionaryIndex.getExtensionTermsList("foo", "js").length);
+        assertEquals(0, dictionaryIndex.getExtensionTermsList("let", "php").length);
+    }
+
+    @Test
+    public void defaultDictionaryIsParsedOnce() {
+        DictionaryIndex.reset();
+        DictionaryIndex index = DictionaryIndex.getInstance();
+        DictionaryIndex.reset();
+
+        assertSame(index, DictionaryIndex.getInstance());
+        assertSame(DictionaryIndex.getDefaultDictionary(), DictionaryIndex.getDefaultDictionary());
+        assertTrue(index.containsDelimitedToken("php"));
+    }
+}
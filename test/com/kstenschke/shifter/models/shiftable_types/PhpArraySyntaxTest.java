@@ -0,0 +1,44 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PhpArraySyntaxTest {
+
+    @Test
+    public void detectsArraysIgnoringBracketsInStringsAndComments() {
+        assertTrue(PhpArraySyntax.isLongSyntaxArray("array(1, 2);"));
+        assertTrue(PhpArraySyntax.isLongSyntaxArray("array ('a)' => \"b\\\"]\", /* ) */ 'c' => [1])"));
+        assertTrue(PhpArraySyntax.isShortSyntaxArray("['a' => ']', # ]\n 'b']"));
+        assertTrue(PhpArraySyntax.isShortSyntaxArray("[];;"));
+
+        assertFalse(PhpArraySyntax.isLongSyntaxArray("array(1) + array(2)"));
+        assertFalse(PhpArraySyntax.isLongSyntaxArray("array(1, ')'"));
+        assertFalse(PhpArraySyntax.isShortSyntaxArray("[1)"));
+        assertFalse(PhpArraySyntax.isShortSyntaxArray("[1] . 'x'"));
+    }
+
+    @Test
+    public void convertsOuterArray() {
+        assertEquals("['a' => array(1), 'b' => ')'];", PhpArraySyntax.toShortSyntax("array  ('a' => array(1), 'b' => ')');", false));
+        assertEquals("array('a' => [1], 'b' => ']');", PhpArraySyntax.toLongSyntax("['a' => [1], 'b' => ']'];", false));
+    }
+
+    @Test
+    public void convertsNestedArrays() {
+        assertEquals(
+                "['a' => [1, $x->array(2)], 'b' => foo(3), /* array(4) */ 'c' => [[5]]]",
+                PhpArraySyntax.toShortSyntax("array('a' => array(1, $x->array(2)), 'b' => foo(3), /* array(4) */ 'c' => array(array(5)))", true));
+        assertEquals(
+                "array('a' => array(1, $x[2]), 'b' => foo()[3], 'c' => array(array(5)))",
+                PhpArraySyntax.toLongSyntax("['a' => [1, $x[2]], 'b' => foo()[3], 'c' => [[5]]]", true));
+    }
+
+    @Test
+    public void skipsHeredoc() {
+        assertEquals(
+                "['sql' => <<<SQL\n    WHERE id IN array(1) AND name = 'it's\n    SQL, 'b' => [2]]",
+                PhpArraySyntax.toShortSyntax("array('sql' => <<<SQL\n    WHERE id IN array(1) AND name = 'it's\n    SQL, 'b' => array(2))", true));
+    }
+}
@@ -0,0 +1,48 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.StringTextBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PhpVariablesIndexTest {
+
+    @Test
+    public void getShifted() {
+        PhpVariablesIndex index = new PhpVariablesIndex("$bravo = $alpha + $charlie;\n$alpha++;");
+
+        assertEquals("$bravo", index.getShifted("$alpha", true));
+        assertEquals("$charlie", index.getShifted("$bravo", true));
+        assertEquals("$alpha", index.getShifted("$charlie", true));
+        assertEquals("$charlie", index.getShifted("$alpha", false));
+
+        assertNull(index.getShifted("$unknown", true));
+    }
+
+    @Test
+    public void getShiftedLeadChar() {
+        PhpVariablesIndex index = new PhpVariablesIndex("$apple $avocado $banana $cherry");
+
+        assertEquals("$banana", index.getShiftedLeadChar("$avocado", true));
+        assertEquals("$apple", index.getShiftedLeadChar("$cherry", true));
+        assertEquals("$cherry", index.getShiftedLeadChar("$apple", false));
+    }
+
+    @Test
+    public void updatesIncrementallyOnReplace() {
+        StringTextBuffer textBuffer = new StringTextBuffer("$a = 1;\n$b = 2;\n$c = $b;", "test.php", 0);
+        PhpVariablesIndex index     = textBuffer.getTextIndex(PhpVariablesIndex.class, PhpVariablesIndex::new);
+
+        assertEquals("$b", index.getShifted("$a", true));
+
+        // Rename first occurrence of $b: still declared in the last line
+        textBuffer.replaceString(8, 10, "$z");
+        assertEquals("$b", index.getShifted("$a", true));
+        assertEquals("$a", index.getShifted("$z", true));
+
+        // Remove last remaining occurrence of $b
+        textBuffer.replaceString(21, 23, "$a");
+        assertNull(index.getShifted("$b", true));
+        assertEquals("$c", index.getShifted("$a", true));
+    }
+}
@@ -0,0 +1,59 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.StringTextBuffer;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class QuotedStringsIndexTest {
+
+    @Test
+    public void getShifted() {
+        QuotedStringsIndex index = new QuotedStringsIndex("{'charlie': \"alpha\", 'alpha': 'bravo'}\n'alpha' `x` 'no space'");
+
+        assertEquals("bravo", index.getShifted("alpha", '\'', true));
+        assertEquals("charlie", index.getShifted("bravo", '\'', true));
+        assertEquals("alpha", index.getShifted("charlie", '\'', true));
+        assertEquals("charlie", index.getShifted("alpha", '\'', false));
+        assertEquals("alpha", index.getShifted("alpha", '"', true));
+
+        assertNull(index.getShifted("x", '?', true));
+    }
+
+    @Test
+    public void matchesExtractedQuotedStrings() {
+        String text = "a 'b' 'c'd' \"e\" 'f g' 'h_1' '' 'b'";
+        List<String> extracted = UtilsTextual.extractQuotedStrings(text, "'");
+        Collections.sort(extracted);
+
+        QuotedStringsIndex index = new QuotedStringsIndex(text);
+        List<String> indexed = new ArrayList<>();
+        String string = index.getShifted("", '\'', true);
+        while (!indexed.contains(string)) {
+            indexed.add(string);
+            string = index.getShifted(string, '\'', true);
+        }
+
+        assertEquals(extracted, indexed);
+    }
+
+    @Test
+    public void updatesIncrementallyOnReplace() {
+        StringTextBuffer textBuffer = new StringTextBuffer("x = 'a';\ny = 'b';\nz = 'b';", "test.js", 0);
+        QuotedStringsIndex index    = textBuffer.getTextIndex(QuotedStringsIndex.class, QuotedStringsIndex::new);
+
+        assertEquals("b", index.getShifted("a", '\'', true));
+
+        textBuffer.replaceString(14, 15, "c");
+        assertEquals("b", index.getShifted("a", '\'', true));
+
+        textBuffer.replaceString(23, 24, "c");
+        assertEquals("c", index.getShifted("a", '\'', true));
+        assertEquals("a", index.getShifted("c", '\'', true));
+    }
+}
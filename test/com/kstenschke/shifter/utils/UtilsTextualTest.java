@@ -1,5 +1,6 @@
 package com.kstenschke.shifter.utils;
 
+import com.kstenschke.shifter.models.StringTextBuffer;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -483,8 +484,13 @@ public class UtilsTextualTest {
     }
 
     @Test
-    @Ignore
     public void extractLines() {
+        assertEquals("[bar\n, baz\n]", UtilsTextual.extractLines("foo\nbar\nbaz", 4, 11).toString());
+        assertEquals("[bar\n]", UtilsTextual.extractLines("foo\nbar\nbaz", 4, 7).toString());
+        assertEquals("[\n, foo\n]", UtilsTextual.extractLines("\nfoo\n", 0, 4).toString());
+
+        StringTextBuffer textBuffer = new StringTextBuffer("foo\nbar\nbaz", "test.txt", 0);
+        assertEquals(UtilsTextual.extractLines(textBuffer, 0, 2), UtilsTextual.extractLines("foo\nbar\nbaz", 0, 11));
     }
 
     @Test